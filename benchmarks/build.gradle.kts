@@ -0,0 +1,26 @@
+plugins {
+    `java-library`
+}
+
+dependencies {
+    implementation(project(":darklaf-core"))
+    implementation(project(":darklaf-theme"))
+    implementation(project(":darklaf-property-loader"))
+    implementation("org.openjdk.jmh:jmh-core")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess")
+}
+
+val jmh by tasks.registering(JavaExec::class) {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks. Results are written to build/reports/jmh/results.json"
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json")
+    classpath = sourceSets.main.get().runtimeClasspath
+    main = "org.openjdk.jmh.Main"
+    systemProperty("java.awt.headless", "true")
+    // Use -Pjmh.include=<regex> to only run a subset of the benchmarks.
+    args(project.findProperty("jmh.include") ?: ".*")
+    args("-rf", "json", "-rff", resultFile.get().asFile.absolutePath)
+    doFirst {
+        resultFile.get().asFile.parentFile.mkdirs()
+    }
+}
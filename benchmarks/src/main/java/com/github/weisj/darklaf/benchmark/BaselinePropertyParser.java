@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.swing.plaf.DimensionUIResource;
+import javax.swing.plaf.InsetsUIResource;
+
+import com.github.weisj.darklaf.uiresource.DarkColorUIResource;
+import com.github.weisj.darklaf.util.ColorUtil;
+
+/**
+ * The parsing logic of {@link com.github.weisj.darklaf.PropertyLoader} before the introduction of
+ * the allocation free lexer. It is kept to provide a baseline for {@link PropertyParsingBenchmark}.
+ * <p>
+ * Only values which don't depend on other properties are supported i.e. colors, integers, booleans,
+ * insets, sizes and integer lists. Every other value is returned as is.
+ *
+ * @author Jannis Weis
+ */
+final class BaselinePropertyParser {
+
+    private BaselinePropertyParser() {}
+
+    /**
+     * Returns whether the property can be parsed by {@link #parseValue(String, String)} in the same
+     * way as the property loader does.
+     *
+     * @param key the key of the property.
+     * @param value the value of the property.
+     * @return true if the value doesn't depend on other properties.
+     */
+    static boolean isSelfContained(final String key, final String value) {
+        if (key.startsWith("%") || value.startsWith("?:")) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '(' || c == ':' || c == ';' || c == '{') return false;
+        }
+        return !(key.endsWith("Border") || key.endsWith(".border") || key.endsWith("Renderer")
+                || key.endsWith(".component") || key.endsWith("Component") || key.toLowerCase().endsWith("font")
+                || key.endsWith(".icon") || key.endsWith("Icon") || key.endsWith("Image"));
+    }
+
+    static Object parseValue(final String key, final String value) {
+        final Color color = ColorUtil.fromHex(value, null);
+        final Integer invVal = getInteger(value);
+        final Boolean boolVal = "true".equalsIgnoreCase(value) ? Boolean.TRUE
+                : "false".equalsIgnoreCase(value) ? Boolean.FALSE : null;
+        if (color != null && (value.length() == 6 || value.length() == 8)) {
+            return new DarkColorUIResource(color);
+        } else if (invVal != null) {
+            return invVal;
+        } else if (boolVal != null) {
+            return boolVal;
+        }
+
+        if (key.endsWith("Insets") || key.endsWith(".insets")) {
+            List<Integer> insets = parseIntegers(value);
+            return new InsetsUIResource(insets.get(0), insets.get(1), insets.get(2), insets.get(3));
+        } else if (key.endsWith("Size") || key.endsWith(".size")) {
+            return parseSize(value);
+        } else if (value.startsWith("[") && value.endsWith("]")) {
+            return parseIntegers(value.substring(1, value.length() - 1));
+        } else if ("null".equalsIgnoreCase(value)) {
+            return null;
+        }
+        return value;
+    }
+
+    private static List<Integer> parseIntegers(final String value) {
+        return Arrays.stream(value.split(",")).map(Integer::parseInt).collect(Collectors.toList());
+    }
+
+    private static Object parseSize(final String value) {
+        try {
+            int[] dim = Arrays.stream(value.split(",", 2)).mapToInt(Integer::parseInt).toArray();
+            return new DimensionUIResource(dim[0], dim[1]);
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            return value;
+        }
+    }
+
+    private static Integer getInteger(final String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+/**
+ * Measures painting a list, table or tree with a model of {@value #ROW_COUNT} rows. The component is
+ * placed inside a scroll pane which is scrolled to the middle of the model.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkUtil.HEADLESS)
+public class ComponentPaintBenchmark {
+
+    private static final int ROW_COUNT = 10000;
+    private static final int COLUMN_COUNT = 5;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    @Param({"list", "table", "tree"})
+    public String componentType;
+
+    private JScrollPane scrollPane;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.install(new IntelliJTheme());
+        scrollPane = new JScrollPane(createComponent(componentType));
+        scrollPane.setSize(WIDTH, HEIGHT);
+        scrollPane.validate();
+        JViewport viewport = scrollPane.getViewport();
+        Dimension viewSize = viewport.getViewSize();
+        viewport.setViewPosition(new Point(0, Math.max(0, (viewSize.height - viewport.getHeight()) / 2)));
+        scrollPane.validate();
+        image = BenchmarkUtil.createImage(WIDTH, HEIGHT);
+        graphics = BenchmarkUtil.createGraphics(image);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        scrollPane.paint(graphics);
+        return image;
+    }
+
+    private static JComponent createComponent(final String type) {
+        switch (type) {
+            case "list":
+                DefaultListModel<String> listModel = new DefaultListModel<>();
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    listModel.addElement("Item " + i);
+                }
+                return new JList<>(listModel);
+            case "table":
+                DefaultTableModel tableModel = new DefaultTableModel(ROW_COUNT, COLUMN_COUNT);
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    for (int j = 0; j < COLUMN_COUNT; j++) {
+                        tableModel.setValueAt("Cell " + i + "," + j, i, j);
+                    }
+                }
+                return new JTable(tableModel);
+            case "tree":
+                DefaultMutableTreeNode root = new DefaultMutableTreeNode("Root");
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    root.add(new DefaultMutableTreeNode("Node " + i));
+                }
+                return new JTree(root);
+            default:
+                throw new IllegalArgumentException("Unknown component type " + type);
+        }
+    }
+}
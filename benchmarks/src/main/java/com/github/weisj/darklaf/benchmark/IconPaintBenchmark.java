@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.icons.DarkSVGIcon;
+import com.github.weisj.darklaf.icons.IconAtlas;
+import com.github.weisj.darklaf.icons.IconDiskCache;
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.github.weisj.darklaf.icons.IconRasterCache;
+import com.github.weisj.darklaf.icons.ThemedSVGIcon;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+/**
+ * Measures painting of svg icons.
+ * <ul>
+ * <li>cold: A new icon is created and painted i.e. the svg is rasterized. The raster cache is
+ * cleared before each invocation and the disk cache and atlases are disabled. The parsed svg document
+ * is retained by svgSalamander, hence it is only parsed once.</li>
+ * <li>warm: An already painted icon is painted again.</li>
+ * <li>retheme: A themed icon is painted after the theme status has changed i.e. the colors are
+ * patched and the icon is rasterized again.</li>
+ * </ul>
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkUtil.HEADLESS)
+public class IconPaintBenchmark {
+
+    @Param({"16", "32"})
+    public int size;
+
+    private final JLabel component = new JLabel();
+    private URI uri;
+    private URI themedUri;
+    private DarkSVGIcon warmIcon;
+    private ThemedSVGIcon themedIcon;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.install(new IntelliJTheme());
+        uri = BenchmarkUtil.iconUri("files/folder.svg");
+        themedUri = BenchmarkUtil.iconUri("navigation/arrow/thick/arrowRight.svg");
+        image = BenchmarkUtil.createImage(size, size);
+        graphics = BenchmarkUtil.createGraphics(image);
+        warmIcon = new DarkSVGIcon(uri, size, size);
+        warmIcon.paintIcon(component, graphics, 0, 0);
+        themedIcon = new ThemedSVGIcon(themedUri, size, size);
+        themedIcon.paintIcon(component, graphics, 0, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public Icon cold(final ColdCaches caches) {
+        Icon icon = new DarkSVGIcon(uri, size, size);
+        icon.paintIcon(component, graphics, 0, 0);
+        return icon;
+    }
+
+    @Benchmark
+    public Icon warm() {
+        warmIcon.paintIcon(component, graphics, 0, 0);
+        return warmIcon;
+    }
+
+    @Benchmark
+    public Icon retheme() {
+        IconLoader.updateThemeStatus(new Object());
+        themedIcon.paintIcon(component, graphics, 0, 0);
+        return themedIcon;
+    }
+
+    /** Makes sure a new icon can't reuse an already rasterized image. */
+    @State(Scope.Thread)
+    public static class ColdCaches {
+
+        private Path diskCacheDirectory;
+        private boolean atlasEnabled;
+
+        @Setup(Level.Trial)
+        public void disableCaches() {
+            diskCacheDirectory = IconDiskCache.getDirectory();
+            atlasEnabled = IconAtlas.isEnabled();
+            IconDiskCache.setDirectory(null);
+            IconAtlas.setEnabled(false);
+        }
+
+        @Setup(Level.Invocation)
+        public void clearRasterCache() {
+            IconRasterCache.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void restoreCaches() {
+            IconDiskCache.setDirectory(diskCacheDirectory);
+            IconAtlas.setEnabled(atlasEnabled);
+        }
+    }
+}
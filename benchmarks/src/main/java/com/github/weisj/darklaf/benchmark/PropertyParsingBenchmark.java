@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.PropertyLoader;
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+/**
+ * Measures {@link PropertyLoader#parseValue} and {@link PropertyLoader#putProperties} on the bundled
+ * property files. The values are parsed against the fully computed defaults of the
+ * {@link IntelliJTheme} such that every reference resolves.
+ * <p>
+ * {@link #parseSelfContainedValues} and {@link #parseSelfContainedValuesBaseline} compare the
+ * current parser against the previous implementation in {@link BaselinePropertyParser} on the values
+ * which don't reference other properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkUtil.HEADLESS)
+public class PropertyParsingBenchmark {
+
+    @Param({"ui", "icons"})
+    public String group;
+
+    private final List<Properties> files = new ArrayList<>();
+    private String[] keys;
+    private String[] values;
+    private String[] selfContainedKeys;
+    private String[] selfContainedValues;
+    private Map<Object, Object> accumulator;
+    private UIDefaults defaults;
+    private IconLoader iconLoader;
+
+    @Setup
+    public void setup() {
+        LafManager.setTheme(new IntelliJTheme());
+        defaults = new DarkLaf().getDefaults();
+        accumulator = new HashMap<>(defaults);
+        iconLoader = IconLoader.get();
+
+        boolean ui = "ui".equals(group);
+        List<String> names =
+                ui ? ThemeDefaultsInitTask.getUIPropertyFiles() : ThemeDefaultsInitTask.getIconPropertyFiles();
+        String path = ui ? ThemeDefaultsInitTask.UI_PROPERTIES_PATH : ThemeDefaultsInitTask.ICON_PROPERTIES_PATH;
+        List<String> keyList = new ArrayList<>();
+        List<String> valueList = new ArrayList<>();
+        List<String> selfContainedKeyList = new ArrayList<>();
+        List<String> selfContainedValueList = new ArrayList<>();
+        for (String name : names) {
+            Properties properties = PropertyLoader.loadProperties(DarkLaf.class, name, path);
+            files.add(properties);
+            for (String key : properties.stringPropertyNames()) {
+                String value = properties.getProperty(key);
+                keyList.add(key);
+                valueList.add(value);
+                if (BaselinePropertyParser.isSelfContained(key, value)) {
+                    selfContainedKeyList.add(key);
+                    selfContainedValueList.add(value);
+                }
+            }
+        }
+        keys = keyList.toArray(new String[0]);
+        values = valueList.toArray(new String[0]);
+        selfContainedKeys = selfContainedKeyList.toArray(new String[0]);
+        selfContainedValues = selfContainedValueList.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void parseValues(final Blackhole blackhole) {
+        for (int i = 0; i < keys.length; i++) {
+            blackhole.consume(PropertyLoader.parseValue(keys[i], values[i], accumulator, defaults, iconLoader));
+        }
+    }
+
+    @Benchmark
+    public void parseSelfContainedValues(final Blackhole blackhole) {
+        for (int i = 0; i < selfContainedKeys.length; i++) {
+            blackhole.consume(PropertyLoader.parseValue(selfContainedKeys[i], selfContainedValues[i], accumulator,
+                    defaults, iconLoader));
+        }
+    }
+
+    @Benchmark
+    public void parseSelfContainedValuesBaseline(final Blackhole blackhole) {
+        for (int i = 0; i < selfContainedKeys.length; i++) {
+            blackhole.consume(BaselinePropertyParser.parseValue(selfContainedKeys[i], selfContainedValues[i]));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Properties putProperties() {
+        Properties result = new Properties();
+        for (Properties properties : files) {
+            PropertyLoader.putProperties(properties, result, defaults);
+        }
+        return result;
+    }
+}
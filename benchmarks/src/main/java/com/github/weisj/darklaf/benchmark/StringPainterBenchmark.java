@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.graphics.StringPainter;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+/**
+ * Measures {@link StringPainter#drawString(Graphics, JComponent, String, Rectangle)} for plain and
+ * html text.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkUtil.HEADLESS)
+public class StringPainterBenchmark {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog";
+    private static final String HTML_TEXT = "<html><b>The quick</b> brown fox <i>jumps</i> over the lazy dog";
+
+    @Param({"plain", "html"})
+    public String textType;
+
+    private JLabel label;
+    private Rectangle textRect;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.install(new IntelliJTheme());
+        label = new JLabel("html".equals(textType) ? HTML_TEXT : TEXT);
+        Dimension size = label.getPreferredSize();
+        label.setSize(size);
+        textRect = new Rectangle(0, 0, size.width, size.height);
+        image = BenchmarkUtil.createImage(size.width, size.height);
+        graphics = BenchmarkUtil.createGraphics(image);
+        graphics.setFont(label.getFont());
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawString() {
+        // The painter modifies the clip and text rectangle.
+        Graphics2D g = (Graphics2D) graphics.create();
+        StringPainter.drawString(g, label, label.getText(), new Rectangle(textRect));
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.*;
+
+/**
+ * Measures a full {@link LafManager#install(Theme)} of each bundled theme. As the same theme is
+ * installed in every invocation, the other bundled theme is installed in between to avoid measuring
+ * a no-op reinstallation.
+ *
+ * @author Jannis Weis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkUtil.HEADLESS)
+public class ThemeInstallBenchmark {
+
+    @Param({"IntelliJ", "Darcula", "SolarizedLight", "SolarizedDark", "OneDark", "HighContrastLight",
+            "HighContrastDark"})
+    public String themeName;
+
+    private Theme theme;
+    private Theme otherTheme;
+
+    @Setup
+    public void setup() {
+        theme = createTheme(themeName);
+        otherTheme = theme instanceof IntelliJTheme ? new DarculaTheme() : new IntelliJTheme();
+    }
+
+    @Setup(Level.Invocation)
+    public void installOtherTheme() {
+        BenchmarkUtil.install(otherTheme);
+    }
+
+    @Benchmark
+    public void install() {
+        BenchmarkUtil.install(theme);
+    }
+
+    private static Theme createTheme(final String name) {
+        switch (name) {
+            case "IntelliJ":
+                return new IntelliJTheme();
+            case "Darcula":
+                return new DarculaTheme();
+            case "SolarizedLight":
+                return new SolarizedLightTheme();
+            case "SolarizedDark":
+                return new SolarizedDarkTheme();
+            case "OneDark":
+                return new OneDarkTheme();
+            case "HighContrastLight":
+                return new HighContrastLightTheme();
+            case "HighContrastDark":
+                return new HighContrastDarkTheme();
+            default:
+                throw new IllegalArgumentException("Unknown theme " + name);
+        }
+    }
+}
@@ -282,6 +282,7 @@ allprojects {
 
         configure<PublishingExtension> {
             if (project.path.startsWith(":darklaf-dependencies-bom") ||
+                project.path == ":darklaf-benchmarks" ||
                 project.path == ":"
             ) {
                 // We don't it to Central for now
@@ -0,0 +1,79 @@
+import groovy.transform.CompileStatic
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.FileTree
+import org.gradle.api.file.FileVisitDetails
+import org.gradle.api.GradleException
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.SkipWhenEmpty
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Precompiles .properties files into a single binary snapshot, which is read by
+ * com.github.weisj.darklaf.PropertySnapshot at runtime. Keep the format in sync.
+ *
+ * The snapshot is placed into the resource directory containing the property files
+ * (see snapshotDirectory) such that the snapshots of different modules don't clash
+ * when their jars are merged.
+ */
+@CompileStatic
+@CacheableTask
+class PropertySnapshotTask extends DefaultTask {
+
+    static final String SNAPSHOT_NAME = 'properties.snapshot'
+    static final int MAGIC = 0x444C5053
+    static final int VERSION = 1
+
+    @InputFiles
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    FileTree source
+
+    /**
+     * The resource directory, which contains all snapshotted files e.g. 'com/github/weisj/darklaf/properties'.
+     */
+    @Input
+    String snapshotDirectory
+
+    @OutputDirectory
+    final DirectoryProperty outputDirectory = project.objects.directoryProperty()
+
+    @TaskAction
+    void generate() {
+        SortedMap<String, Properties> files = new TreeMap<>()
+        source.visit { FileVisitDetails details ->
+            if (details.directory) return
+            String path = details.relativePath.pathString
+            if (!path.startsWith(snapshotDirectory + '/')) {
+                throw new GradleException("$path is not located in the snapshot directory $snapshotDirectory")
+            }
+            Properties properties = new Properties()
+            details.file.withReader('UTF-8') { Reader reader -> properties.load(reader) }
+            files.put(path, properties)
+        }
+        File snapshot = outputDirectory.file("$snapshotDirectory/$SNAPSHOT_NAME").get().asFile
+        snapshot.parentFile.mkdirs()
+        snapshot.withOutputStream { OutputStream os ->
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))
+            out.writeInt(MAGIC)
+            out.writeInt(VERSION)
+            out.writeInt(files.size())
+            files.each { String path, Properties properties ->
+                SortedSet<String> keys = new TreeSet<>(properties.stringPropertyNames())
+                out.writeUTF(path)
+                out.writeInt(keys.size())
+                keys.each { String key ->
+                    out.writeUTF(key)
+                    out.writeUTF(properties.getProperty(key))
+                }
+            }
+            out.flush()
+        }
+        logger.info("${project.name}: Wrote property snapshot of ${files.size()} files.")
+    }
+}
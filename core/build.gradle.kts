@@ -30,6 +30,66 @@ dependencies {
     compileOnly("com.google.auto.service:auto-service-annotations")
 }
 
+val generatePropertySnapshot by tasks.registering(PropertySnapshotTask::class) {
+    description = "Precompiles the bundled property files into a binary snapshot"
+    source = fileTree("src/main/resources") {
+        include("com/github/weisj/darklaf/properties/**/*.properties")
+    }
+    snapshotDirectory = "com/github/weisj/darklaf/properties"
+    outputDirectory.set(layout.buildDirectory.dir("generated/resources/propertySnapshot"))
+}
+
+// Renders the bundled icons for the default light and dark theme into sprite atlases. Icons use these
+// images instead of parsing the svg if they would be painted identically.
+val iconAtlas by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output.classesDirs + sourceSets.main.get().compileClasspath
+}
+
+val generateIconAtlas by tasks.registering(JavaExec::class) {
+    description = "Renders the bundled icons into sprite atlases"
+    val iconResources = fileTree("src/main/resources/com/github/weisj/darklaf/icons")
+    val propertyResources = file("src/main/resources/com/github/weisj/darklaf/properties")
+    val outputDirectory = layout.buildDirectory.dir("generated/resources/iconAtlas")
+    inputs.files(iconResources)
+    inputs.dir(propertyResources)
+    outputs.dir(outputDirectory)
+
+    main = "com.github.weisj.darklaf.icons.IconAtlasGenerator"
+    // The main resources can't be used directly as they include the output of this task.
+    classpath(
+        iconAtlas.output,
+        sourceSets.main.get().output.classesDirs,
+        "src/main/resources",
+        generatePropertySnapshot,
+        configurations.runtimeClasspath
+    )
+    systemProperty("java.awt.headless", "true")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(outputDirectory.get().asFile.absolutePath, propertyResources.absolutePath)
+    })
+    doFirst {
+        delete(outputDirectory)
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(generatePropertySnapshot)
+    resources.srcDir(generateIconAtlas)
+}
+
+// Classes which require Java 11 e.g. flight recorder events. They are packaged as a multi-release jar
+// and are looked up reflectively, hence they are optional at runtime.
+val java11 by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java11"))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(java11.compileJavaTaskName) {
+    sourceCompatibility = "11"
+    targetCompatibility = "11"
+    enabled = JavaVersion.current().isJava11Compatible
+}
+
 tasks.test {
     useJUnitPlatform()
     workingDir = File(project.rootDir, "build/test_results")
@@ -50,6 +110,12 @@ fun Jar.includeLicenses() {
 
 tasks.jar {
     includeLicenses()
+    into("META-INF/versions/11") {
+        from(java11.output)
+    }
+    manifest {
+        attributes["Multi-Release"] = "true"
+    }
 }
 
 val makeDocumentation by tasks.registering(JavaExec::class) {
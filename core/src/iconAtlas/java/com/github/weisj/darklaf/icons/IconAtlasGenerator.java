@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.Scale;
+
+/**
+ * Renders the icons referenced by the bundled property files into {@link IconAtlas atlases}.
+ *
+ * <p>
+ * Usage: {@code IconAtlasGenerator <output directory> <properties directory>}
+ *
+ * @author Jannis Weis
+ */
+public final class IconAtlasGenerator {
+
+    private static final double[] SCALES = {1.0, 1.25, 1.5, 2.0};
+    private static final int DEFAULT_SIZE = 16;
+    private static final Pattern ICON =
+            Pattern.compile("([\\w/.-]+\\.svg)((?:\\[[^\\]]*\\])*)(?:\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*\\))?");
+
+    private IconAtlasGenerator() {}
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: IconAtlasGenerator <output directory> <properties directory>");
+        }
+        Path output = Paths.get(args[0]);
+        Set<IconSpec> icons = findIcons(Paths.get(args[1]));
+        IconAtlas.Builder builder = new IconAtlas.Builder();
+        for (Theme theme : new Theme[] {new IntelliJTheme(), new DarculaTheme()}) {
+            SwingUtilities.invokeAndWait(() -> {
+                LafManager.install(theme);
+                for (double scale : SCALES) {
+                    String sheet = theme.getName().toLowerCase(Locale.ENGLISH).replace(' ', '_') + "@" + scale;
+                    for (IconSpec spec : icons) {
+                        render(builder, sheet, spec, scale);
+                    }
+                }
+            });
+        }
+        builder.write(output.resolve(IconAtlas.LOCATION));
+        System.exit(0);
+    }
+
+    private static void render(final IconAtlas.Builder builder, final String sheet, final IconSpec spec,
+            final double scale) {
+        URI uri = getURI(spec.path);
+        DarkSVGIcon icon = spec.themed ? new ThemedSVGIcon(uri, spec.width, spec.height)
+                : new DarkSVGIcon(uri, spec.width, spec.height);
+        Dimension size = Scale.scale(scale, scale, new Dimension(spec.width, spec.height));
+        Map<Object, Object> colors = spec.themed ? UIManager.getDefaults() : null;
+        builder.add(sheet, uri, size, colors, icon.createImage(size));
+    }
+
+    private static URI getURI(final String path) {
+        URL url = IconLoader.class.getResource(path);
+        if (url == null) throw new IllegalStateException("Icon '" + path + "' doesn't exist.");
+        try {
+            return url.toURI();
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<IconSpec> findIcons(final Path propertiesDirectory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(propertiesDirectory)) {
+            files = stream.filter(p -> p.toString().endsWith(".properties")).sorted().collect(Collectors.toList());
+        }
+        Set<IconSpec> icons = new LinkedHashSet<>();
+        for (Path file : files) {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+            Matcher matcher = ICON.matcher(content);
+            while (matcher.find()) {
+                boolean themed = matcher.group(2).contains("[themed]");
+                int width = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : DEFAULT_SIZE;
+                int height = matcher.group(4) != null ? Integer.parseInt(matcher.group(4)) : DEFAULT_SIZE;
+                icons.add(new IconSpec(matcher.group(1), width, height, themed));
+            }
+        }
+        return icons;
+    }
+
+    private static final class IconSpec {
+        private final String path;
+        private final int width;
+        private final int height;
+        private final boolean themed;
+
+        private IconSpec(final String path, final int width, final int height, final boolean themed) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.themed = themed;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IconSpec)) return false;
+            IconSpec spec = (IconSpec) o;
+            return width == spec.width && height == spec.height && themed == spec.themed && path.equals(spec.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, width, height, themed);
+        }
+    }
+}
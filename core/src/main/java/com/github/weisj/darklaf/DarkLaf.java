@@ -66,12 +66,26 @@ public class DarkLaf extends ThemedLookAndFeel {
      */
     private Theme theme;
 
+    /*
+     * Defaults computed ahead of time by LafManager#preloadTheme. These are used instead of
+     * recomputing the defaults during installation.
+     */
+    private UIDefaults preloadedDefaults;
+
     /** Create Custom Darcula LaF. */
     public DarkLaf() {
-        base = getBase();
+        this(false);
+    }
+
+    /*
+     * A detached instance creates its base look and feel without installing it in the UIManager.
+     * It is used to compute the defaults of a theme ahead of time.
+     */
+    DarkLaf(final boolean detached) {
+        base = getBase(detached);
     }
 
-    private LookAndFeel getBase() {
+    private LookAndFeel getBase(final boolean detached) {
         LookAndFeel baseLaf;
         if (SystemInfo.isWindows || SystemInfo.isLinux) {
             baseLaf = new MetalLookAndFeel();
@@ -80,6 +94,13 @@ public class DarkLaf extends ThemedLookAndFeel {
             final LookAndFeel currentLaf = UIManager.getLookAndFeel();
             if (currentLaf != null && systemLafClassName.equals(currentLaf.getClass().getName())) {
                 baseLaf = currentOrFallback(currentLaf);
+            } else if (detached) {
+                try {
+                    baseLaf = (LookAndFeel) Class.forName(systemLafClassName).getDeclaredConstructor().newInstance();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.SEVERE, e.getMessage(), e.getStackTrace());
+                    throw new IllegalStateException("Could not load base LaF class." + e.getMessage());
+                }
             } else {
                 try {
                     UIManager.setLookAndFeel(systemLafClassName);
@@ -124,18 +145,28 @@ public class DarkLaf extends ThemedLookAndFeel {
 
     @Override
     public UIDefaults getDefaults() {
-        final UIDefaults defaults = base.getDefaults();
+        final boolean preloaded = preloadedDefaults != null;
+        final UIDefaults defaults = preloaded ? preloadedDefaults : base.getDefaults();
+        preloadedDefaults = null;
         final Theme currentTheme = getTheme();
         if (isInitialized && !LafManager.getTheme().equals(currentTheme)) {
             LafManager.setTheme(currentTheme);
         }
         for (DefaultsInitTask task : INIT_TASKS) {
-            if (task.onlyDuringInstallation() && !isInitialized) continue;
-            task.run(currentTheme, defaults);
+            if (task.onlyDuringInstallation() ? !isInitialized : preloaded) continue;
+            TaskInstrumentation.run(task, currentTheme, defaults);
         }
         return defaults;
     }
 
+    /*
+     * Use defaults which have been computed in advance. The defaults are used for the next call to
+     * #getDefaults and only need to be completed by the tasks which are run during installation.
+     */
+    void setPreloadedDefaults(final UIDefaults preloadedDefaults) {
+        this.preloadedDefaults = preloadedDefaults;
+    }
+
     @Override
     public LayoutStyle getLayoutStyle() {
         return base.getLayoutStyle();
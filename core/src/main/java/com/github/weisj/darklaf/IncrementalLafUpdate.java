@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import javax.swing.*;
+
+/**
+ * Switches the theme of the installed LaF by only updating the entries of the {@link UIDefaults}
+ * that actually changed.
+ *
+ * <p>
+ * Keys are grouped by their prefix i.e. the part before the first '.' which for the ui defaults of
+ * components corresponds to {@link JComponent#getUIClassID()} without the "UI" suffix.
+ * {@link DeferredValue}s are compared by their sources, so lazily created icons and fonts aren't
+ * resolved by the update. Other {@link UIDefaults.LazyValue}s and {@link UIDefaults.ActiveValue}s
+ * (e.g. borders) can't be compared and are only replaced if any other value of their group changed,
+ * as they may capture those values when being created.
+ *
+ * <p>
+ * A component only receives a full {@link JComponent#updateUI()} if its own group or a group its ui
+ * delegate depends on changed, otherwise it is simply repainted. Global colors like "background"
+ * don't have a group. The ui delegates don't read them directly but through the grouped entries
+ * referencing them, which change as well, or while painting e.g. the line borders. Hence they only
+ * affect the groups registered as their consumers. Entries which aren't keyed by strings (e.g.
+ * rendering hints) may be read by any delegate, hence changing them updates all components.
+ *
+ * @author Jannis Weis
+ */
+final class IncrementalLafUpdate {
+
+    private static final char PREFIX_DELIMITER = '.';
+    private static final String UI_SUFFIX = "UI";
+
+    /*
+     * Groups read by the ui delegates besides their own group, e.g. through super classes or shared
+     * components like arrow buttons and cell renderers.
+     */
+    private static final Map<String, Set<String>> DEPENDENCIES = new HashMap<>();
+    /*
+     * Groups reading entries without a group when being installed.
+     */
+    private static final Map<String, Set<String>> UNGROUPED_CONSUMERS = new HashMap<>();
+
+    static {
+        // The html style sheet is created from these colors. See StyleSheetInitTask.
+        consumedBy("textForeground", "EditorPane");
+        consumedBy("hyperlink", "EditorPane");
+        consumedBy("border", "EditorPane");
+        consumedBy("borderSecondary", "EditorPane");
+
+        dependsOn("ToggleButton", "Button");
+        dependsOn("RadioButton", "ToggleButton");
+        dependsOn("CheckBox", "RadioButton");
+        dependsOn("TristateCheckBox", "CheckBox");
+        dependsOn("Menu", "MenuItem");
+        dependsOn("RadioButtonMenuItem", "MenuItem", "RadioButton");
+        dependsOn("CheckBoxMenuItem", "RadioButtonMenuItem", "CheckBox");
+        dependsOn("TristateCheckBoxMenuItem", "CheckBoxMenuItem");
+        dependsOn("PopupMenuSeparator", "Separator");
+        dependsOn("ToolBarSeparator", "Separator");
+        dependsOn("ComboBox", "ArrowButton", "List", "Cell");
+        dependsOn("Spinner", "ArrowButton");
+        dependsOn("ScrollPane", "ScrollBar");
+        dependsOn("List", "Cell");
+        dependsOn("Tree", "Cell");
+        dependsOn("Table", "Cell", "TableHeader", "TextField");
+        dependsOn("TableHeader", "Table");
+        dependsOn("FileChooser", "FileView", "List", "Table");
+        dependsOn("TextField", "TextComponent");
+        dependsOn("FormattedTextField", "TextField");
+        dependsOn("PasswordField", "TextField");
+        dependsOn("TextArea", "TextComponent");
+        dependsOn("EditorPane", "TextComponent", "html");
+        dependsOn("TextPane", "EditorPane");
+        dependsOn("RootPane", "TitlePane");
+        dependsOn("InternalFrame", "InternalFrameTitlePane", "TitlePane", "Button");
+        dependsOn("DesktopPane", "InternalFrame");
+        dependsOn("DesktopIcon", "InternalFrame");
+        dependsOn("SplitPane", "SplitPaneDivider");
+        dependsOn("TabFrameTabLabel", "Label", "TabFrameTab");
+        dependsOn("TabFrameTabContainer", "Panel", "TabFrameTab");
+        dependsOn("TabFramePanelPopup", "Panel", "TabFramePopup");
+        dependsOn("TabFrameTabbedPopup", "TabFramePanelPopup", "TabbedPane");
+    }
+
+    private final Set<String> changedPrefixes = new HashSet<>();
+    private final List<Object> changedEntries = new ArrayList<>();
+    private boolean globalChange;
+
+    private IncrementalLafUpdate() {}
+
+    /*
+     * Dependencies are transitive, hence the dependencies of the given groups are added as well. Groups
+     * have to be registered after their dependencies.
+     */
+    private static void dependsOn(final String group, final String... dependencies) {
+        Set<String> groups = DEPENDENCIES.computeIfAbsent(group, g -> new HashSet<>());
+        for (String dependency : dependencies) {
+            groups.add(dependency);
+            groups.addAll(DEPENDENCIES.getOrDefault(dependency, Collections.emptySet()));
+        }
+    }
+
+    private static void consumedBy(final String key, final String... groups) {
+        UNGROUPED_CONSUMERS.computeIfAbsent(key, k -> new HashSet<>()).addAll(Arrays.asList(groups));
+    }
+
+    /**
+     * Recomputes the defaults of the given LaF and applies the changes to the current defaults and
+     * components.
+     *
+     * @param laf the currently installed LaF.
+     */
+    static void update(final LookAndFeel laf) {
+        UIDefaults current = UIManager.getLookAndFeelDefaults();
+        IncrementalLafUpdate update = computeChanges(current, laf.getDefaults());
+        if (!update.changedEntries.isEmpty()) {
+            current.putDefaults(update.changedEntries.toArray());
+        }
+        for (final Window w : Window.getWindows()) {
+            update.updateRecursively(w);
+        }
+    }
+
+    static IncrementalLafUpdate computeChanges(final UIDefaults current, final UIDefaults updated) {
+        IncrementalLafUpdate update = new IncrementalLafUpdate();
+        update.collectChanges(current, updated);
+        return update;
+    }
+
+    private void collectChanges(final UIDefaults current, final UIDefaults updated) {
+        // Entry sets of UIDefaults contain the raw values i.e. lazy values aren't resolved.
+        Map<Object, Object> oldValues = new HashMap<>(current.size());
+        for (Map.Entry<Object, Object> entry : current.entrySet()) {
+            oldValues.put(entry.getKey(), entry.getValue());
+        }
+        List<Map.Entry<Object, Object>> deferred = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : updated.entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            if (isDeferred(value)) {
+                deferred.add(entry);
+            } else if (!oldValues.containsKey(key) || !DeferredValue.isSameValue(oldValues.get(key), value)) {
+                markChanged(key, value);
+            }
+            oldValues.remove(key);
+        }
+        for (Object removedKey : oldValues.keySet()) {
+            markChanged(removedKey, null);
+        }
+        for (Map.Entry<Object, Object> entry : deferred) {
+            Object key = entry.getKey();
+            String prefix = getPrefix(key);
+            if (prefix == null) {
+                /*
+                 * Values without a group can't be attributed to the values they capture, hence they are
+                 * always replaced. As they can't be compared they don't force an update of all components.
+                 */
+                changedEntries.add(key);
+                changedEntries.add(entry.getValue());
+            } else if (changedPrefixes.contains(prefix) || !current.containsKey(key)) {
+                markChanged(key, entry.getValue());
+            }
+        }
+    }
+
+    private boolean isDeferred(final Object value) {
+        // DeferredValues are self-contained and can be compared by their source without resolving them.
+        if (value instanceof DeferredValue) return false;
+        return value instanceof UIDefaults.LazyValue || value instanceof UIDefaults.ActiveValue;
+    }
+
+    private void markChanged(final Object key, final Object value) {
+        changedEntries.add(key);
+        changedEntries.add(value);
+        String prefix = getPrefix(key);
+        if (prefix != null) {
+            changedPrefixes.add(prefix);
+        } else if (key instanceof String) {
+            changedPrefixes.addAll(UNGROUPED_CONSUMERS.getOrDefault(key, Collections.emptySet()));
+        } else {
+            globalChange = true;
+        }
+    }
+
+    private String getPrefix(final Object key) {
+        if (!(key instanceof String)) return null;
+        String k = (String) key;
+        int index = k.indexOf(PREFIX_DELIMITER);
+        return index > 0 ? k.substring(0, index) : null;
+    }
+
+    private void updateRecursively(final Window window) {
+        for (final Window childWindow : window.getOwnedWindows()) {
+            updateRecursively(childWindow);
+        }
+        updateComponentTree(window);
+        window.invalidate();
+        window.validate();
+        window.repaint();
+    }
+
+    /*
+     * Mirrors SwingUtilities#updateComponentTreeUI but only updates affected components.
+     */
+    private void updateComponentTree(final Component c) {
+        if (c instanceof JComponent) {
+            JComponent jc = (JComponent) c;
+            if (isAffected(jc.getUIClassID())) {
+                jc.updateUI();
+            } else {
+                jc.repaint();
+            }
+            JPopupMenu popupMenu = jc.getComponentPopupMenu();
+            if (popupMenu != null) {
+                updateComponentTree(popupMenu);
+            }
+        }
+        Component[] children = null;
+        if (c instanceof JMenu) {
+            children = ((JMenu) c).getMenuComponents();
+        } else if (c instanceof Container) {
+            children = ((Container) c).getComponents();
+        }
+        if (children != null) {
+            for (Component child : children) {
+                updateComponentTree(child);
+            }
+        }
+    }
+
+    boolean isAffected(final String uiClassID) {
+        if (globalChange) return true;
+        if (changedPrefixes.isEmpty()) return false;
+        String prefix = getGroup(uiClassID);
+        if (changedPrefixes.contains(prefix)) return true;
+        for (String dependency : DEPENDENCIES.getOrDefault(prefix, Collections.emptySet())) {
+            if (changedPrefixes.contains(dependency)) return true;
+        }
+        return false;
+    }
+
+    private static String getGroup(final String uiClassID) {
+        return uiClassID.endsWith(UI_SUFFIX)
+                ? uiClassID.substring(0, uiClassID.length() - UI_SUFFIX.length())
+                : uiClassID;
+    }
+}
@@ -24,6 +24,7 @@ package com.github.weisj.darklaf;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +37,8 @@ import com.github.weisj.darklaf.settings.ThemeSettings;
 import com.github.weisj.darklaf.synthesised.ThemedDarklafInfo;
 import com.github.weisj.darklaf.task.DefaultsAdjustmentTask;
 import com.github.weisj.darklaf.task.DefaultsInitTask;
+import com.github.weisj.darklaf.task.TaskInstrumentation;
+import com.github.weisj.darklaf.task.TaskMetricsListener;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.theme.event.*;
 import com.github.weisj.darklaf.theme.info.PreferredThemeStyle;
@@ -53,11 +56,24 @@ public final class LafManager {
     private static final Logger LOGGER = LogUtil.getLogger(LafManager.class);
     private static ThemeProvider themeProvider;
     private static Theme theme;
+    private static boolean incrementalUpdateEnabled;
     private static final List<Theme> registeredThemes = new ArrayList<>();
     private static final Collection<DefaultsAdjustmentTask> uiDefaultsTasks = new ArrayList<>();
     private static final Collection<DefaultsInitTask> uiInitTasks = new ArrayList<>();
     private static final ThemeEventSupport<ThemeChangeEvent, ThemeChangeListener> eventSupport =
             new ThemeEventSupport<>();
+    private static final int MAX_PRELOADED_THEMES = 2;
+    private static final Map<List<Object>, CompletableFuture<UIDefaults>> preloadedDefaults =
+            new LinkedHashMap<List<Object>, CompletableFuture<UIDefaults>>(MAX_PRELOADED_THEMES + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<List<Object>, CompletableFuture<UIDefaults>> eldest) {
+                    if (size() <= MAX_PRELOADED_THEMES) return false;
+                    eldest.getValue().cancel(false);
+                    return true;
+                }
+            };
+    private static ExecutorService preloadExecutor;
 
     static {
         setLogLevel(Level.WARNING);
@@ -426,6 +442,111 @@ public final class LafManager {
         installTheme(theme);
     }
 
+    /**
+     * Sets whether switching the theme of an already installed LaF should only update the ui defaults
+     * that changed. Components are only updated if their ui defaults changed and are repainted
+     * otherwise. By default, this is false.
+     *
+     * <p>
+     * Note: Components which read values from the {@link UIManager} outside of their ui delegate might
+     * not pick up the new values.
+     *
+     * @param enabled true if theme switches should be incremental.
+     */
+    public static void setIncrementalUpdateEnabled(final boolean enabled) {
+        incrementalUpdateEnabled = enabled;
+    }
+
+    /**
+     * Returns whether switching the theme only updates the ui defaults that changed.
+     *
+     * @return true if theme switches are incremental.
+     * @see #setIncrementalUpdateEnabled(boolean)
+     */
+    public static boolean isIncrementalUpdateEnabled() {
+        return incrementalUpdateEnabled;
+    }
+
+    /**
+     * Computes the ui defaults of the given theme in the background. A subsequent installation of the
+     * theme uses the precomputed defaults instead of loading them again. If the theme is installed
+     * before preloading has finished the installation waits for the result.
+     *
+     * <p>
+     * Note: The defaults reflect the state at the time of preloading. Changes to e.g. the registered
+     * {@link DefaultsInitTask}s aren't picked up by already preloaded themes. Use
+     * {@link #clearPreloadedThemes()} to discard them. Only the defaults of the most recently preloaded
+     * themes are kept. Preloading further themes discards the oldest ones. Themes which appear equal
+     * (see {@link Theme#appearsEqualTo(Theme)}) share their preloaded defaults.
+     *
+     * @param theme the theme to preload.
+     * @return future which completes once the defaults have been loaded. It completes exceptionally if
+     *         the defaults are discarded before they have been loaded.
+     */
+    public static CompletableFuture<Void> preloadTheme(final Theme theme) {
+        Objects.requireNonNull(theme);
+        List<Object> key = getPreloadKey(theme);
+        CompletableFuture<UIDefaults> future;
+        synchronized (preloadedDefaults) {
+            future = preloadedDefaults.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+                // Don't touch the installed look and feel while computing the defaults.
+                DarkLaf laf = new DarkLaf(true);
+                laf.setTheme(theme);
+                return laf.getDefaults();
+            }, getPreloadExecutor()));
+        }
+        return future.thenApply(defaults -> null);
+    }
+
+    /** Discards the defaults of all preloaded themes. */
+    public static void clearPreloadedThemes() {
+        synchronized (preloadedDefaults) {
+            preloadedDefaults.values().forEach(future -> future.cancel(false));
+            preloadedDefaults.clear();
+        }
+    }
+
+    static int getPreloadedThemeCount() {
+        synchronized (preloadedDefaults) {
+            return preloadedDefaults.size();
+        }
+    }
+
+    /*
+     * Themes which appear equal produce the same defaults. Hence they can share the preloaded defaults.
+     */
+    private static List<Object> getPreloadKey(final Theme theme) {
+        return Arrays.asList(theme.getThemeClass(), theme.getAccentColorRule(), theme.getColorToneRule(),
+                theme.getContrastRule(), theme.getFontSizeRule());
+    }
+
+    private static UIDefaults takePreloadedDefaults(final Theme theme) {
+        CompletableFuture<UIDefaults> future;
+        synchronized (preloadedDefaults) {
+            future = preloadedDefaults.remove(getPreloadKey(theme));
+        }
+        if (future == null) return null;
+        try {
+            return future.join();
+        } catch (final CompletionException | CancellationException e) {
+            LOGGER.log(Level.WARNING, "Could not preload theme " + theme + ". " + e.getMessage(),
+                    e.getStackTrace());
+            return null;
+        }
+    }
+
+    private static synchronized ExecutorService getPreloadExecutor() {
+        if (preloadExecutor == null) {
+            preloadExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, "Theme Preload Thread");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return preloadExecutor;
+    }
+
     /**
      * Install the current theme. If no theme is installed, the default is based on the current
      * {@link ThemeProvider}. This sets the current LaF and applies the given theme.
@@ -433,9 +554,19 @@ public final class LafManager {
     public static void install() {
         try {
             getTheme();
-            LOGGER.fine(() -> "Installing theme " + theme);
-            UIManager.setLookAndFeel(new DarkLaf());
-            updateLaf();
+            LookAndFeel laf = UIManager.getLookAndFeel();
+            UIDefaults preloaded = takePreloadedDefaults(theme);
+            if (incrementalUpdateEnabled && laf != null && laf.getClass() == DarkLaf.class) {
+                LOGGER.fine(() -> "Switching to theme " + theme);
+                ((DarkLaf) laf).setPreloadedDefaults(preloaded);
+                IncrementalLafUpdate.update(laf);
+            } else {
+                LOGGER.fine(() -> "Installing theme " + theme);
+                DarkLaf darkLaf = new DarkLaf();
+                darkLaf.setPreloadedDefaults(preloaded);
+                UIManager.setLookAndFeel(darkLaf);
+                updateLaf();
+            }
             notifyThemeInstalled();
         } catch (final UnsupportedLookAndFeelException e) {
             e.printStackTrace();
@@ -516,6 +647,26 @@ public final class LafManager {
         return uiInitTasks;
     }
 
+    /**
+     * Adds a {@link TaskMetricsListener}. The listener receives the time, allocations and number of
+     * changed keys of every task run while computing the defaults.
+     *
+     * @param listener the listener to add.
+     * @see TaskInstrumentation
+     */
+    public static void addTaskMetricsListener(final TaskMetricsListener listener) {
+        TaskInstrumentation.addListener(listener);
+    }
+
+    /**
+     * Removes a {@link TaskMetricsListener}.
+     *
+     * @param listener the listener to remove.
+     */
+    public static void removeTaskMetricsListener(final TaskMetricsListener listener) {
+        TaskInstrumentation.removeListener(listener);
+    }
+
     /**
      * Get the closest match of a registered theme for the given theme.
      *
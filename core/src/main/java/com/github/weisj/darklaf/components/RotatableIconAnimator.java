@@ -22,6 +22,10 @@
 package com.github.weisj.darklaf.components;
 
 import java.awt.event.ActionEvent;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import javax.swing.*;
 
@@ -29,12 +33,28 @@ import com.github.weisj.darklaf.icons.RotatableIcon;
 import com.github.weisj.darklaf.util.Alignment;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
+/**
+ * Timer which rotates a {@link RotatableIcon} through a fixed number of frames.
+ *
+ * All running animators with the same delay are driven by a single shared timer. This way any number
+ * of animated components only cause one event per tick and advance their frames in lockstep.
+ *
+ * <p>
+ * As the timer is shared {@link #setInitialDelay(int)} and {@link #setCoalesce(boolean)} have no
+ * effect. The first frame is advanced on the next tick of the shared timer and ticks are always
+ * coalesced. If the animator doesn't repeat it is stopped after its first tick.
+ *
+ * @author Jannis Weis
+ */
 public class RotatableIconAnimator extends Timer {
 
+    private static final Map<Integer, Ticker> tickers = new HashMap<>();
+
     private final RotatableIcon icon;
     private final JComponent parent;
     private final int frameCount;
     private int frame;
+    private Ticker ticker;
 
     public RotatableIconAnimator(final RotatableIcon icon, final JComponent parent) {
         this(Alignment.values().length, icon, parent);
@@ -48,6 +68,7 @@ public class RotatableIconAnimator extends Timer {
         this.icon = icon;
         this.frameCount = frames;
         this.parent = parent;
+        icon.setRotationSteps(frames);
     }
 
     public void resume() {
@@ -71,4 +92,96 @@ public class RotatableIconAnimator extends Timer {
     public void suspend() {
         if (isRunning()) stop();
     }
+
+    @Override
+    public void start() {
+        synchronized (tickers) {
+            if (ticker != null) return;
+            ticker = tickers.computeIfAbsent(getDelay(), Ticker::new);
+            ticker.add(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (tickers) {
+            if (ticker == null) return;
+            if (ticker.remove(this)) {
+                tickers.remove(ticker.delay);
+            }
+            ticker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        synchronized (tickers) {
+            return ticker != null;
+        }
+    }
+
+    @Override
+    public void setDelay(final int delay) {
+        super.setDelay(delay);
+        synchronized (tickers) {
+            if (ticker != null && ticker.delay != delay) {
+                stop();
+                start();
+            }
+        }
+    }
+
+    static Timer getSharedTimer(final int delay) {
+        synchronized (tickers) {
+            Ticker ticker = tickers.get(delay);
+            return ticker != null ? ticker.timer : null;
+        }
+    }
+
+    private static final class Ticker {
+
+        private final int delay;
+        private final Set<RotatableIconAnimator> animators = new LinkedHashSet<>();
+        private final Timer timer;
+
+        private Ticker(final int delay) {
+            this.delay = delay;
+            this.timer = new Timer(delay, e -> tick());
+            timer.setRepeats(true);
+        }
+
+        private void add(final RotatableIconAnimator animator) {
+            animators.add(animator);
+            if (!timer.isRunning()) timer.start();
+        }
+
+        /*
+         * Returns true if the ticker has no animators left. In this case the timer is stopped.
+         */
+        private boolean remove(final RotatableIconAnimator animator) {
+            animators.remove(animator);
+            if (animators.isEmpty()) {
+                timer.stop();
+                return true;
+            }
+            return false;
+        }
+
+        private void tick() {
+            RotatableIconAnimator[] current;
+            synchronized (tickers) {
+                current = animators.toArray(new RotatableIconAnimator[0]);
+            }
+            long when = System.currentTimeMillis();
+            for (RotatableIconAnimator animator : current) {
+                synchronized (tickers) {
+                    // The animator may have been stopped by a previous listener.
+                    if (animator.ticker != this) continue;
+                }
+                animator.fireActionPerformed(new ActionEvent(animator, ActionEvent.ACTION_PERFORMED,
+                        animator.getActionCommand(), when, 0));
+                if (!animator.isRepeats()) animator.stop();
+            }
+        }
+    }
 }
@@ -24,17 +24,17 @@ package com.github.weisj.darklaf.components.border;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
+import java.awt.image.DataBufferInt;
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.border.Border;
 
 import com.github.weisj.darklaf.util.Disposable;
 import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.Scale;
 
 /**
  * Implements a DropShadow for components. In general, the DropShadowBorder will work with any
@@ -49,15 +49,22 @@ import com.github.weisj.darklaf.util.ImageUtil;
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation, {@code
  * DropShadowBorder} keeps internal static cache that allows sharing same border for multiple
- * re-rendering and between different instances of the class. Since this cache is shared at class
- * level and never reset, it might bleed your app memory in case you tend to create many different
- * borders rapidly.
+ * re-rendering and between different instances of the class. The shadow images are rendered at the
+ * scale of the graphics they are painted with. The cache is bounded and only keeps the most recently
+ * used shadows.
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<Integer, BufferedImage[]> CACHE = new HashMap<>();
+    private static final int MAX_CACHE_SIZE = 32;
+    private static final Map<ShadowKey, BufferedImage[]> CACHE =
+            new LinkedHashMap<ShadowKey, BufferedImage[]>(MAX_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<ShadowKey, BufferedImage[]> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            };
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -91,8 +98,9 @@ public class DropShadowBorder implements Border, Serializable {
     @Override
     public void paintBorder(final Component c, final Graphics graphics, final int x, final int y, final int width,
             final int height) {
-        final BufferedImage[] images = getImages();
+        if (shadowSize <= 0) return;
         final Graphics2D g2 = (Graphics2D) graphics.create();
+        final BufferedImage[] images = getImages(Scale.getScaleX(g2), Scale.getScaleY(g2));
 
         try (Disposable d = g2::dispose) {
             // The location and size of the shadows depends on which shadows are being
@@ -198,103 +206,180 @@ public class DropShadowBorder implements Border, Serializable {
 
     protected void drawImage(final Graphics g, final Image image, final Point p) {
         if (p == null) return;
-        g.drawImage(image, p.x, p.y, null);
+        // The image is rendered at device resolution hence it has to be drawn with the size in user space.
+        g.drawImage(image, p.x, p.y, shadowSize, shadowSize, null);
     }
 
     protected void drawImage(final Graphics g, final Image image, final int x, final int y, final int w, final int h) {
         g.drawImage(image, x, y, w, h, null);
     }
 
-    @SuppressWarnings("SuspiciousNameCombination")
-    private BufferedImage[] getImages() {
+    private BufferedImage[] getImages(final double scaleX, final double scaleY) {
         // first, check to see if an image for this size has already been rendered
         // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(getBorderHash(shadowSize, shadowOpacity, shadowColor));
+        ShadowKey key = new ShadowKey(shadowSize, shadowOpacity, shadowColor, cornerSize, scaleX, scaleY);
+        BufferedImage[] images;
+        synchronized (CACHE) {
+            images = CACHE.get(key);
+        }
         if (images == null) {
-            images = new BufferedImage[Position.count()];
-
-            /*
-             * To draw a drop shadow, I have to: 1) Create a rounded rectangle 2) Create a BufferedImage to draw
-             * the rounded rect in 3) Translate the graphics for the image, so that the rectangle is centered in
-             * the drawn space. The border around the rectangle needs to be shadowWidth wide, so that there is
-             * space for the shadow to be drawn. 4) Draw the rounded rect as shadowColor, with an opacity of
-             * shadowOpacity 5) Create the BLUR_KERNEL 6) Blur the image 7) copy off the corners, sides, etc
-             * into images to be used for drawing the Border
-             */
-            int rectWidth = cornerSize + 1;
-            RoundRectangle2D rect = new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize);
-            int imageWidth = rectWidth + shadowSize * 2;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            Graphics2D buffer = (Graphics2D) image.getGraphics();
-
-            try (Disposable d = buffer::dispose) {
-                buffer.setPaint(new Color(shadowColor.getRed(), shadowColor.getGreen(), shadowColor.getBlue(),
-                        (int) (shadowOpacity * 255)));
-                buffer.translate(shadowSize, shadowSize);
-                buffer.fill(rect);
+            // Created outside the lock. Concurrent requests for the same shadow produce equal images.
+            images = createImages(scaleX, scaleY);
+            synchronized (CACHE) {
+                CACHE.put(key, images);
             }
+        }
+        return images;
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    private BufferedImage[] createImages(final double scaleX, final double scaleY) {
+        BufferedImage[] images = new BufferedImage[Position.count()];
+
+        /*
+         * To draw a drop shadow, I have to: 1) Create a rounded rectangle 2) Create an alpha mask to draw
+         * the rounded rect in 3) Translate the graphics for the mask, so that the rectangle is centered in
+         * the drawn space. The border around the rectangle needs to be shadowWidth wide, so that there is
+         * space for the shadow to be drawn. 4) Draw the rounded rect with an opacity of shadowOpacity 5)
+         * Blur the mask 6) Colorize the mask with shadowColor 7) copy off the corners, sides, etc into
+         * images to be used for drawing the Border. All of this happens in device space.
+         */
+        int rectWidth = cornerSize + 1;
+        int shadowWidth = scale(shadowSize, scaleX);
+        int shadowHeight = scale(shadowSize, scaleY);
+        int rectDeviceWidth = scale(rectWidth, scaleX);
+        int rectDeviceHeight = scale(rectWidth, scaleY);
+        int imageWidth = rectDeviceWidth + 2 * shadowWidth;
+        int imageHeight = rectDeviceHeight + 2 * shadowHeight;
+
+        BufferedImage mask = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D buffer = mask.createGraphics();
+        try (Disposable d = buffer::dispose) {
+            // Translucent and opaque colors are rasterized slightly differently. Use the actual shadow alpha.
+            buffer.setColor(new Color(255, 255, 255, (int) (shadowOpacity * 255)));
+            buffer.translate(shadowWidth, shadowHeight);
+            // The rectangle is created in device space. A scaled transform rasterizes differently, even for
+            // the identity scale.
+            buffer.fill(new RoundRectangle2D.Double(0, 0, rectWidth * scaleX, rectWidth * scaleY,
+                    cornerSize * scaleX, cornerSize * scaleY));
+        }
 
-            float blurry = 1.0f / (float) (shadowSize * shadowSize);
-            float[] blurKernel = new float[shadowSize * shadowSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(shadowSize, shadowSize, blurKernel));
-            BufferedImage targetImage = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            ((Graphics2D) targetImage.getGraphics()).drawImage(image, blur, -(shadowSize / 2), -(shadowSize / 2));
-
-            int x = 1;
-            int y = 1;
-            int w = shadowSize;
-            int h = shadowSize;
-            images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = h;
-            w = shadowSize;
-            h = 1;
-            images[Position.LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = rectWidth;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = cornerSize + 1;
-            y = rectWidth;
-            w = 1;
-            h = shadowSize;
-            images[Position.BOTTOM.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = x;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = cornerSize + 1;
-            w = shadowSize;
-            h = 1;
-            images[Position.RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = 1;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = shadowSize;
-            y = 1;
-            w = 1;
-            h = shadowSize;
-            images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
-
-            image.flush();
-            CACHE.put(getBorderHash(shadowSize, shadowOpacity, shadowColor), images);
+        int[] pixels = ((DataBufferInt) mask.getRaster().getDataBuffer()).getData();
+        int[] alpha = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            alpha[i] = pixels[i] >>> 24;
+        }
+        int[] sums = blur(alpha, imageWidth, imageHeight, shadowWidth, shadowHeight);
+        int norm = shadowWidth * shadowHeight;
+        int rgb = shadowColor.getRGB() & 0x00FFFFFF;
+        for (int i = 0; i < pixels.length; i++) {
+            // Truncated like the values of a ConvolveOp.
+            int a = sums[i] / norm;
+            pixels[i] = (a << 24) | rgb;
         }
+
+        int x = scale(1, scaleX);
+        int y = scale(1, scaleY);
+        int w = shadowWidth;
+        int h = shadowHeight;
+        images[Position.TOP_LEFT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = scale(1, scaleX);
+        y = shadowHeight;
+        w = shadowWidth;
+        h = 1;
+        images[Position.LEFT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = scale(1, scaleX);
+        y = rectDeviceHeight;
+        w = shadowWidth;
+        h = shadowHeight;
+        images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = rectDeviceWidth;
+        y = rectDeviceHeight;
+        w = 1;
+        h = shadowHeight;
+        images[Position.BOTTOM.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = rectDeviceWidth;
+        y = rectDeviceHeight;
+        w = shadowWidth;
+        h = shadowHeight;
+        images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = rectDeviceWidth;
+        y = rectDeviceHeight;
+        w = shadowWidth;
+        h = 1;
+        images[Position.RIGHT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = rectDeviceWidth;
+        y = scale(1, scaleY);
+        w = shadowWidth;
+        h = shadowHeight;
+        images[Position.TOP_RIGHT.ordinal()] = getSubImage(mask, x, y, w, h);
+        x = shadowWidth;
+        y = scale(1, scaleY);
+        w = 1;
+        h = shadowHeight;
+        images[Position.TOP.ordinal()] = getSubImage(mask, x, y, w, h);
+
+        mask.flush();
         return images;
     }
 
-    private static int getBorderHash(final int shadowSize, final float opacity, final Color shadowColor) {
-        int result = shadowSize;
-        result = 31 * result + (opacity != +0.0f ? Float.floatToIntBits(opacity) : 0);
-        result = 31 * result + (shadowColor != null ? shadowColor.hashCode() : 0);
+    private static int scale(final int value, final double scale) {
+        return Math.max(1, (int) Math.round(value * Math.abs(scale)));
+    }
+
+    /**
+     * Applies a box blur to the given alpha values. The blur is separated into a horizontal and a
+     * vertical pass, each of which uses a running sum, hence the cost per pixel doesn't depend on the
+     * kernel size. The result is equivalent to a convolution with a {@code kernelWidth x kernelHeight}
+     * box kernel drawn at an offset of {@code -(size / 2)}. As {@link java.awt.image.ConvolveOp} flips
+     * the kernel, each value is the sum of the window {@code [p, p + size - 1]} for odd and even kernel
+     * sizes alike. Values outside of the image are treated as zero.
+     *
+     * @param alpha the alpha values in row major order.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param kernelWidth the horizontal size of the kernel.
+     * @param kernelHeight the vertical size of the kernel.
+     * @return the unnormalized sums of the kernel windows.
+     */
+    private static int[] blur(final int[] alpha, final int width, final int height, final int kernelWidth,
+            final int kernelHeight) {
+        int[] tmp = new int[alpha.length];
+        int[] result = new int[alpha.length];
+        if (kernelWidth > 0) {
+            for (int row = 0; row < height; row++) {
+                blurLine(alpha, tmp, row * width, 1, width, kernelWidth);
+            }
+        } else {
+            System.arraycopy(alpha, 0, tmp, 0, alpha.length);
+        }
+        if (kernelHeight > 0) {
+            for (int col = 0; col < width; col++) {
+                blurLine(tmp, result, col, width, height, kernelHeight);
+            }
+        } else {
+            System.arraycopy(tmp, 0, result, 0, tmp.length);
+        }
         return result;
     }
 
+    /*
+     * Computes dst[i] = src[i] + ... + src[i + size - 1] along a single line of length n starting at
+     * start with the given stride.
+     */
+    private static void blurLine(final int[] src, final int[] dst, final int start, final int stride, final int n,
+            final int size) {
+        int sum = 0;
+        for (int i = 0; i < size && i < n; i++) {
+            sum += src[start + i * stride];
+        }
+        for (int i = 0; i < n; i++) {
+            dst[start + i * stride] = sum;
+            sum -= src[start + i * stride];
+            if (i + size < n) sum += src[start + (i + size) * stride];
+        }
+    }
+
     /**
      * Returns a new BufferedImage that represents a subregion of the given BufferedImage. (Note that
      * this method does not use BufferedImage.getSubimage(), which will defeat image acceleration
@@ -398,6 +483,40 @@ public class DropShadowBorder implements Border, Serializable {
         return this;
     }
 
+    private static final class ShadowKey {
+        private final int shadowSize;
+        private final float opacity;
+        private final int color;
+        private final int cornerSize;
+        private final double scaleX;
+        private final double scaleY;
+
+        private ShadowKey(final int shadowSize, final float opacity, final Color color, final int cornerSize,
+                final double scaleX, final double scaleY) {
+            this.shadowSize = shadowSize;
+            this.opacity = opacity;
+            this.color = color.getRGB();
+            this.cornerSize = cornerSize;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShadowKey)) return false;
+            ShadowKey other = (ShadowKey) o;
+            return shadowSize == other.shadowSize && Float.compare(opacity, other.opacity) == 0
+                    && color == other.color && cornerSize == other.cornerSize
+                    && Double.compare(scaleX, other.scaleX) == 0 && Double.compare(scaleY, other.scaleY) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shadowSize, opacity, color, cornerSize, scaleX, scaleY);
+        }
+    }
+
     private enum Position {
         TOP, TOP_LEFT, LEFT, BOTTOM_LEFT, BOTTOM, BOTTOM_RIGHT, RIGHT, TOP_RIGHT;
 
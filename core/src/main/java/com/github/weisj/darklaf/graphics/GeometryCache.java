@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.weisj.darklaf.util.Scale;
+
+/**
+ * Cache for the even-odd outline shapes painted by {@link PaintUtil}. Shapes are created in user
+ * space relative to the origin, hence they don't depend on the scale of the graphics object they are
+ * painted with. The cached shapes must not be modified.
+ *
+ * @author Jannis Weis
+ */
+final class GeometryCache {
+
+    private static final int MAX_SIZE = 128;
+    private static final int OUTLINE = 0;
+    private static final int INSIDE_OUTLINE = 1;
+    private static final int OVAL = 2;
+
+    private static final Map<Key, Shape> cache = new LinkedHashMap<Key, Shape>(MAX_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Shape> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+    // Reused for lookups so cache hits don't allocate. Guarded by the cache lock.
+    private static final Key lookupKey = new Key();
+
+    private GeometryCache() {}
+
+    /**
+     * Get the area between a rounded rectangle of the given size and the rectangle inset by the border
+     * width.
+     *
+     * @param width the width of the outer rectangle.
+     * @param height the height of the outer rectangle.
+     * @param arc the arc size.
+     * @param bw the border width.
+     * @param inside whether the arc applies to the outer rectangle. Otherwise it applies to the inner
+     *        one.
+     * @return the outline shape.
+     */
+    static Shape getOutline(final float width, final float height, final float arc, final float bw,
+            final boolean inside) {
+        synchronized (cache) {
+            Shape shape = cache.get(lookupKey.set(inside ? INSIDE_OUTLINE : OUTLINE, width, height, arc, bw));
+            if (shape == null) {
+                shape = createOutline(width, height, arc, bw, inside);
+                cache.put(lookupKey.copy(), shape);
+            }
+            return shape;
+        }
+    }
+
+    /**
+     * Get the area between an ellipse of the given size and the ellipse grown by the border width. The
+     * inner ellipse is located at the origin.
+     *
+     * @param width the width of the inner ellipse.
+     * @param height the height of the inner ellipse.
+     * @param bw the border width.
+     * @return the oval shape.
+     */
+    static Shape getOval(final float width, final float height, final float bw) {
+        synchronized (cache) {
+            Shape shape = cache.get(lookupKey.set(OVAL, width, height, 0, bw));
+            if (shape == null) {
+                Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+                path.append(new Ellipse2D.Float(-bw, -bw, width + bw * 2, height + bw * 2), false);
+                path.append(new Ellipse2D.Float(0, 0, width, height), false);
+                shape = path;
+                cache.put(lookupKey.copy(), shape);
+            }
+            return shape;
+        }
+    }
+
+    private static Shape createOutline(final float width, final float height, final float arc, final float bw,
+            final boolean inside) {
+        Shape outerRect;
+        Shape innerRect;
+        if (Scale.equalWithError(arc, 0)) {
+            outerRect = new Rectangle2D.Float(0, 0, width, height);
+            innerRect = new Rectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw);
+        } else {
+            float outerArc = inside ? arc : arc + bw;
+            float innerArc = inside ? arc - bw : arc;
+            outerRect = new RoundRectangle2D.Float(0, 0, width, height, outerArc, outerArc);
+            innerRect = new RoundRectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw, innerArc, innerArc);
+        }
+        Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+        path.append(outerRect, false);
+        path.append(innerRect, false);
+        return path;
+    }
+
+    static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    static int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static final class Key {
+        private int type;
+        private float width;
+        private float height;
+        private float arc;
+        private float bw;
+
+        private Key set(final int type, final float width, final float height, final float arc, final float bw) {
+            this.type = type;
+            this.width = width;
+            this.height = height;
+            this.arc = arc;
+            this.bw = bw;
+            return this;
+        }
+
+        private Key copy() {
+            return new Key().set(type, width, height, arc, bw);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return type == key.type && Float.compare(width, key.width) == 0
+                    && Float.compare(height, key.height) == 0 && Float.compare(arc, key.arc) == 0
+                    && Float.compare(bw, key.bw) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type;
+            result = 31 * result + Float.floatToIntBits(width);
+            result = 31 * result + Float.floatToIntBits(height);
+            result = 31 * result + Float.floatToIntBits(arc);
+            result = 31 * result + Float.floatToIntBits(bw);
+            return result;
+        }
+    }
+}
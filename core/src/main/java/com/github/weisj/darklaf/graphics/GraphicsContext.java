@@ -23,16 +23,45 @@ package com.github.weisj.darklaf.graphics;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
+ * Saves the state of a {@link Graphics2D} object so it can be restored after painting.
+ *
+ * <p>
+ * By default the complete state is saved. If only some state is changed during painting, the
+ * categories to save can be given as a combination of the flags {@link #HINTS}, {@link #COMPOSITE},
+ * {@link #STROKE}, {@link #COLOR}, {@link #PAINT}, {@link #FONT}, {@link #CLIP} and
+ * {@link #TRANSFORM}. Only those are restored by {@link #restore()}. Single rendering hints can be
+ * saved using {@link #saveRenderingHint(RenderingHints.Key)}, which avoids copying the whole map of
+ * hints.
+ *
  * @author Konstantin Bulenkov
  * @author Jannis Weis
  */
 public class GraphicsContext {
+
+    public static final int NONE = 0;
+    public static final int HINTS = 1;
+    public static final int COMPOSITE = 1 << 1;
+    public static final int STROKE = 1 << 2;
+    public static final int COLOR = 1 << 3;
+    public static final int PAINT = 1 << 4;
+    public static final int FONT = 1 << 5;
+    public static final int CLIP = 1 << 6;
+    public static final int TRANSFORM = 1 << 7;
+    public static final int ALL = HINTS | COMPOSITE | STROKE | COLOR | PAINT | FONT | CLIP | TRANSFORM;
+
+    private static final int INITIAL_HINT_CAPACITY = 2;
+
     private final Graphics2D graphics2D;
+    private int savedState;
     private Composite composite;
     private Map<?, ?> hintsMap;
+    private RenderingHints.Key[] hintKeys;
+    private Object[] hintValues;
+    private int hintCount;
     private Stroke stroke;
     private Color color;
     private Paint paint;
@@ -41,14 +70,25 @@ public class GraphicsContext {
     private AffineTransform transform;
 
     public GraphicsContext(final Graphics g) {
+        this(g, ALL);
+    }
+
+    /**
+     * Create a context which saves the given state categories.
+     *
+     * @param g the graphics object.
+     * @param state the state to save. A combination of the flags defined in this class.
+     */
+    public GraphicsContext(final Graphics g, final int state) {
         graphics2D = (Graphics2D) g;
-        save();
+        save(state);
     }
 
     public Graphics2D getGraphics() {
         return this.graphics2D;
     }
 
+    /** Restores all saved state. */
     public void restore() {
         restoreRenderingHints();
         restoreComposite();
@@ -61,77 +101,120 @@ public class GraphicsContext {
     }
 
     public void save() {
-        saveRenderingHints();
-        saveComposite();
-        saveStroke();
-        saveColor();
-        savePaint();
-        saveFont();
-        saveClip();
-        saveTransform();
+        save(ALL);
+    }
+
+    /**
+     * Save the given state categories.
+     *
+     * @param state the state to save. A combination of the flags defined in this class.
+     */
+    public void save(final int state) {
+        if ((state & HINTS) != 0) saveRenderingHints();
+        if ((state & COMPOSITE) != 0) saveComposite();
+        if ((state & STROKE) != 0) saveStroke();
+        if ((state & COLOR) != 0) saveColor();
+        if ((state & PAINT) != 0) savePaint();
+        if ((state & FONT) != 0) saveFont();
+        if ((state & CLIP) != 0) saveClip();
+        if ((state & TRANSFORM) != 0) saveTransform();
     }
 
     public void restoreTransform() {
-        graphics2D.setTransform(transform);
+        if ((savedState & TRANSFORM) != 0) graphics2D.setTransform(transform);
     }
 
     public void restoreComposite() {
-        graphics2D.setComposite(composite);
+        if ((savedState & COMPOSITE) != 0) graphics2D.setComposite(composite);
     }
 
     public void restoreFont() {
-        graphics2D.setFont(font);
+        if ((savedState & FONT) != 0) graphics2D.setFont(font);
     }
 
     public void restoreRenderingHints() {
-        graphics2D.setRenderingHints(this.hintsMap);
+        if ((savedState & HINTS) != 0) graphics2D.setRenderingHints(this.hintsMap);
+        for (int i = 0; i < hintCount; i++) {
+            if (hintValues[i] != null) graphics2D.setRenderingHint(hintKeys[i], hintValues[i]);
+        }
     }
 
     public void restoreStroke() {
-        graphics2D.setStroke(stroke);
+        if ((savedState & STROKE) != 0) graphics2D.setStroke(stroke);
     }
 
     public void restoreColor() {
-        graphics2D.setColor(color);
+        if ((savedState & COLOR) != 0) graphics2D.setColor(color);
     }
 
     public void restorePaint() {
-        graphics2D.setPaint(paint);
+        if ((savedState & PAINT) != 0) graphics2D.setPaint(paint);
     }
 
     public void restoreClip() {
-        graphics2D.setClip(clip);
+        if ((savedState & CLIP) != 0) graphics2D.setClip(clip);
     }
 
     public void saveTransform() {
         transform = graphics2D.getTransform();
+        savedState |= TRANSFORM;
     }
 
     public void saveComposite() {
         composite = graphics2D.getComposite();
+        savedState |= COMPOSITE;
     }
 
     public void saveFont() {
         font = graphics2D.getFont();
+        savedState |= FONT;
     }
 
     public void saveRenderingHints() {
         hintsMap = graphics2D.getRenderingHints();
+        hintCount = 0;
+        savedState |= HINTS;
+    }
+
+    /**
+     * Save the value of a single rendering hint. Does nothing if all rendering hints are saved.
+     *
+     * @param key the key of the hint.
+     */
+    public void saveRenderingHint(final RenderingHints.Key key) {
+        if ((savedState & HINTS) != 0) return;
+        for (int i = 0; i < hintCount; i++) {
+            if (hintKeys[i] == key) return;
+        }
+        if (hintKeys == null) {
+            hintKeys = new RenderingHints.Key[INITIAL_HINT_CAPACITY];
+            hintValues = new Object[INITIAL_HINT_CAPACITY];
+        } else if (hintCount == hintKeys.length) {
+            hintKeys = Arrays.copyOf(hintKeys, 2 * hintCount);
+            hintValues = Arrays.copyOf(hintValues, 2 * hintCount);
+        }
+        hintKeys[hintCount] = key;
+        hintValues[hintCount] = graphics2D.getRenderingHint(key);
+        hintCount++;
     }
 
     public void saveStroke() {
         stroke = graphics2D.getStroke();
+        savedState |= STROKE;
     }
 
     public void saveColor() {
         color = graphics2D.getColor();
+        savedState |= COLOR;
     }
 
     public void savePaint() {
         paint = graphics2D.getPaint();
+        savedState |= PAINT;
     }
 
     public void saveClip() {
         clip = graphics2D.getClip();
+        savedState |= CLIP;
     }
 }
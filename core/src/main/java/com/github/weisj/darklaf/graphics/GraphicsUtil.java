@@ -55,9 +55,25 @@ public final class GraphicsUtil {
 
     public static GraphicsContext setupAntialiasing(final Graphics g2, final boolean enableAA,
             final boolean ignoreSystemSettings) {
-        GraphicsContext config = new GraphicsContext(g2);
+        return setupAntialiasing(g2, enableAA, ignoreSystemSettings, GraphicsContext.ALL);
+    }
+
+    /**
+     * Setup antialiasing for painting text.
+     *
+     * @param g2 the graphics object.
+     * @param enableAA whether antialiasing should be enabled if system settings are ignored.
+     * @param ignoreSystemSettings whether the system settings for text antialiasing should be ignored.
+     * @param state the state which is changed by the caller and should be saved in the returned context.
+     *        Changed rendering hints are saved regardless.
+     * @return the context to restore the graphics object.
+     */
+    public static GraphicsContext setupAntialiasing(final Graphics g2, final boolean enableAA,
+            final boolean ignoreSystemSettings, final int state) {
+        GraphicsContext config = new GraphicsContext(g2, state);
         if (ignoreSystemSettings && g2 instanceof Graphics2D) {
             Graphics2D g = (Graphics2D) g2;
+            config.saveRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
             g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
                     enableAA ? RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
         }
@@ -73,17 +89,35 @@ public final class GraphicsUtil {
     }
 
     public static GraphicsContext paintWithAlpha(final Graphics g, final float alpha) {
+        return paintWithAlpha(g, alpha, GraphicsContext.ALL);
+    }
+
+    public static GraphicsContext paintWithAlpha(final Graphics g, final float alpha, final int state) {
         assert 0.0F <= alpha && alpha <= 1.0F : "alpha should be in range 0.0f .. 1.0f";
 
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, state | GraphicsContext.COMPOSITE);
         Graphics2D g2 = (Graphics2D) g;
         g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
         return config;
     }
 
     public static GraphicsContext setupStrokePainting(final Graphics g) {
+        return setupStrokePainting(g, GraphicsContext.ALL);
+    }
+
+    /**
+     * Setup antialiasing for painting shapes.
+     *
+     * @param g the graphics object.
+     * @param state the state which is changed by the caller and should be saved in the returned context.
+     *        Changed rendering hints are saved regardless.
+     * @return the context to restore the graphics object.
+     */
+    public static GraphicsContext setupStrokePainting(final Graphics g, final int state) {
         Graphics2D g2 = (Graphics2D) g;
-        GraphicsContext context = new GraphicsContext(g2);
+        GraphicsContext context = new GraphicsContext(g2, state);
+        context.saveRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        context.saveRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
                 useQuartz() ? RenderingHints.VALUE_STROKE_PURE : RenderingHints.VALUE_STROKE_NORMALIZE);
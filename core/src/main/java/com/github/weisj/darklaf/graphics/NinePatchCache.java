@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.event.ThemeChangeEvent;
+import com.github.weisj.darklaf.theme.event.ThemeChangeListener;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Cache for borders which only differ in their size. A border is rendered once into a small image
+ * for each appearance and device scale. The image is split into nine patches. When painting the
+ * corners are copied as is and the edges and center are stretched to the requested size.
+ *
+ * <p>
+ * The border has to be uniform between its edges, i.e. everything not contained in the corners given
+ * by the edge insets has to look the same along the stretched direction. The cache is disabled by
+ * default. It can be enabled through {@link #setEnabled(boolean)} or the system property
+ * {@value #NINE_PATCH_FLAG}. All images are discarded if the theme changes.
+ *
+ * @author Jannis Weis
+ */
+public final class NinePatchCache {
+
+    public static final String NINE_PATCH_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "ninePatchBorders";
+
+    private static final int MAX_SIZE = 64;
+    // Size of the stretchable region in the rendered image.
+    private static final int STRETCH_SIZE = 4;
+    private static final AffineTransform IDENTITY = new AffineTransform();
+
+    private static final Map<Key, SoftReference<Patch>> cache = new LinkedHashMap<Key, SoftReference<Patch>>(
+            MAX_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, SoftReference<Patch>> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+    private static boolean enabled = PropertyValue.TRUE.equals(System.getProperty(NINE_PATCH_FLAG));
+    private static ThemeChangeListener themeListener;
+
+    private NinePatchCache() {}
+
+    public static synchronized void setEnabled(final boolean enabled) {
+        NinePatchCache.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    public static synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Discard all rendered images. */
+    public static synchronized void clear() {
+        cache.clear();
+    }
+
+    static synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Create a key describing the appearance of a border. The key is retained by the cache, hence it
+     * should consist of values like colors and sizes and not reference components or border instances.
+     * Borders with the same appearance then share their images.
+     *
+     * @param parts everything which influences the appearance except the size.
+     * @return the key.
+     */
+    public static Object key(final Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Paint the border using a cached nine-patch image if possible.
+     *
+     * @param g the graphics object.
+     * @param key the appearance of the border. See {@link #key(Object...)}.
+     * @param x the x position of the border.
+     * @param y the y position of the border.
+     * @param width the width of the border.
+     * @param height the height of the border.
+     * @param edges the size of the non uniform corners of the border.
+     * @param painter paints the border at the origin with the given size.
+     * @return true if the border has been painted. If false is returned the border has to be painted by
+     *         the caller.
+     */
+    public static boolean paint(final Graphics2D g, final Object key, final int x, final int y, final int width,
+            final int height, final Insets edges, final Painter painter) {
+        if (!isEnabled()) return false;
+        AffineTransform at = g.getTransform();
+        if ((at.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) != 0) return false;
+        double sx = at.getScaleX();
+        double sy = at.getScaleY();
+        if (sx <= 0 || sy <= 0) return false;
+
+        int x0 = (int) Math.round(x * sx + at.getTranslateX());
+        int y0 = (int) Math.round(y * sy + at.getTranslateY());
+        int x1 = (int) Math.round((x + width) * sx + at.getTranslateX());
+        int y1 = (int) Math.round((y + height) * sy + at.getTranslateY());
+        int left = (int) Math.ceil(edges.left * sx);
+        int right = (int) Math.ceil(edges.right * sx);
+        int top = (int) Math.ceil(edges.top * sy);
+        int bottom = (int) Math.ceil(edges.bottom * sy);
+        if (x1 - x0 < left + right || y1 - y0 < top + bottom) return false;
+
+        Patch patch = getPatch(new Key(key, edges, sx, sy), sx, sy, painter);
+        int pw = patch.image.getWidth();
+        int ph = patch.image.getHeight();
+        int[] dx = {x0, x0 + left, x1 - right, x1};
+        int[] dy = {y0, y0 + top, y1 - bottom, y1};
+        int[] px = {0, left, pw - right, pw};
+        int[] py = {0, top, ph - bottom, ph};
+
+        GraphicsContext context = new GraphicsContext(g, GraphicsContext.TRANSFORM);
+        context.saveRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setTransform(IDENTITY);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if (i == 1 && j == 1 && patch.emptyCenter) continue;
+                if (dx[i] == dx[i + 1] || dy[j] == dy[j + 1]) continue;
+                g.drawImage(patch.image, dx[i], dy[j], dx[i + 1], dy[j + 1], px[i], py[j], px[i + 1], py[j + 1],
+                        null);
+            }
+        }
+        context.restore();
+        return true;
+    }
+
+    private static Patch getPatch(final Key key, final double sx, final double sy, final Painter painter) {
+        synchronized (NinePatchCache.class) {
+            SoftReference<Patch> ref = cache.get(key);
+            Patch patch = ref != null ? ref.get() : null;
+            if (patch != null) return patch;
+        }
+        Patch patch = createPatch(key.edges, sx, sy, painter);
+        synchronized (NinePatchCache.class) {
+            installThemeListener();
+            cache.put(key, new SoftReference<>(patch));
+        }
+        return patch;
+    }
+
+    private static Patch createPatch(final Insets edges, final double sx, final double sy, final Painter painter) {
+        int width = edges.left + edges.right + STRETCH_SIZE;
+        int height = edges.top + edges.bottom + STRETCH_SIZE;
+        BufferedImage image = new BufferedImage((int) Math.ceil(width * sx), (int) Math.ceil(height * sy),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.scale(sx, sy);
+        painter.paint(g, width, height);
+        g.dispose();
+        return new Patch(image, isCenterEmpty(image, edges, sx, sy));
+    }
+
+    private static boolean isCenterEmpty(final BufferedImage image, final Insets edges, final double sx,
+            final double sy) {
+        int startX = (int) Math.ceil(edges.left * sx);
+        int endX = image.getWidth() - (int) Math.ceil(edges.right * sx);
+        int startY = (int) Math.ceil(edges.top * sy);
+        int endY = image.getHeight() - (int) Math.ceil(edges.bottom * sy);
+        for (int j = startY; j < endY; j++) {
+            for (int i = startX; i < endX; i++) {
+                if ((image.getRGB(i, j) >>> 24) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void installThemeListener() {
+        if (themeListener != null) return;
+        themeListener = new ThemeChangeListener() {
+            @Override
+            public void themeChanged(final ThemeChangeEvent e) {
+                clear();
+            }
+
+            @Override
+            public void themeInstalled(final ThemeChangeEvent e) {
+                clear();
+            }
+        };
+        LafManager.addThemeChangeListener(themeListener);
+    }
+
+    /** Paints a border at the origin. */
+    public interface Painter {
+
+        /**
+         * Paint the border.
+         *
+         * @param g the graphics object.
+         * @param width the width of the border.
+         * @param height the height of the border.
+         */
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private static final class Patch {
+        private final BufferedImage image;
+        private final boolean emptyCenter;
+
+        private Patch(final BufferedImage image, final boolean emptyCenter) {
+            this.image = image;
+            this.emptyCenter = emptyCenter;
+        }
+    }
+
+    private static final class Key {
+        private final Object appearance;
+        private final Insets edges;
+        private final double scaleX;
+        private final double scaleY;
+
+        private Key(final Object appearance, final Insets edges, final double scaleX, final double scaleY) {
+            this.appearance = appearance;
+            this.edges = (Insets) edges.clone();
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Double.compare(scaleX, other.scaleX) == 0 && Double.compare(scaleY, other.scaleY) == 0
+                    && edges.equals(other.edges) && appearance.equals(other.appearance);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = appearance.hashCode();
+            result = 31 * result + edges.hashCode();
+            long bits = Double.doubleToLongBits(scaleX);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            bits = Double.doubleToLongBits(scaleY);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            return result;
+        }
+    }
+}
@@ -22,9 +22,6 @@
 package com.github.weisj.darklaf.graphics;
 
 import java.awt.*;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Path2D;
-import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 
 import com.github.weisj.darklaf.util.Scale;
@@ -42,6 +39,8 @@ public class PaintUtil {
     private static Color warningGlow;
 
     private static final RoundRectangle2D roundRect = new RoundRectangle2D.Double();
+    // The state changed when painting glow effects.
+    private static final int GLOW_STATE = GraphicsContext.COMPOSITE | GraphicsContext.COLOR | GraphicsContext.PAINT;
 
     public static void setGlowOpacity(final float alpha) {
         glowComposite = glowComposite.derive(alpha);
@@ -109,22 +108,8 @@ public class PaintUtil {
 
     private static void doPaint(final Graphics2D g, final float width, final float height, final float arc,
             final float bw, final boolean inside) {
-        GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
-        Shape outerRect;
-        Shape innerRect;
-        if (Scale.equalWithError(arc, 0)) {
-            outerRect = new Rectangle2D.Float(0, 0, width, height);
-            innerRect = new Rectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw);
-        } else {
-            float outerArc = inside ? arc : arc + bw;
-            float innerArc = inside ? arc - bw : arc;
-            outerRect = new RoundRectangle2D.Float(0, 0, width, height, outerArc, outerArc);
-            innerRect = new RoundRectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw, innerArc, innerArc);
-        }
-        Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
-        path.append(outerRect, false);
-        path.append(innerRect, false);
-        g.fill(path);
+        GraphicsContext context = GraphicsUtil.setupStrokePainting(g, GraphicsContext.NONE);
+        g.fill(GeometryCache.getOutline(width, height, arc, bw, inside));
         context.restore();
     }
 
@@ -135,7 +120,7 @@ public class PaintUtil {
 
     public static void paintFocusBorder(final Graphics2D g, final int width, final int height, final float arc,
             final float bw, final boolean active) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, GLOW_STATE);
         g.setComposite(PaintUtil.glowComposite);
         paintOutlineBorder(g, width, height, arc, bw, active, Outline.focus);
         config.restore();
@@ -158,7 +143,7 @@ public class PaintUtil {
 
     public static void fillFocusRect(final Graphics2D g, final int x, final int y, final int width, final int height,
             final boolean active) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, GLOW_STATE);
         g.setComposite(PaintUtil.glowComposite);
         Outline.focus.setGraphicsColor(g, active);
         g.fillRect(x, y, width, height);
@@ -177,14 +162,13 @@ public class PaintUtil {
 
     public static void paintFocusOval(final Graphics2D g, final float x, final float y, final float width,
             final float height, final boolean active, final float bw) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, GLOW_STATE);
         g.setComposite(PaintUtil.glowComposite);
         Outline.focus.setGraphicsColor(g, active);
 
-        Path2D shape = new Path2D.Float(Path2D.WIND_EVEN_ODD);
-        shape.append(new Ellipse2D.Float(x - bw, y - bw, width + bw * 2, height + bw * 2), false);
-        shape.append(new Ellipse2D.Float(x, y, width, height), false);
-        g.fill(shape);
+        g.translate(x, y);
+        g.fill(GeometryCache.getOval(width, height, bw));
+        g.translate(-x, -y);
         config.restore();
     }
 
@@ -208,7 +192,7 @@ public class PaintUtil {
 
     public static void fillRoundRect(final Graphics2D g, final float x, final float y, final float width,
             final float height, final int arc, final boolean adjustForBorder) {
-        GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
+        GraphicsContext context = GraphicsUtil.setupStrokePainting(g, GraphicsContext.NONE);
         int stroke = adjustForBorder ? (int) getStrokeWidth(g) : 0;
         float lw = Scale.equalWithError(Scale.getScaleX(g), 1f) ? stroke : stroke / 2f;
         float arcSize = arc;
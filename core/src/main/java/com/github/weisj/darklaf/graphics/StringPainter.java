@@ -105,7 +105,12 @@ public class StringPainter {
             final Color background) {
         if (text == null || text.equals("")) return;
 
-        GraphicsContext context = GraphicsUtil.setupAntialiasing(g);
+        /*
+         * The text antialiasing hints aren't changed here. Views which change rendering hints restore them
+         * themselves, so there is no need to copy them.
+         */
+        GraphicsContext context = GraphicsUtil.setupAntialiasing(g, true, false,
+                GraphicsContext.ALL & ~GraphicsContext.HINTS);
 
         final int asc = fm.getAscent();
         final int x = textRect.x;
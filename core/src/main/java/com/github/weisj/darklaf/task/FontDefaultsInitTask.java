@@ -82,9 +82,9 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
         loadFontProperties(defaults);
 
         if (SystemInfo.isMac) {
-            patchOSFonts(defaults, this::mapMacOSFont);
+            patchOSFonts(defaults, this::mapMacOSFont, MAC_OS_FONT_NAME);
         } else if (SystemInfo.isWindows) {
-            patchOSFonts(defaults, this::mapWindowsFont);
+            patchOSFonts(defaults, this::mapWindowsFont, WINDOWS_10_FONT_NAME);
         }
 
         if (SystemInfo.isMacOSCatalina) {
@@ -101,7 +101,8 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
                 boolean enabledAll = ALL_FONTS.equals(allowedFonts.get(0));
 
                 setupKerningPerFont(defaults,
-                        key -> (enabledAll || allowedFontsSet.contains(key)) && !blockedFontSet.contains(key));
+                        key -> (enabledAll || allowedFontsSet.contains(key)) && !blockedFontSet.contains(key),
+                        Arrays.asList(KERNING_ALLOW_LIST, allowedFonts, blockedFonts));
             }
         }
 
@@ -180,8 +181,9 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
         PropertyLoader.putProperties(fontProps, defaults);
     }
 
-    private void patchOSFonts(final UIDefaults defaults, final Function<Map.Entry<Object, Font>, Font> mapper) {
-        PropertyLoader.replacePropertyEntriesOfType(Font.class, defaults, e -> true, mapper);
+    private void patchOSFonts(final UIDefaults defaults, final Function<Map.Entry<Object, Font>, Font> mapper,
+            final Object mapperKey) {
+        PropertyLoader.replacePropertyEntriesOfType(Font.class, defaults, e -> true, mapper, mapperKey);
     }
 
     private Font mapMacOSFont(final Map.Entry<Object, Font> entry) {
@@ -205,19 +207,21 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
         return windowsFont;
     }
 
-    private void setupKerningPerFont(final UIDefaults defaults, final Predicate<String> kerningPredicate) {
-        PropertyLoader.replacePropertiesOfType(Font.class, defaults, e -> kerningPredicate.test(e.getKey().toString()),
-                f -> {
-                    Font font = f.deriveFont(ENABLE_KERNING);
-                    if (f instanceof UIResource) font = new DarkFontUIResource(font);
+    private void setupKerningPerFont(final UIDefaults defaults, final Predicate<String> kerningPredicate,
+            final Object predicateKey) {
+        PropertyLoader.replacePropertyEntriesOfType(Font.class, defaults,
+                e -> kerningPredicate.test(e.getKey().toString()), e -> {
+                    Font font = e.getValue().deriveFont(ENABLE_KERNING);
+                    if (e.getValue() instanceof UIResource) font = new DarkFontUIResource(font);
                     return font;
-                });
+                }, predicateKey);
     }
 
     private void applyFontRule(final Theme currentTheme, final UIDefaults defaults) {
         FontSizeRule rule = currentTheme.getFontSizeRule();
         if (rule == null || rule.getType() == FontSizeRule.AdjustmentType.NO_ADJUSTMENT) return;
-        PropertyLoader.replacePropertiesOfType(Font.class, defaults, f -> fontWithRule(f, rule));
+        PropertyLoader.replacePropertyEntriesOfType(Font.class, defaults, e -> true,
+                e -> fontWithRule(e.getValue(), rule), rule);
     }
 
     private Font fontWithRule(final Font font, final FontSizeRule rule) {
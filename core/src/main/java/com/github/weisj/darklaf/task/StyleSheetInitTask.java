@@ -22,8 +22,14 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.function.Consumer;
 
 import javax.swing.*;
+import javax.swing.text.Element;
+import javax.swing.text.Style;
+import javax.swing.text.html.HTML;
 import javax.swing.text.html.HTMLEditorKit;
 import javax.swing.text.html.StyleSheet;
 
@@ -32,13 +38,67 @@ import com.github.weisj.darklaf.util.ColorUtil;
 
 public class StyleSheetInitTask implements DefaultsInitTask {
 
+    private static final String FONT_KEY = "html.font";
+    private static final String[] COLOR_KEYS = {"textForeground", "hyperlink", "border", "borderSecondary"};
+    private static final int CACHE_SIZE = 4;
+
+    /*
+     * Style sheets of the most recently installed themes. This avoids parsing the css again if the
+     * theme is toggled back and forth.
+     */
+    private static final Map<List<Object>, StyleSheet> styleSheetCache =
+            new LinkedHashMap<List<Object>, StyleSheet>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<List<Object>, StyleSheet> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
     private UIDefaults defaults;
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
-        this.defaults = defaults;
+        Font font = defaults.getFont(FONT_KEY);
+        /*
+         * Each installation gets its own style sheet, such that rules added by the application neither
+         * carry over to other themes nor get overridden by the rules of the theme, which are linked.
+         */
         StyleSheet styleSheet = new StyleSheet();
-        Font font = defaults.getFont("html.font");
+        if (getClass() != StyleSheetInitTask.class) {
+            // Subclasses may read arbitrary values in #hex, #px and #pt, hence they can't be cached.
+            StyleSheet themeStyleSheet = new StyleSheet();
+            buildStyleSheet(themeStyleSheet, currentTheme, font, defaults);
+            styleSheet.addStyleSheet(themeStyleSheet);
+        } else {
+            styleSheet.addStyleSheet(getCachedStyleSheet(currentTheme, font, defaults));
+        }
+        new HTMLEditorKit().setStyleSheet(styleSheet);
+    }
+
+    private StyleSheet getCachedStyleSheet(final Theme currentTheme, final Font font, final UIDefaults defaults) {
+        /*
+         * The style sheet only depends on these values. They are copied such that the style sheet can be
+         * built at a later point.
+         */
+        UIDefaults values = new UIDefaults();
+        List<Object> key = new ArrayList<>();
+        key.add(currentTheme.getThemeClass());
+        key.add(currentTheme.getName());
+        key.add(font);
+        for (String colorKey : COLOR_KEYS) {
+            Color color = defaults.getColor(colorKey);
+            key.add(color);
+            if (color != null) values.put(colorKey, color);
+        }
+        synchronized (styleSheetCache) {
+            return styleSheetCache.computeIfAbsent(key,
+                    k -> new LazyStyleSheet(sheet -> buildStyleSheet(sheet, currentTheme, font, values)));
+        }
+    }
+
+    private synchronized void buildStyleSheet(final StyleSheet styleSheet, final Theme currentTheme,
+            final Font font, final UIDefaults defaults) {
+        this.defaults = defaults;
         CSSBuilder builder = new CSSBuilder();
 
     // @formatter:off
@@ -249,7 +309,7 @@ public class StyleSheetInitTask implements DefaultsInitTask {
         if (custom.getStyleNames().hasMoreElements()) {
             styleSheet.addStyleSheet(custom);
         }
-        new HTMLEditorKit().setStyleSheet(styleSheet);
+        this.defaults = null;
     }
 
     protected String hex(final String key) {
@@ -269,4 +329,57 @@ public class StyleSheetInitTask implements DefaultsInitTask {
     public boolean onlyDuringInstallation() {
         return true;
     }
+
+    /*
+     * Style sheet which is only built once its rules are first requested i.e. when html is first
+     * rendered. Style sheets installed through HTMLEditorKit#setStyleSheet are always linked into the
+     * style sheet of the document, which only accesses them through #getRule(String).
+     */
+    private static final class LazyStyleSheet extends StyleSheet {
+
+        private Consumer<StyleSheet> builder;
+
+        private LazyStyleSheet(final Consumer<StyleSheet> builder) {
+            this.builder = builder;
+        }
+
+        private synchronized void ensureBuilt() {
+            if (builder != null) {
+                // Reset first as building the style sheet calls back into the accessors.
+                Consumer<StyleSheet> b = builder;
+                builder = null;
+                b.accept(this);
+            }
+        }
+
+        @Override
+        public Style getRule(final HTML.Tag t, final Element e) {
+            ensureBuilt();
+            return super.getRule(t, e);
+        }
+
+        @Override
+        public Style getRule(final String selector) {
+            ensureBuilt();
+            return super.getRule(selector);
+        }
+
+        @Override
+        public Style getStyle(final String nm) {
+            ensureBuilt();
+            return super.getStyle(nm);
+        }
+
+        @Override
+        public Enumeration<?> getStyleNames() {
+            ensureBuilt();
+            return super.getStyleNames();
+        }
+
+        @Override
+        public StyleSheet[] getStyleSheets() {
+            ensureBuilt();
+            return super.getStyleSheets();
+        }
+    }
 }
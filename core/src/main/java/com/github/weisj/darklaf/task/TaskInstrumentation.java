@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.task;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Measures the {@link DefaultsInitTask}s and {@link DefaultsAdjustmentTask}s run while computing the
+ * defaults of the LaF and reports the results to the registered {@link TaskMetricsListener}s.
+ *
+ * <p>
+ * Tasks are only measured if at least one enabled listener is registered. On Java 11 and above a
+ * listener which emits the measurements as flight recorder events is registered by default. The
+ * events are named {@code com.github.weisj.darklaf.DefaultsTask} and are disabled unless they are
+ * enabled for the active recording.
+ *
+ * @author Jannis Weis
+ */
+public final class TaskInstrumentation {
+
+    private static final Logger LOGGER = LogUtil.getLogger(TaskInstrumentation.class);
+    private static final String FLIGHT_RECORDER_LISTENER = "com.github.weisj.darklaf.task.JfrTaskMetricsListener";
+
+    private static final List<TaskMetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    static {
+        registerFlightRecorderListener();
+    }
+
+    private TaskInstrumentation() {}
+
+    public static void addListener(final TaskMetricsListener listener) {
+        if (listener != null) listeners.add(listener);
+    }
+
+    public static void removeListener(final TaskMetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs the given task and reports its metrics.
+     *
+     * @param task the task to run.
+     * @param currentTheme the current theme.
+     * @param defaults the defaults.
+     */
+    public static void run(final DefaultsInitTask task, final Theme currentTheme, final UIDefaults defaults) {
+        run(task, currentTheme, defaults, () -> task.run(currentTheme, defaults));
+    }
+
+    /**
+     * Runs the given task and reports its metrics.
+     *
+     * @param task the task to run.
+     * @param currentTheme the current theme.
+     * @param properties the properties.
+     */
+    public static void run(final DefaultsAdjustmentTask task, final Theme currentTheme,
+            final Properties properties) {
+        run(task, currentTheme, properties, () -> task.run(currentTheme, properties));
+    }
+
+    private static void run(final Object task, final Theme currentTheme, final Map<Object, Object> target,
+            final Runnable action) {
+        // Listeners which are notified about the start of a task also have to be notified about its end.
+        List<TaskMetricsListener> enabledListeners = getEnabledListeners();
+        if (enabledListeners.isEmpty()) {
+            action.run();
+            return;
+        }
+        int[] currentDepth = depth.get();
+        int taskDepth = currentDepth[0];
+        // Entry sets of UIDefaults contain the raw values, hence lazy values aren't resolved by copying.
+        Map<Object, Object> before = new HashMap<>(target);
+        long allocationStart = AllocationCounter.currentThreadAllocatedBytes();
+        for (TaskMetricsListener listener : enabledListeners) {
+            listener.taskStarted(task.getClass(), taskDepth);
+        }
+        long start = System.nanoTime();
+        currentDepth[0]++;
+        try {
+            action.run();
+        } finally {
+            currentDepth[0]--;
+        }
+        long wallTime = System.nanoTime() - start;
+        long allocationEnd = AllocationCounter.currentThreadAllocatedBytes();
+        long allocated = allocationStart >= 0 && allocationEnd >= 0 ? allocationEnd - allocationStart : -1;
+
+        int keysTouched = 0;
+        for (Map.Entry<Object, Object> entry : target.entrySet()) {
+            if (before.remove(entry.getKey()) != entry.getValue()) keysTouched++;
+        }
+        keysTouched += before.size();
+
+        String themeName = currentTheme != null ? currentTheme.getName() : null;
+        TaskMetrics metrics =
+                new TaskMetrics(task.getClass(), themeName, taskDepth, wallTime, allocated, keysTouched);
+        for (TaskMetricsListener listener : enabledListeners) {
+            listener.taskFinished(metrics);
+        }
+    }
+
+    private static List<TaskMetricsListener> getEnabledListeners() {
+        List<TaskMetricsListener> enabledListeners = null;
+        for (TaskMetricsListener listener : listeners) {
+            if (!listener.isEnabled()) continue;
+            if (enabledListeners == null) enabledListeners = new ArrayList<>(listeners.size());
+            enabledListeners.add(listener);
+        }
+        return enabledListeners != null ? enabledListeners : Collections.emptyList();
+    }
+
+    private static void registerFlightRecorderListener() {
+        try {
+            Class<?> listenerClass = Class.forName(FLIGHT_RECORDER_LISTENER);
+            addListener((TaskMetricsListener) listenerClass.getDeclaredConstructor().newInstance());
+        } catch (final ClassNotFoundException ignored) {
+            // The listener is only available on Java 11 and above.
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.FINE, "Could not register flight recorder events. " + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Isolates the usage of com.sun.management which isn't available on every jvm.
+     */
+    private static final class AllocationCounter {
+
+        private static final com.sun.management.ThreadMXBean threadBean = createThreadBean();
+
+        private static com.sun.management.ThreadMXBean createThreadBean() {
+            try {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean
+                        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                    return (com.sun.management.ThreadMXBean) bean;
+                }
+            } catch (final LinkageError ignored) {
+            }
+            return null;
+        }
+
+        private static long currentThreadAllocatedBytes() {
+            if (threadBean == null || !threadBean.isThreadAllocatedMemoryEnabled()) return -1;
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
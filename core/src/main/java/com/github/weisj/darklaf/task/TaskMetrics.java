@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.task;
+
+/**
+ * Measurements of a single run of a {@link DefaultsInitTask} or {@link DefaultsAdjustmentTask}.
+ *
+ * @author Jannis Weis
+ * @see TaskMetricsListener
+ */
+public final class TaskMetrics {
+
+    private final Class<?> taskClass;
+    private final String themeName;
+    private final int depth;
+    private final long wallTimeNanos;
+    private final long allocatedBytes;
+    private final int keysTouched;
+
+    TaskMetrics(final Class<?> taskClass, final String themeName, final int depth, final long wallTimeNanos,
+            final long allocatedBytes, final int keysTouched) {
+        this.taskClass = taskClass;
+        this.themeName = themeName;
+        this.depth = depth;
+        this.wallTimeNanos = wallTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.keysTouched = keysTouched;
+    }
+
+    /**
+     * The class of the task.
+     *
+     * @return the task class.
+     */
+    public Class<?> getTaskClass() {
+        return taskClass;
+    }
+
+    /**
+     * The name of the theme the task was run for.
+     *
+     * @return the theme name.
+     */
+    public String getThemeName() {
+        return themeName;
+    }
+
+    /**
+     * The nesting depth of the task. Tasks run directly by the LaF have depth 0. Tasks run by another
+     * task have a depth greater than 0. The measurements of a task include the ones of its nested tasks.
+     *
+     * @return the nesting depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * The wall clock time the task took.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * The number of bytes allocated by the thread while running the task.
+     *
+     * @return the allocated bytes or -1 if allocation measurement isn't supported by the jvm.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * The number of keys which were added, replaced or removed by the task.
+     *
+     * @return the number of touched keys.
+     */
+    public int getKeysTouched() {
+        return keysTouched;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetrics{" + "task=" + taskClass.getName() + ", theme=" + themeName + ", depth=" + depth
+                + ", wallTimeNanos=" + wallTimeNanos + ", allocatedBytes=" + allocatedBytes + ", keysTouched="
+                + keysTouched + '}';
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.task;
+
+import java.util.EventListener;
+
+/**
+ * Listener which receives the {@link TaskMetrics} of the tasks run while computing the defaults of
+ * the LaF.
+ *
+ * @author Jannis Weis
+ * @see TaskInstrumentation#addListener(TaskMetricsListener)
+ */
+public interface TaskMetricsListener extends EventListener {
+
+    /**
+     * Called right before a task is run. Every call is followed by a call to
+     * {@link #taskFinished(TaskMetrics)} for the same task on the same thread. Tasks may run other
+     * tasks, hence calls for nested tasks may occur in between.
+     *
+     * @param taskClass the class of the task.
+     * @param depth the nesting depth of the task.
+     */
+    default void taskStarted(final Class<?> taskClass, final int depth) {}
+
+    /**
+     * Called after a task has finished.
+     *
+     * @param metrics the metrics of the task.
+     */
+    void taskFinished(final TaskMetrics metrics);
+
+    /**
+     * Returns whether the listener currently wants to receive metrics. Tasks are only measured if at
+     * least one listener is enabled.
+     *
+     * @return true if enabled.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
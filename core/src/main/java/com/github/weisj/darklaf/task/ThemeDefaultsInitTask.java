@@ -22,13 +22,17 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.PropertyBatch;
 import com.github.weisj.darklaf.PropertyLoader;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.theme.Theme;
@@ -37,6 +41,8 @@ import com.github.weisj.darklaf.util.SystemInfo;
 
 public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
+    public static final String UI_PROPERTIES_PATH = "properties/ui/";
+    public static final String ICON_PROPERTIES_PATH = "properties/icons/";
     private static final String GLOBAL_PREFIX = "global.";
     private static final String MAC_OS_MENU_BAR_KEY = "apple.laf.useScreenMenuBar";
     private static final String[] UI_PROPERTIES = new String[] {"borders", "button", "cell", "checkBox", "colorChooser",
@@ -56,6 +62,24 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
 
+    /**
+     * Returns the names of the component property files located in {@link #UI_PROPERTIES_PATH}.
+     *
+     * @return the names of the property files.
+     */
+    public static List<String> getUIPropertyFiles() {
+        return Collections.unmodifiableList(Arrays.asList(UI_PROPERTIES));
+    }
+
+    /**
+     * Returns the names of the icon property files located in {@link #ICON_PROPERTIES_PATH}.
+     *
+     * @return the names of the property files.
+     */
+    public static List<String> getIconPropertyFiles() {
+        return Collections.unmodifiableList(Arrays.asList(ICON_PROPERTIES));
+    }
+
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         loadThemeDefaults(currentTheme, defaults);
@@ -71,13 +95,13 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
          * User preferences need to be applied here so changes are applied to all components that use the
          * property.
          */
-        userPreferenceAdjustment.run(currentTheme, uiProps);
+        TaskInstrumentation.run(userPreferenceAdjustment, currentTheme, uiProps);
 
         /*
          * Adjust the accent/selection colors.
          */
-        accentColorAdjustment.run(currentTheme, uiProps);
-        foregroundGeneration.run(currentTheme, uiProps);
+        TaskInstrumentation.run(accentColorAdjustment, currentTheme, uiProps);
+        TaskInstrumentation.run(foregroundGeneration, currentTheme, uiProps);
 
         initGlobals(currentTheme, defaults, uiProps);
         initUIProperties(currentTheme, defaults, uiProps);
@@ -131,19 +155,13 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     }
 
     private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
-        for (String property : UI_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/ui/"),
-                    uiProps, defaults);
-        }
+        PropertyBatch.load(DarkLaf.class, UI_PROPERTIES_PATH, UI_PROPERTIES).putProperties(uiProps, defaults);
         currentTheme.customizeUIProperties(uiProps, defaults);
     }
 
     private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         currentTheme.loadIconTheme(uiProps, defaults);
-        for (String property : ICON_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/icons/"),
-                    uiProps, defaults);
-        }
+        PropertyBatch.load(DarkLaf.class, ICON_PROPERTIES_PATH, ICON_PROPERTIES).putProperties(uiProps, defaults);
         currentTheme.customizeIconTheme(uiProps, defaults);
     }
 
@@ -31,7 +31,7 @@ public class UserInitTask implements DefaultsInitTask {
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         for (DefaultsInitTask task : LafManager.getUserInitTasks()) {
-            task.run(currentTheme, defaults);
+            TaskInstrumentation.run(task, currentTheme, defaults);
         }
     }
 }
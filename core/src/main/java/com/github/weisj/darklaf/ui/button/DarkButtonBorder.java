@@ -29,6 +29,7 @@ import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.UIResource;
 
 import com.github.weisj.darklaf.graphics.GraphicsContext;
+import com.github.weisj.darklaf.graphics.NinePatchCache;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.util.AlignmentExt;
 import com.github.weisj.darklaf.util.DarkUIUtil;
@@ -105,13 +106,27 @@ public class DarkButtonBorder implements Border, UIResource {
             return;
         }
         Graphics2D g2 = (Graphics2D) g;
-        g2.translate(x, y);
-
         int arc = getArc(c);
         int focusArc = getFocusArc(c);
-        GraphicsContext config = new GraphicsContext(g);
         AlignmentExt corner = getCornerFlag(c);
+        if (corner == null && NinePatchCache.isEnabled()) {
+            // Buttons which are part of a group paint the focus of their neighbours and can't be cached.
+            boolean focus = paintFocus(c);
+            Object key = NinePatchCache.key(getClass(), focus, getBorderColor(c, focus), arc, focusArc,
+                    getBorderSize(), getShadowSize());
+            if (NinePatchCache.paint(g2, key, x, y, width, height, getNinePatchEdges(arc, focusArc),
+                    (gp, w, h) -> paintBorder(gp, c, w, h, arc, focusArc, null))) {
+                return;
+            }
+        }
+        g2.translate(x, y);
+        paintBorder(g2, c, width, height, arc, focusArc, corner);
+        g2.translate(-x, -y);
+    }
 
+    protected void paintBorder(final Graphics2D g2, final Component c, final int width, final int height,
+            final int arc, final int focusArc, final AlignmentExt corner) {
+        GraphicsContext config = new GraphicsContext(g2);
         boolean paintShadow = showDropShadow(corner);
         boolean focus = paintFocus(c);
         int shadowHeight = paintShadow ? getShadowSize() : 0;
@@ -133,10 +148,10 @@ public class DarkButtonBorder implements Border, UIResource {
         int fw = width - focusIns.left - focusIns.right;
         int fh = by + bh + borderSize - focusIns.top - focusIns.bottom;
 
-        if (paintFocus(c)) {
-            g.translate(fx, fy);
+        if (focus) {
+            g2.translate(fx, fy);
             PaintUtil.paintFocusBorder(g2, fw, fh, focusArc, borderSize);
-            g.translate(-fx, -fy);
+            g2.translate(-fx, -fy);
         }
 
         g2.setColor(getBorderColor(c, focus));
@@ -147,6 +162,15 @@ public class DarkButtonBorder implements Border, UIResource {
         config.restore();
     }
 
+    /*
+     * The corners which contain the rounded parts of the border, the focus outline and the shadow.
+     */
+    protected Insets getNinePatchEdges(final int arc, final int focusArc) {
+        int borderSize = getBorderSize();
+        int size = borderSize + (Math.max(arc, focusArc) + 1) / 2 + 1;
+        return new Insets(size, size, size + Math.max(borderSize, getShadowSize()), size);
+    }
+
     protected void paintNeighbourFocus(final Graphics2D g2, final Component c, final int width, final int height) {
         JComponent left = ButtonConstants.getNeighbour(DarkButtonUI.KEY_LEFT_NEIGHBOUR, c);
         boolean paintLeft = DarkUIUtil.hasFocus(left);
@@ -154,7 +154,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, GraphicsContext.CLIP);
         AbstractButton b = (AbstractButton) c;
 
         prepareDelegate(b);
@@ -28,6 +28,7 @@ import javax.swing.border.Border;
 import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.UIResource;
 
+import com.github.weisj.darklaf.graphics.NinePatchCache;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 
@@ -77,13 +78,14 @@ public class DarkComboBoxBorder implements Border, UIResource {
         Color borderColor = getBorderColor(c);
 
         if (!isCellEditor) {
-            if (ui.getHasFocus()) {
-                PaintUtil.paintFocusBorder(g, width, height, arcSize, borderSize);
-                g.setColor(focusBorderColor);
-            } else {
-                g.setColor(borderColor);
+            boolean focus = ui.getHasFocus();
+            Object key = NinePatchCache.isEnabled()
+                    ? NinePatchCache.key(getClass(), focus, borderColor, focusBorderColor, arcSize, borderSize)
+                    : null;
+            if (key == null || !NinePatchCache.paint(g, key, 0, 0, width, height, getNinePatchEdges(),
+                    (gp, w, h) -> paintBorder(gp, w, h, focus, borderColor))) {
+                paintBorder(g, width, height, focus, borderColor);
             }
-            PaintUtil.paintLineBorder(g, bSize, bSize, width - 2 * bSize, height - 2 * bSize, arcSize);
         } else {
             paintCellBorder(c, width, height, isTableCellEditor, g, borderColor);
         }
@@ -99,6 +101,25 @@ public class DarkComboBoxBorder implements Border, UIResource {
         g.translate(-x, -y);
     }
 
+    protected void paintBorder(final Graphics2D g, final int width, final int height, final boolean focus,
+            final Color borderColor) {
+        if (focus) {
+            PaintUtil.paintFocusBorder(g, width, height, arcSize, borderSize);
+            g.setColor(focusBorderColor);
+        } else {
+            g.setColor(borderColor);
+        }
+        PaintUtil.paintLineBorder(g, borderSize, borderSize, width - 2 * borderSize, height - 2 * borderSize, arcSize);
+    }
+
+    /*
+     * The corners which contain the rounded parts of the border and the focus outline.
+     */
+    protected Insets getNinePatchEdges() {
+        int size = borderSize + (arcSize + 1) / 2 + 1;
+        return new Insets(size, size, size, size);
+    }
+
     protected void paintCellBorder(final Component c, final int width, final int height,
             final boolean isTableCellEditor, final Graphics2D g, final Color borderColor) {
         g.setColor(borderColor);
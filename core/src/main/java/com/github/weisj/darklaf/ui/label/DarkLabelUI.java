@@ -69,7 +69,7 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, GraphicsContext.CLIP);
         JLabel label = (JLabel) c;
         String text = label.getText();
         Icon icon = getIcon(label);
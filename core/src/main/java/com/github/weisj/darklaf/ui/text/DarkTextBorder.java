@@ -30,6 +30,7 @@ import javax.swing.text.JTextComponent;
 
 import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
+import com.github.weisj.darklaf.graphics.NinePatchCache;
 import com.github.weisj.darklaf.graphics.Outline;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.util.DarkUIUtil;
@@ -101,18 +102,41 @@ public class DarkTextBorder implements Border, UIResource {
         boolean warning = !error && hasWarning(c);
 
         Graphics2D g = (Graphics2D) g2;
-        g.translate(x, y);
-        GraphicsContext config = GraphicsUtil.setupStrokePainting(g);
         int arcSize = getArcSize(c);
         int focusArcSize = getFocusArcSize(c);
+        Color color = getBorderColor(focus, error, warning, editable, c.isEnabled());
+        if (NinePatchCache.isEnabled()) {
+            Object key = NinePatchCache.key(getClass(), c.hasFocus(), editable, error, warning, color, arcSize,
+                    focusArcSize, borderSize);
+            if (NinePatchCache.paint(g, key, x, y, width, height, getNinePatchEdges(arcSize, focusArcSize),
+                    (gp, w, h) -> paintBorder(gp, c, w, h, editable, error, warning, color, arcSize, focusArcSize))) {
+                return;
+            }
+        }
+        g.translate(x, y);
+        paintBorder(g, c, width, height, editable, error, warning, color, arcSize, focusArcSize);
+        g.translate(-x, -y);
+    }
+
+    protected void paintBorder(final Graphics2D g, final Component c, final int width, final int height,
+            final boolean editable, final boolean error, final boolean warning, final Color color, final int arcSize,
+            final int focusArcSize) {
+        GraphicsContext config = GraphicsUtil.setupStrokePainting(g);
         paintFocus(g, c, width, height, editable, error, warning, focusArcSize);
 
-        g.setColor(getBorderColor(focus, error, warning, editable, c.isEnabled()));
+        g.setColor(color);
         PaintUtil.paintLineBorder(g, borderSize, borderSize, width - 2 * borderSize, height - 2 * borderSize, arcSize);
-        g.translate(-x, -y);
         config.restore();
     }
 
+    /*
+     * The corners which contain the rounded parts of the border and the focus outline.
+     */
+    protected Insets getNinePatchEdges(final int arcSize, final int focusArcSize) {
+        int size = borderSize + (Math.max(arcSize, focusArcSize) + 1) / 2 + 1;
+        return new Insets(size, size, size, size);
+    }
+
     public void paintFocus(final Graphics2D g, final Component c, final int width, final int height,
             final boolean editable, final boolean error, final boolean warning, final int focusArcSize) {
         if (error) {
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import jdk.jfr.*;
+
+/**
+ * Emits {@link TaskMetrics} as flight recorder events. Registered by {@link TaskInstrumentation} if
+ * the jvm supports the flight recorder.
+ *
+ * @author Jannis Weis
+ */
+final class JfrTaskMetricsListener implements TaskMetricsListener {
+
+    private final EventType eventType = EventType.getEventType(DefaultsTaskEvent.class);
+    // Tasks may run nested tasks. The events of the currently running tasks form a stack.
+    private final ThreadLocal<Deque<DefaultsTaskEvent>> runningEvents = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public boolean isEnabled() {
+        return eventType.isEnabled();
+    }
+
+    @Override
+    public void taskStarted(final Class<?> taskClass, final int depth) {
+        DefaultsTaskEvent event = new DefaultsTaskEvent();
+        event.begin();
+        runningEvents.get().push(event);
+    }
+
+    @Override
+    public void taskFinished(final TaskMetrics metrics) {
+        DefaultsTaskEvent event = runningEvents.get().poll();
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.task = metrics.getTaskClass().getName();
+        event.theme = metrics.getThemeName();
+        event.depth = metrics.getDepth();
+        event.wallTime = metrics.getWallTimeNanos();
+        event.allocated = metrics.getAllocatedBytes();
+        event.keysTouched = metrics.getKeysTouched();
+        event.commit();
+    }
+
+    @Name("com.github.weisj.darklaf.DefaultsTask")
+    @Label("Defaults Task")
+    @Category({"Darklaf", "Installation"})
+    @Description("A task run while computing the ui defaults")
+    @StackTrace(false)
+    static final class DefaultsTaskEvent extends Event {
+
+        @Label("Task")
+        String task;
+
+        @Label("Theme")
+        String theme;
+
+        @Label("Depth")
+        int depth;
+
+        @Label("Wall Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long wallTime;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+
+        @Label("Keys Touched")
+        int keysTouched;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+
+import javax.swing.*;
+import javax.swing.plaf.ColorUIResource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.Theme;
+
+public class IncrementalLafUpdateTest {
+
+    private static UIDefaults createDefaults() {
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("background", new ColorUIResource(Color.WHITE));
+        defaults.put("Button.background", new ColorUIResource(Color.WHITE));
+        defaults.put("ArrowButton.foreground", new ColorUIResource(Color.BLACK));
+        defaults.put("Label.foreground", new ColorUIResource(Color.BLACK));
+        defaults.put("Panel.background", new ColorUIResource(Color.WHITE));
+        return defaults;
+    }
+
+    @Test
+    public void testUnchangedDefaults() {
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), createDefaults());
+        Assertions.assertFalse(update.isAffected("ButtonUI"));
+        Assertions.assertFalse(update.isAffected("LabelUI"));
+    }
+
+    @Test
+    public void testGroupChange() {
+        UIDefaults updated = createDefaults();
+        updated.put("Label.foreground", new ColorUIResource(Color.RED));
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), updated);
+        Assertions.assertTrue(update.isAffected("LabelUI"));
+        Assertions.assertTrue(update.isAffected("TabFrameTabLabelUI"));
+        Assertions.assertFalse(update.isAffected("PanelUI"));
+        Assertions.assertFalse(update.isAffected("ButtonUI"));
+    }
+
+    @Test
+    public void testDependenciesAreUpdated() {
+        UIDefaults updated = createDefaults();
+        updated.put("ArrowButton.foreground", new ColorUIResource(Color.RED));
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), updated);
+        Assertions.assertTrue(update.isAffected("ComboBoxUI"));
+        Assertions.assertTrue(update.isAffected("SpinnerUI"));
+        Assertions.assertFalse(update.isAffected("ButtonUI"));
+        Assertions.assertFalse(update.isAffected("LabelUI"));
+    }
+
+    @Test
+    public void testDependenciesAreTransitive() {
+        UIDefaults updated = createDefaults();
+        updated.put("Button.background", new ColorUIResource(Color.RED));
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), updated);
+        Assertions.assertTrue(update.isAffected("ButtonUI"));
+        Assertions.assertTrue(update.isAffected("ToggleButtonUI"));
+        Assertions.assertTrue(update.isAffected("CheckBoxUI"));
+        Assertions.assertTrue(update.isAffected("TristateCheckBoxMenuItemUI"));
+        Assertions.assertFalse(update.isAffected("ArrowButtonUI"));
+        Assertions.assertFalse(update.isAffected("MenuItemUI"));
+    }
+
+    @Test
+    public void testGlobalChangeAffectsAllComponents() {
+        UIDefaults updated = createDefaults();
+        updated.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), updated);
+        Assertions.assertTrue(update.isAffected("LabelUI"));
+        Assertions.assertTrue(update.isAffected("PanelUI"));
+        Assertions.assertTrue(update.isAffected("ButtonUI"));
+    }
+
+    @Test
+    public void testUngroupedColorsOnlyAffectTheirConsumers() {
+        UIDefaults updated = createDefaults();
+        updated.put("background", new ColorUIResource(Color.RED));
+        updated.put("textForeground", new ColorUIResource(Color.RED));
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(createDefaults(), updated);
+        Assertions.assertTrue(update.isAffected("EditorPaneUI"));
+        Assertions.assertTrue(update.isAffected("TextPaneUI"));
+        Assertions.assertFalse(update.isAffected("LabelUI"));
+        Assertions.assertFalse(update.isAffected("PanelUI"));
+    }
+
+    @Test
+    public void testThemeSwitchIsPartial() {
+        UIDefaults intelliJ = createThemeDefaults(new IntelliJTheme());
+        UIDefaults darcula = createThemeDefaults(new DarculaTheme());
+        Assertions.assertNotEquals(intelliJ.get("background"), darcula.get("background"));
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(intelliJ, darcula);
+        Assertions.assertTrue(update.isAffected("ButtonUI"));
+        Assertions.assertTrue(update.isAffected("PanelUI"));
+        // Groups without any theme dependent values e.g. those of third party components.
+        Assertions.assertFalse(update.isAffected("CustomComponentUI"));
+    }
+
+    private static UIDefaults createThemeDefaults(final Theme theme) {
+        DarkLaf laf = new DarkLaf(true);
+        laf.setTheme(theme);
+        return laf.getDefaults();
+    }
+
+    @Test
+    public void testUngroupedLazyValuesDontAffectAllComponents() {
+        UIDefaults current = createDefaults();
+        UIDefaults updated = createDefaults();
+        current.put("lazyValue", (UIDefaults.LazyValue) table -> Color.WHITE);
+        updated.put("lazyValue", (UIDefaults.LazyValue) table -> Color.WHITE);
+        IncrementalLafUpdate update = IncrementalLafUpdate.computeChanges(current, updated);
+        Assertions.assertFalse(update.isAffected("LabelUI"));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.OneDarkTheme;
+
+public class PreloadedThemesTest {
+
+    @AfterEach
+    public void cleanup() {
+        LafManager.clearPreloadedThemes();
+    }
+
+    @Test
+    public void testOnlyRecentPreloadsAreKept() {
+        CompletableFuture<Void> evicted = LafManager.preloadTheme(new IntelliJTheme());
+        LafManager.preloadTheme(new DarculaTheme());
+        LafManager.preloadTheme(new OneDarkTheme());
+        Assertions.assertEquals(2, LafManager.getPreloadedThemeCount());
+        Assertions.assertTrue(evicted.isDone());
+    }
+
+    @Test
+    public void testEqualThemesSharePreload() {
+        LafManager.preloadTheme(new DarculaTheme());
+        LafManager.preloadTheme(new DarculaTheme());
+        Assertions.assertEquals(1, LafManager.getPreloadedThemeCount());
+    }
+}
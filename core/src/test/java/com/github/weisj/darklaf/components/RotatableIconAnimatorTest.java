@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.icons.RotatableIcon;
+
+public class RotatableIconAnimatorTest {
+
+    @Test
+    public void testAnimatorsShareTimer() {
+        RotatableIconAnimator first = createAnimator(101);
+        RotatableIconAnimator second = createAnimator(101);
+        RotatableIconAnimator other = createAnimator(102);
+        try {
+            first.start();
+            second.start();
+            other.start();
+            Timer timer = RotatableIconAnimator.getSharedTimer(101);
+            Assertions.assertNotNull(timer);
+            Assertions.assertTrue(timer.isRunning());
+            Assertions.assertNotSame(timer, RotatableIconAnimator.getSharedTimer(102));
+            // Starting an animator twice doesn't register it twice.
+            first.start();
+            first.stop();
+            Assertions.assertTrue(timer.isRunning());
+        } finally {
+            first.stop();
+            second.stop();
+            other.stop();
+        }
+    }
+
+    @Test
+    public void testStoppingLastAnimatorStopsTimer() {
+        RotatableIconAnimator first = createAnimator(103);
+        RotatableIconAnimator second = createAnimator(103);
+        first.start();
+        second.start();
+        Timer timer = RotatableIconAnimator.getSharedTimer(103);
+        first.stop();
+        Assertions.assertFalse(first.isRunning());
+        Assertions.assertTrue(timer.isRunning());
+        second.stop();
+        Assertions.assertFalse(timer.isRunning());
+        Assertions.assertNull(RotatableIconAnimator.getSharedTimer(103));
+    }
+
+    @Test
+    public void testChangingDelayMovesAnimator() {
+        RotatableIconAnimator animator = createAnimator(104);
+        animator.start();
+        animator.setDelay(105);
+        try {
+            Assertions.assertTrue(animator.isRunning());
+            Assertions.assertNull(RotatableIconAnimator.getSharedTimer(104));
+            Assertions.assertNotNull(RotatableIconAnimator.getSharedTimer(105));
+        } finally {
+            animator.stop();
+        }
+    }
+
+    @Test
+    public void testNonRepeatingAnimatorStopsAfterOneTick() throws Exception {
+        RotatableIconAnimator animator = createAnimator(10);
+        RotatableIconAnimator repeating = createAnimator(10);
+        AtomicInteger ticks = new AtomicInteger();
+        CountDownLatch repeatingTicks = new CountDownLatch(3);
+        animator.addActionListener(e -> ticks.incrementAndGet());
+        repeating.addActionListener(e -> repeatingTicks.countDown());
+        animator.setRepeats(false);
+        try {
+            animator.start();
+            repeating.start();
+            Assertions.assertTrue(repeatingTicks.await(10, TimeUnit.SECONDS));
+            SwingUtilities.invokeAndWait(() -> {
+                Assertions.assertEquals(1, ticks.get());
+                Assertions.assertFalse(animator.isRunning());
+                Assertions.assertTrue(repeating.isRunning());
+            });
+        } finally {
+            animator.stop();
+            repeating.stop();
+        }
+    }
+
+    private static RotatableIconAnimator createAnimator(final int delay) {
+        RotatableIconAnimator animator = new RotatableIconAnimator(8, new RotatableIcon(), null);
+        animator.setDelay(delay);
+        return animator;
+    }
+}
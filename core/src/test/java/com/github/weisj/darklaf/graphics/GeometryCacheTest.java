@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.util.Scale;
+
+public class GeometryCacheTest {
+
+    @AfterEach
+    public void cleanup() {
+        GeometryCache.clear();
+    }
+
+    @Test
+    public void testKeysDistinguishShapes() {
+        GeometryCache.clear();
+        Shape outline = GeometryCache.getOutline(20, 10, 4, 1, false);
+        Assertions.assertSame(outline, GeometryCache.getOutline(20, 10, 4, 1, false));
+        Assertions.assertNotSame(outline, GeometryCache.getOutline(20, 10, 5, 1, false));
+        Assertions.assertNotSame(outline, GeometryCache.getOutline(20, 10, 4, 1.5f, false));
+        Assertions.assertNotSame(outline, GeometryCache.getOutline(20, 10, 4, 1, true));
+        Assertions.assertNotSame(outline, GeometryCache.getOutline(20, 11, 4, 1, false));
+        Assertions.assertNotSame(outline, GeometryCache.getOval(20, 10, 1));
+        Assertions.assertEquals(6, GeometryCache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        GeometryCache.clear();
+        Shape first = GeometryCache.getOutline(1, 1, 0, 1, false);
+        Shape second = GeometryCache.getOutline(2, 2, 0, 1, false);
+        for (int i = 0; i < 1000; i++) {
+            GeometryCache.getOutline(100 + i, 10, 0, 1, false);
+            // Keep the first shape the most recently used one.
+            GeometryCache.getOutline(1, 1, 0, 1, false);
+        }
+        Assertions.assertTrue(GeometryCache.size() <= 128);
+        Assertions.assertSame(first, GeometryCache.getOutline(1, 1, 0, 1, false));
+        Assertions.assertNotSame(second, GeometryCache.getOutline(2, 2, 0, 1, false));
+    }
+
+    @Test
+    public void testOutlineMatchesUncachedShape() {
+        for (float arc : new float[] {0, 3, 8}) {
+            for (float bw : new float[] {1, 1.5f, 2}) {
+                for (boolean inside : new boolean[] {true, false}) {
+                    assertSamePath(createOutline(23, 17, arc, bw, inside),
+                            GeometryCache.getOutline(23, 17, arc, bw, inside));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOvalMatchesUncachedShape() {
+        float x = 3;
+        float y = 2;
+        Path2D expected = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+        expected.append(new Ellipse2D.Float(x - 2, y - 2, 16 + 2 * 2, 12 + 2 * 2), false);
+        expected.append(new Ellipse2D.Float(x, y, 16, 12), false);
+        Shape oval = AffineTransform.getTranslateInstance(x, y)
+                .createTransformedShape(GeometryCache.getOval(16, 12, 2));
+        assertSamePixels(expected, oval);
+    }
+
+    /*
+     * The shape PaintUtil painted before the shapes were cached.
+     */
+    private static Shape createOutline(final float width, final float height, final float arc, final float bw,
+            final boolean inside) {
+        Shape outerRect;
+        Shape innerRect;
+        if (Scale.equalWithError(arc, 0)) {
+            outerRect = new Rectangle2D.Float(0, 0, width, height);
+            innerRect = new Rectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw);
+        } else {
+            float outerArc = inside ? arc : arc + bw;
+            float innerArc = inside ? arc - bw : arc;
+            outerRect = new RoundRectangle2D.Float(0, 0, width, height, outerArc, outerArc);
+            innerRect = new RoundRectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw, innerArc, innerArc);
+        }
+        Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+        path.append(outerRect, false);
+        path.append(innerRect, false);
+        return path;
+    }
+
+    private static void assertSamePath(final Shape expected, final Shape actual) {
+        PathIterator expectedIterator = expected.getPathIterator(null);
+        PathIterator actualIterator = actual.getPathIterator(null);
+        Assertions.assertEquals(expectedIterator.getWindingRule(), actualIterator.getWindingRule());
+        float[] expectedCoords = new float[6];
+        float[] actualCoords = new float[6];
+        while (!expectedIterator.isDone()) {
+            Assertions.assertFalse(actualIterator.isDone(), "Path is too short");
+            Assertions.assertEquals(expectedIterator.currentSegment(expectedCoords),
+                    actualIterator.currentSegment(actualCoords));
+            Assertions.assertArrayEquals(expectedCoords, actualCoords);
+            expectedIterator.next();
+            actualIterator.next();
+        }
+        Assertions.assertTrue(actualIterator.isDone(), "Path is too long");
+    }
+
+    private static void assertSamePixels(final Shape expected, final Shape actual) {
+        BufferedImage expectedImage = paint(expected);
+        BufferedImage actualImage = paint(actual);
+        for (int x = 0; x < expectedImage.getWidth(); x++) {
+            for (int y = 0; y < expectedImage.getHeight(); y++) {
+                Assertions.assertEquals(expectedImage.getRGB(x, y), actualImage.getRGB(x, y),
+                        "Pixel differs at " + x + "," + y);
+            }
+        }
+    }
+
+    private static BufferedImage paint(final Shape shape) {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.BLACK);
+        g.fill(shape);
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.border.DropShadowBorder;
+
+public class DropShadowBorderTest {
+
+    private static final int SIZE = 60;
+
+    @Test
+    public void testCornerMatchesConvolution() {
+        // Sizes for which the float kernel of ConvolveOp doesn't accumulate rounding errors.
+        for (int shadowSize : new int[] {2, 3, 4, 8}) {
+            DropShadowBorder border = new DropShadowBorder(Color.BLACK, shadowSize, 0.5f, 12, true, true, true, true);
+            BufferedImage painted = paint(border, 1);
+            BufferedImage expected = createConvolvedCorner(shadowSize, 0.5f, 12);
+            for (int y = 0; y < shadowSize; y++) {
+                for (int x = 0; x < shadowSize; x++) {
+                    int expectedAlpha = expected.getRGB(x, y) >>> 24;
+                    int actualAlpha = painted.getRGB(x, y) >>> 24;
+                    Assertions.assertEquals(expectedAlpha, actualAlpha,
+                            "Pixel (" + x + "," + y + ") differs for shadow size " + shadowSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCornerSizeIsRespected() {
+        BufferedImage round = paint(new DropShadowBorder(Color.BLACK, 5, 0.5f, 12, true, true, true, true), 1);
+        BufferedImage sharp = paint(new DropShadowBorder(Color.BLACK, 5, 0.5f, 0, true, true, true, true), 1);
+        Assertions.assertNotEquals(round.getRGB(4, 4), sharp.getRGB(4, 4));
+    }
+
+    @Test
+    public void testShadowIsPaintedAtDeviceScale() {
+        DropShadowBorder border = new DropShadowBorder(Color.BLACK, 5, 0.5f, 12, true, true, true, true);
+        BufferedImage image = paint(border, 2);
+        // The left shadow is a gradient over the full device width of the border.
+        int y = image.getHeight() / 2;
+        int previous = -1;
+        for (int x = 0; x < 2 * border.getShadowSize(); x += 2) {
+            int alpha = image.getRGB(x, y) >>> 24;
+            Assertions.assertTrue(alpha >= previous, "Shadow should grow towards the component at x=" + x);
+            previous = alpha;
+        }
+        Assertions.assertTrue(previous > 0);
+    }
+
+    private static BufferedImage paint(final DropShadowBorder border, final double scale) {
+        BufferedImage image =
+                new BufferedImage((int) (SIZE * scale), (int) (SIZE * scale), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        border.paintBorder(null, g, 0, 0, SIZE, SIZE);
+        g.dispose();
+        return image;
+    }
+
+    /*
+     * The top left corner as created by a full convolution with a box kernel.
+     */
+    private static BufferedImage createConvolvedCorner(final int shadowSize, final float opacity,
+            final int cornerSize) {
+        int rectWidth = cornerSize + 1;
+        int imageWidth = rectWidth + 2 * shadowSize;
+        BufferedImage image = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(0, 0, 0, (int) (opacity * 255)));
+        g.translate(shadowSize, shadowSize);
+        g.fill(new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize));
+        g.dispose();
+
+        float[] kernel = new float[shadowSize * shadowSize];
+        Arrays.fill(kernel, 1f / kernel.length);
+        BufferedImage blurred = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D bg = blurred.createGraphics();
+        bg.drawImage(image, new ConvolveOp(new Kernel(shadowSize, shadowSize, kernel)), -(shadowSize / 2),
+                -(shadowSize / 2));
+        bg.dispose();
+        return blurred.getSubimage(1, 1, shadowSize, shadowSize);
+    }
+}
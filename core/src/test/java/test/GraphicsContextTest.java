@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.GraphicsContext;
+
+public class GraphicsContextTest {
+
+    @Test
+    public void testSelectiveRestore() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setColor(Color.RED);
+        g.setClip(0, 0, 5, 5);
+        GraphicsContext context = new GraphicsContext(g, GraphicsContext.CLIP);
+        g.setColor(Color.BLUE);
+        g.setClip(1, 1, 2, 2);
+        context.restore();
+        Assertions.assertEquals(new Rectangle(0, 0, 5, 5), g.getClipBounds());
+        Assertions.assertEquals(Color.BLUE, g.getColor());
+        g.dispose();
+    }
+
+    @Test
+    public void testSingleRenderingHints() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        GraphicsContext context = new GraphicsContext(g, GraphicsContext.NONE);
+        context.saveRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        context.restore();
+        Assertions.assertEquals(RenderingHints.VALUE_ANTIALIAS_OFF,
+                g.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+        Assertions.assertEquals(RenderingHints.VALUE_RENDER_QUALITY,
+                g.getRenderingHint(RenderingHints.KEY_RENDERING));
+        g.dispose();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.DeferredValue;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.PropertyLoader;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+public class LazyValuesTest {
+
+    private boolean lazyValuesEnabled;
+    private boolean incrementalUpdateEnabled;
+
+    @BeforeEach
+    public void setup() {
+        lazyValuesEnabled = PropertyLoader.isLazyValuesEnabled();
+        incrementalUpdateEnabled = LafManager.isIncrementalUpdateEnabled();
+        PropertyLoader.setLazyValuesEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        PropertyLoader.setLazyValuesEnabled(lazyValuesEnabled);
+        LafManager.setIncrementalUpdateEnabled(incrementalUpdateEnabled);
+    }
+
+    @Test
+    public void testLazyValuesAreResolvedOnLookup() {
+        LafManager.install(new IntelliJTheme());
+        Map<Object, DeferredValue<?>> deferred = getDeferredValues();
+        Assertions.assertFalse(deferred.isEmpty());
+        Map.Entry<Object, DeferredValue<?>> entry = deferred.entrySet().iterator().next();
+        Object value = UIManager.get(entry.getKey());
+        Assertions.assertNotNull(value);
+        Assertions.assertTrue(entry.getValue().getType().isInstance(value));
+    }
+
+    @Test
+    public void testIncrementalUpdateDoesNotResolveLazyValues() {
+        LafManager.setIncrementalUpdateEnabled(true);
+        LafManager.install(new IntelliJTheme());
+        Map<Object, DeferredValue<?>> before = getDeferredValues();
+        Set<Object> unresolved = new HashSet<>();
+        for (Map.Entry<Object, DeferredValue<?>> entry : before.entrySet()) {
+            if (!entry.getValue().isResolved()) unresolved.add(entry.getKey());
+        }
+        Assertions.assertFalse(unresolved.isEmpty());
+
+        LafManager.install(new DarculaTheme());
+        Map<Object, DeferredValue<?>> after = getDeferredValues();
+        int retained = 0;
+        for (Map.Entry<Object, DeferredValue<?>> entry : before.entrySet()) {
+            Object key = entry.getKey();
+            if (after.get(key) == entry.getValue()) retained++;
+            if (unresolved.contains(key)) {
+                Assertions.assertFalse(entry.getValue().isResolved(), key.toString());
+            }
+        }
+        // Icons and fonts don't depend on the theme, hence they are kept as is.
+        Assertions.assertTrue(retained > 0);
+    }
+
+    @Test
+    public void testIncrementalUpdateReplacesLazyValuesIfDisabled() {
+        LafManager.setIncrementalUpdateEnabled(true);
+        LafManager.install(new IntelliJTheme());
+        Set<Object> keys = getDeferredValues().keySet();
+        Assertions.assertFalse(keys.isEmpty());
+
+        PropertyLoader.setLazyValuesEnabled(false);
+        LafManager.install(new DarculaTheme());
+        Map<Object, DeferredValue<?>> after = getDeferredValues();
+        Assertions.assertTrue(after.isEmpty(), after.keySet().toString());
+        for (Object key : keys) {
+            Assertions.assertFalse(UIManager.getLookAndFeelDefaults().get(key) instanceof DeferredValue);
+        }
+    }
+
+    private static Map<Object, DeferredValue<?>> getDeferredValues() {
+        Map<Object, DeferredValue<?>> deferred = new HashMap<>();
+        // Entry sets of UIDefaults contain the raw values i.e. lazy values aren't resolved.
+        for (Map.Entry<Object, Object> entry : UIManager.getLookAndFeelDefaults().entrySet()) {
+            if (entry.getValue() instanceof DeferredValue) {
+                deferred.put(entry.getKey(), (DeferredValue<?>) entry.getValue());
+            }
+        }
+        return deferred;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.NinePatchCache;
+
+public class NinePatchCacheTest {
+
+    private static final Insets EDGES = new Insets(6, 6, 6, 6);
+
+    @BeforeEach
+    public void setup() {
+        NinePatchCache.setEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        NinePatchCache.setEnabled(false);
+    }
+
+    @Test
+    public void testStretchedBorderMatchesPaintedBorder() {
+        for (double scale : new double[] {1, 2}) {
+            BufferedImage expected = paint(scale, false);
+            BufferedImage actual = paint(scale, true);
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y),
+                            "Pixel (" + x + "," + y + ") differs at scale " + scale);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTooSmallBorderIsNotCached() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        Assertions.assertFalse(NinePatchCache.paint(g, NinePatchCache.key("small"), 0, 0, 10, 10, EDGES,
+                NinePatchCacheTest::paintBorder));
+        g.dispose();
+    }
+
+    private static BufferedImage paint(final double scale, final boolean cached) {
+        int width = 50;
+        int height = 24;
+        BufferedImage image = new BufferedImage((int) (width * scale) + 4, (int) (height * scale) + 4,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.translate(2, 2);
+        g.scale(scale, scale);
+        if (cached) {
+            Assertions.assertTrue(NinePatchCache.paint(g, NinePatchCache.key("border", Color.RED), 0, 0, width,
+                    height, EDGES, NinePatchCacheTest::paintBorder));
+        } else {
+            paintBorder(g, width, height);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static void paintBorder(final Graphics2D g, final int width, final int height) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g.setColor(Color.RED);
+        g.setStroke(new BasicStroke(2));
+        g.draw(new RoundRectangle2D.Float(1, 1, width - 2, height - 2, 8, 8));
+    }
+}
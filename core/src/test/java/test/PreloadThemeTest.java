@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import javax.swing.*;
+import javax.swing.plaf.metal.MetalLookAndFeel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+
+public class PreloadThemeTest {
+
+    @AfterEach
+    public void cleanup() {
+        LafManager.clearPreloadedThemes();
+    }
+
+    /*
+     * On Windows and Linux Metal is used as the base look and feel and is always created directly.
+     * The detached creation of the system look and feel is therefore only exercised on macOS.
+     */
+    @Test
+    public void testPreloadDoesNotChangeInstalledLaf() throws UnsupportedLookAndFeelException {
+        LookAndFeel installed = new MetalLookAndFeel();
+        UIManager.setLookAndFeel(installed);
+        LafManager.preloadTheme(new DarculaTheme()).join();
+        Assertions.assertSame(installed, UIManager.getLookAndFeel());
+    }
+}
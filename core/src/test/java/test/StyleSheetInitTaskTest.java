@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+
+import javax.swing.*;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.FontUIResource;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.StyleSheet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.task.StyleSheetInitTask;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.Theme;
+
+public class StyleSheetInitTaskTest {
+
+    private static StyleSheet install(final Theme theme) {
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("html.font", new FontUIResource(Font.DIALOG, Font.PLAIN, 12));
+        defaults.put("textForeground", new ColorUIResource(Color.BLACK));
+        defaults.put("hyperlink", new ColorUIResource(Color.BLUE));
+        defaults.put("border", new ColorUIResource(Color.GRAY));
+        defaults.put("borderSecondary", new ColorUIResource(Color.LIGHT_GRAY));
+        new StyleSheetInitTask().run(theme, defaults);
+        return new HTMLEditorKit().getStyleSheet();
+    }
+
+    private static Color getBodyColor(final StyleSheet styleSheet) {
+        return styleSheet.getForeground(styleSheet.getRule("body"));
+    }
+
+    @Test
+    public void testApplicationRulesOverrideThemeRules() {
+        StyleSheet styleSheet = install(new IntelliJTheme());
+        styleSheet.addRule("body { color: #ff0000; }");
+        Assertions.assertEquals(Color.RED, getBodyColor(styleSheet));
+    }
+
+    @Test
+    public void testApplicationRulesDontCarryOver() {
+        Theme theme = new IntelliJTheme();
+        install(theme).addRule("body { color: #ff0000; }");
+        StyleSheet styleSheet = install(theme);
+        Assertions.assertEquals(Color.BLACK, getBodyColor(styleSheet));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.task.DefaultsInitTask;
+import com.github.weisj.darklaf.task.TaskInstrumentation;
+import com.github.weisj.darklaf.task.TaskMetrics;
+import com.github.weisj.darklaf.task.TaskMetricsListener;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.Theme;
+
+public class TaskInstrumentationTest {
+
+    private final RecordingListener listener = new RecordingListener();
+
+    @AfterEach
+    public void cleanup() {
+        TaskInstrumentation.removeListener(listener);
+    }
+
+    @Test
+    public void testListenersReceiveMetrics() {
+        TaskInstrumentation.addListener(listener);
+        Theme theme = new DarculaTheme();
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("Unchanged", "value");
+        defaults.put("Removed", "value");
+        TaskInstrumentation.run(new OuterTask(), theme, defaults);
+
+        Assertions.assertEquals("start OuterTask 0, start InnerTask 1, end InnerTask 1, end OuterTask 0",
+                String.join(", ", listener.events));
+        TaskMetrics inner = listener.metrics.get(0);
+        TaskMetrics outer = listener.metrics.get(1);
+        Assertions.assertEquals(InnerTask.class, inner.getTaskClass());
+        Assertions.assertEquals(OuterTask.class, outer.getTaskClass());
+        Assertions.assertEquals(theme.getName(), outer.getThemeName());
+        Assertions.assertEquals(1, inner.getKeysTouched());
+        // The key of the nested task is counted for the outer task as well.
+        Assertions.assertEquals(3, outer.getKeysTouched());
+        Assertions.assertTrue(inner.getWallTimeNanos() > 0);
+        Assertions.assertTrue(outer.getWallTimeNanos() >= inner.getWallTimeNanos());
+    }
+
+    @Test
+    public void testDisabledListenersAreSkipped() {
+        listener.enabled = false;
+        TaskInstrumentation.addListener(listener);
+        UIDefaults defaults = new UIDefaults();
+        TaskInstrumentation.run(new InnerTask(), new DarculaTheme(), defaults);
+        Assertions.assertTrue(listener.events.isEmpty());
+        Assertions.assertEquals("value", defaults.get("Inner"));
+    }
+
+    private static final class OuterTask implements DefaultsInitTask {
+        @Override
+        public void run(final Theme currentTheme, final UIDefaults defaults) {
+            defaults.put("Outer", "value");
+            defaults.remove("Removed");
+            TaskInstrumentation.run(new InnerTask(), currentTheme, defaults);
+        }
+    }
+
+    private static final class InnerTask implements DefaultsInitTask {
+        @Override
+        public void run(final Theme currentTheme, final UIDefaults defaults) {
+            defaults.put("Inner", "value");
+        }
+    }
+
+    private static final class RecordingListener implements TaskMetricsListener {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<TaskMetrics> metrics = new ArrayList<>();
+        private boolean enabled = true;
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public void taskStarted(final Class<?> taskClass, final int depth) {
+            events.add("start " + taskClass.getSimpleName() + " " + depth);
+        }
+
+        @Override
+        public void taskFinished(final TaskMetrics metrics) {
+            events.add("end " + metrics.getTaskClass().getSimpleName() + " " + metrics.getDepth());
+            this.metrics.add(metrics);
+        }
+    }
+}
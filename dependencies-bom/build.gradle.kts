@@ -41,5 +41,7 @@ dependencies {
         apiv("com.google.auto.service:auto-service-annotations", "auto-service")
         apiv("com.google.auto.service:auto-service", "auto-service")
         apiv("com.github.lgooddatepicker:LGoodDatePicker")
+        apiv("org.openjdk.jmh:jmh-core", "jmh")
+        apiv("org.openjdk.jmh:jmh-generator-annprocess", "jmh")
     }
 }
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.swing.*;
+
+/**
+ * A {@link UIDefaults.LazyValue} which computes its value at most once. Used by the
+ * {@link PropertyLoader} to defer the creation of icons and fonts until they are first requested.
+ *
+ * <p>
+ * As the same instance may be referenced by several keys the computed value is cached, such that all
+ * keys resolve to the same object.
+ *
+ * <p>
+ * A deferred value may carry a source i.e. an immutable description of everything its value is
+ * computed from. Deferred values with equal sources resolve to equal values, hence they can be
+ * compared without being resolved.
+ *
+ * @param <T> the type of the value.
+ * @author Jannis Weis
+ */
+public final class DeferredValue<T> implements UIDefaults.LazyValue {
+
+    private final Class<T> type;
+    private final Object source;
+    private Supplier<T> supplier;
+    private T value;
+
+    public DeferredValue(final Class<T> type, final Supplier<T> supplier) {
+        this(type, null, supplier);
+    }
+
+    /**
+     * Creates a new deferred value.
+     *
+     * @param type the type of the value.
+     * @param source the source the value is computed from or null if unknown. Has to implement
+     *        {@link Object#equals(Object)}.
+     * @param supplier the supplier of the value.
+     */
+    public DeferredValue(final Class<T> type, final Object source, final Supplier<T> supplier) {
+        this.type = type;
+        this.source = source;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the resolved value if the given object is a {@link DeferredValue}. Otherwise the object
+     * itself is returned.
+     *
+     * @param object the object to unwrap.
+     * @return the unwrapped object.
+     */
+    public static Object unwrap(final Object object) {
+        if (object instanceof DeferredValue) return ((DeferredValue<?>) object).get();
+        return object;
+    }
+
+    /**
+     * Returns whether the given object either is of the given type or is a {@link DeferredValue} which
+     * resolves to the given type.
+     *
+     * @param object the object.
+     * @param type the type.
+     * @return true if the object is of the given type.
+     */
+    public static boolean isOfType(final Object object, final Class<?> type) {
+        if (object instanceof DeferredValue) return type.isAssignableFrom(((DeferredValue<?>) object).type);
+        return type.isInstance(object);
+    }
+
+    /**
+     * Returns the source of the given object if it is a {@link DeferredValue} with a known source.
+     * Otherwise the object itself is returned, hence deferred values without a source are only equal to
+     * themselves.
+     *
+     * @param object the object.
+     * @return the source of the object.
+     */
+    public static Object sourceOf(final Object object) {
+        if (object instanceof DeferredValue) {
+            Object source = ((DeferredValue<?>) object).source;
+            return source != null ? source : object;
+        }
+        return object;
+    }
+
+    /**
+     * Returns whether the given objects are known to resolve to equal values. Deferred values are
+     * compared by their sources and aren't resolved. Other objects are compared using
+     * {@link Object#equals(Object)}.
+     *
+     * @param first the first object.
+     * @param second the second object.
+     * @return true if both objects resolve to equal values.
+     */
+    public static boolean isSameValue(final Object first, final Object second) {
+        if (first == second) return true;
+        boolean firstDeferred = first instanceof DeferredValue;
+        boolean secondDeferred = second instanceof DeferredValue;
+        if (firstDeferred != secondDeferred) return false;
+        if (firstDeferred && ((DeferredValue<?>) first).type != ((DeferredValue<?>) second).type) return false;
+        return Objects.equals(sourceOf(first), sourceOf(second));
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public Object getSource() {
+        return source;
+    }
+
+    public synchronized boolean isResolved() {
+        return supplier == null;
+    }
+
+    /**
+     * Creates a new deferred value which applies the given mapper to the value of this deferred value.
+     * The source of the mapped value is unknown.
+     *
+     * @param mapper the mapper.
+     * @return the mapped deferred value.
+     */
+    public DeferredValue<T> map(final Function<T, T> mapper) {
+        return map(null, mapper);
+    }
+
+    /**
+     * Creates a new deferred value which applies the given mapper to the value of this deferred value.
+     *
+     * @param mapperKey identifies the mapping or null if unknown. Has to implement
+     *        {@link Object#equals(Object)}.
+     * @param mapper the mapper.
+     * @return the mapped deferred value.
+     */
+    public DeferredValue<T> map(final Object mapperKey, final Function<T, T> mapper) {
+        Object mappedSource = source != null && mapperKey != null ? Arrays.asList(source, mapperKey) : null;
+        return new DeferredValue<>(type, mappedSource, () -> mapper.apply(get()));
+    }
+
+    public synchronized T get() {
+        if (supplier != null) {
+            value = supplier.get();
+            // Release everything captured by the supplier.
+            supplier = null;
+        }
+        return value;
+    }
+
+    @Override
+    public Object createValue(final UIDefaults table) {
+        return get();
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredValue{type=" + type.getSimpleName() + "}";
+    }
+}
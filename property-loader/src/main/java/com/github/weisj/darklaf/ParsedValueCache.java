@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache for interning immutable values created by the {@link PropertyLoader}. Values are only weakly
+ * referenced. Once a value isn't used anymore (e.g. because no theme referencing it is installed) it
+ * can be collected and its entry gets removed.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class ParsedValueCache<K, V> {
+
+    private final Map<K, ValueReference<K, V>> cache = new HashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * Get the value associated with the key. If no value is present it is created using the given
+     * factory.
+     *
+     * @param key the key.
+     * @param factory the factory used for creating the value.
+     * @return the interned value.
+     */
+    synchronized V get(final K key, final Function<K, V> factory) {
+        expungeStaleEntries();
+        ValueReference<K, V> ref = cache.get(key);
+        V value = ref != null ? ref.get() : null;
+        if (value == null) {
+            value = factory.apply(key);
+            if (value != null) cache.put(key, new ValueReference<>(key, value, queue));
+        }
+        return value;
+    }
+
+    synchronized int size() {
+        expungeStaleEntries();
+        return cache.size();
+    }
+
+    synchronized void clear() {
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        ValueReference<K, V> ref;
+        while ((ref = (ValueReference<K, V>) queue.poll()) != null) {
+            cache.remove(ref.key, ref);
+        }
+    }
+
+    private static final class ValueReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private ValueReference(final K key, final V value, final ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * A set of property files which are loaded together. All files are read and tokenized in parallel on
+ * the common {@link java.util.concurrent.ForkJoinPool}. The files are then parsed one after another in
+ * the order they are given, hence a value which is declared in multiple files is overridden by the last
+ * declaration and values of earlier files see the value which was present when they were parsed (or
+ * a fallback value is skipped if the key is already present).
+ * <p>
+ * Within each file the values are parsed in topological order of their references, such that a
+ * value referenced from the same file is always parsed before the values referencing it. This
+ * removes the forward reference limitation inside a single file without changing which declaration
+ * a reference resolves to.
+ *
+ * @author Jannis Weis
+ */
+public final class PropertyBatch {
+
+    private static final Logger LOGGER = LogUtil.getLogger(PropertyBatch.class);
+
+    private final List<TokenizedFile> files;
+
+    private PropertyBatch(final List<TokenizedFile> files) {
+        this.files = files;
+    }
+
+    /**
+     * Load the given property files.
+     *
+     * @param clazz the class to resolve the files from.
+     * @param path the path of the files relative to the class.
+     * @param names the names of the property files without the .properties extension.
+     * @return the batch of properties.
+     */
+    public static PropertyBatch load(final Class<?> clazz, final String path, final String... names) {
+        // The stream is ordered, hence the files keep the order they are declared in.
+        List<TokenizedFile> files = Arrays.stream(names).parallel()
+                .map(name -> new TokenizedFile(PropertyLoader.loadProperties(clazz, name, path)))
+                .collect(Collectors.toList());
+        return new PropertyBatch(files);
+    }
+
+    /**
+     * Parses the values and puts them into the accumulator.
+     *
+     * @param accumulator the map to put the parsed values into.
+     * @param currentDefaults the current ui defaults.
+     * @see PropertyLoader#putProperties(Properties, Properties, UIDefaults)
+     */
+    public void putProperties(final Map<Object, Object> accumulator, final UIDefaults currentDefaults) {
+        putProperties(accumulator, currentDefaults, IconLoader.get(IconLoader.class));
+    }
+
+    /**
+     * Parses the values and puts them into the accumulator.
+     *
+     * @param accumulator the map to put the parsed values into.
+     * @param currentDefaults the current ui defaults.
+     * @param iconLoader the icon loader.
+     * @see PropertyLoader#putProperties(Properties, Properties, UIDefaults, IconLoader)
+     */
+    public void putProperties(final Map<Object, Object> accumulator, final UIDefaults currentDefaults,
+            final IconLoader iconLoader) {
+        for (TokenizedFile file : files) {
+            PropertyLoader.putProperties(file.values, file.getResolutionOrder(), accumulator, currentDefaults,
+                    iconLoader);
+        }
+    }
+
+    private static final class TokenizedFile {
+        private final Map<Object, Object> values;
+        private final Map<String, String> declaredKeys;
+        private final Map<String, Set<String>> references;
+
+        private TokenizedFile(final Properties properties) {
+            Set<String> keys = properties.stringPropertyNames();
+            values = new LinkedHashMap<>(keys.size());
+            declaredKeys = new LinkedHashMap<>(keys.size());
+            references = new HashMap<>(keys.size());
+            for (String key : keys) {
+                String value = properties.getProperty(key);
+                String referenceFreeKey = PropertyLoader.referenceFreeKey(key);
+                Set<String> refs = new LinkedHashSet<>();
+                PropertyLoader.collectReferences(value, refs::add);
+                values.put(key, value);
+                declaredKeys.put(referenceFreeKey, key);
+                references.put(referenceFreeKey, refs);
+            }
+        }
+
+        /*
+         * Orders the keys such that all keys of this file referenced by a value precede it. Keys
+         * without dependencies keep their order. References to keys of other files resolve to the
+         * values present at the time this file is parsed.
+         */
+        private Set<String> getResolutionOrder() {
+            Set<String> order = new LinkedHashSet<>(declaredKeys.size());
+            Set<String> visiting = new HashSet<>();
+            for (String key : declaredKeys.keySet()) {
+                visit(key, order, visiting);
+            }
+            return order;
+        }
+
+        private void visit(final String referenceFreeKey, final Set<String> order, final Set<String> visiting) {
+            String key = declaredKeys.get(referenceFreeKey);
+            if (key == null || order.contains(key)) return;
+            if (!visiting.add(referenceFreeKey)) {
+                LOGGER.warning("Cyclic reference involving '" + referenceFreeKey + "'.");
+                return;
+            }
+            for (String reference : references.get(referenceFreeKey)) {
+                if (!reference.equals(referenceFreeKey)) visit(reference, order, visiting);
+            }
+            visiting.remove(referenceFreeKey);
+            order.add(key);
+        }
+    }
+}
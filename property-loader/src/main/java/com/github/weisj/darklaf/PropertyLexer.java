@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Allocation and exception free scanning primitives used by the {@link PropertyLoader}. Malformed
+ * input is reported through return values instead of exceptions.
+ */
+final class PropertyLexer {
+
+    private PropertyLexer() {}
+
+    /**
+     * The type of property as determined by the suffix of its key.
+     */
+    enum KeyType {
+        INSETS,
+        LAZY_OBJECT,
+        ACTIVE_OBJECT,
+        FONT,
+        ICON,
+        SIZE,
+        OTHER;
+
+        private static final String FONT_SUFFIX = "font";
+
+        static KeyType of(final String key) {
+            if (key.endsWith("Insets") || key.endsWith(".insets")) return INSETS;
+            if (key.endsWith("Border") || key.endsWith(".border") || key.endsWith("Renderer")) return LAZY_OBJECT;
+            if (key.endsWith(".component") || key.endsWith("Component")) return ACTIVE_OBJECT;
+            if (key.regionMatches(true, key.length() - FONT_SUFFIX.length(), FONT_SUFFIX, 0, FONT_SUFFIX.length())) {
+                return FONT;
+            }
+            if (key.endsWith(".icon") || key.endsWith("Icon") || key.endsWith("Image")) return ICON;
+            if (key.endsWith("Size") || key.endsWith(".size")) return SIZE;
+            return OTHER;
+        }
+    }
+
+    /**
+     * Returns whether the value is a color in the format RRGGBB.
+     *
+     * @param value the value.
+     * @return true if the value is a hex color.
+     */
+    static boolean isHexColor(final String value) {
+        if (value.length() != 6) return false;
+        for (int i = 0; i < 6; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parse a color in the format RRGGBB. The value has to be checked with {@link #isHexColor(String)}.
+     *
+     * @param value the value.
+     * @return the rgb value of the color.
+     */
+    static int parseHexColor(final String value) {
+        int rgb = 0;
+        for (int i = 0; i < 6; i++) {
+            rgb = (rgb << 4) | Character.digit(value.charAt(i), 16);
+        }
+        return rgb;
+    }
+
+    /**
+     * Parses the value as an integer in the same way as {@link Integer#parseInt(String)}.
+     *
+     * @param value the value.
+     * @return the integer or null if the value isn't a valid integer.
+     */
+    static Integer parseInteger(final String value) {
+        return parseInteger(value, 0, value.length());
+    }
+
+    static Integer parseInteger(final String value, final int start, final int end) {
+        if (start >= end) return null;
+        int i = start;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == end) return null;
+        }
+        long result = 0;
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (; i < end; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0) return null;
+            result = result * 10 + digit;
+            if (result > limit) return null;
+        }
+        return (int) (negative ? -result : result);
+    }
+
+    /**
+     * Parses a list of integers separated by the given separator.
+     *
+     * @param value the value.
+     * @param start the start index (inclusive).
+     * @param end the end index (exclusive).
+     * @param separator the separator.
+     * @return the integers or null if any entry isn't a valid integer.
+     */
+    static int[] parseIntegers(final String value, final int start, final int end, final char separator) {
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == separator) count++;
+        }
+        int[] result = new int[count];
+        int index = 0;
+        int from = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || value.charAt(i) == separator) {
+                Integer integer = parseInteger(value, from, i);
+                if (integer == null) return null;
+                result[index++] = integer;
+                from = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits the value at the given separator. Trailing empty segments are removed in the same way as
+     * {@link String#split(String)} does.
+     *
+     * @param value the value.
+     * @param start the start index (inclusive).
+     * @param end the end index (exclusive).
+     * @param separator the separator.
+     * @return the segments.
+     */
+    static List<String> split(final String value, final int start, final int end, final char separator) {
+        if (start >= end) return Collections.singletonList("");
+        List<String> result = new ArrayList<>();
+        int from = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || value.charAt(i) == separator) {
+                result.add(value.substring(from, i));
+                from = i + 1;
+            }
+        }
+        int size = result.size();
+        while (size > 0 && result.get(size - 1).isEmpty()) {
+            result.remove(--size);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the n-th occurrence of the given character.
+     *
+     * @param value the value.
+     * @param c the character.
+     * @param n the occurrence starting at 1.
+     * @return the index or -1 if there are less than n occurrences.
+     */
+    static int indexOf(final String value, final char c, final int n) {
+        int index = -1;
+        for (int i = 0; i < n; i++) {
+            index = value.indexOf(c, index + 1);
+            if (index < 0) return -1;
+        }
+        return index;
+    }
+}
@@ -27,11 +27,11 @@ import java.io.InputStream;
 import java.text.AttributedCharacterIterator;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.swing.*;
 import javax.swing.plaf.DimensionUIResource;
@@ -75,7 +75,17 @@ public final class PropertyLoader {
     private static final char LIST_SEPARATOR = ';';
     private static final char PAIR_SEPARATOR = ':';
 
+    public static final String LAZY_VALUES_FLAG = "darklaf.lazyDefaults";
+
     private static boolean debugMode;
+    private static boolean lazyValuesEnabled = PropertyValue.TRUE.equals(System.getProperty(LAZY_VALUES_FLAG));
+
+    /*
+     * Parsed values are interned to share them across themes and installations. Only immutable values
+     * are interned, as the ui defaults may be modified by the user.
+     */
+    private static final ParsedValueCache<String, Color> colorCache = new ParsedValueCache<>();
+    private static final ParsedValueCache<List<Object>, Font> fontCache = new ParsedValueCache<>();
 
     private static final Map<AttributedCharacterIterator.Attribute, Integer> attributes = Collections.emptyMap();
 
@@ -87,9 +97,26 @@ public final class PropertyLoader {
         return debugMode;
     }
 
+    /**
+     * Sets whether icons and fonts should be created lazily. If enabled they are stored as
+     * {@link DeferredValue}s which are resolved on the first lookup. By default this is determined by
+     * the system property {@value #LAZY_VALUES_FLAG}.
+     *
+     * @param enabled true if lazy values should be used.
+     */
+    public static void setLazyValuesEnabled(final boolean enabled) {
+        PropertyLoader.lazyValuesEnabled = enabled;
+    }
+
+    public static boolean isLazyValuesEnabled() {
+        return lazyValuesEnabled;
+    }
+
     public static Properties loadProperties(final Class<?> clazz, final String name, final String path) {
-        final Properties properties = new Properties();
         String p = path + name + ".properties";
+        Properties snapshot = PropertySnapshot.load(clazz, p);
+        if (snapshot != null) return snapshot;
+        final Properties properties = new Properties();
         try (InputStream stream = clazz.getResourceAsStream(p)) {
             properties.load(stream);
         } catch (IOException | NullPointerException e) {
@@ -148,12 +175,44 @@ public final class PropertyLoader {
         replacePropertyEntriesOfType(type, properties, predicate, e -> mapper.apply(e.getValue()));
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> void replacePropertyEntriesOfType(final Class<T> type, final Map<Object, Object> properties,
             final Predicate<Map.Entry<Object, T>> predicate, final Function<Map.Entry<Object, T>, T> mapper) {
-        properties.entrySet().stream().filter(e -> type == Object.class || type.isInstance(e.getValue()))
-                .filter(e -> predicate.test((Map.Entry<Object, T>) e))
-                .forEach(e -> Optional.ofNullable(mapper.apply((Map.Entry<Object, T>) e)).ifPresent(e::setValue));
+        replacePropertyEntriesOfType(type, properties, predicate, mapper, null);
+    }
+
+    /**
+     * Replaces the values of the given type which match the predicate. The replacement of
+     * {@link DeferredValue}s is deferred until they are resolved.
+     *
+     * @param type the type of the values.
+     * @param properties the properties.
+     * @param predicate the predicate.
+     * @param mapper the mapper.
+     * @param mapperKey identifies the predicate and mapper or null if unknown. Deferred values mapped
+     *        with equal keys can be compared by their source. Has to implement {@link Object#equals(Object)}.
+     * @param <T> the type of the values.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void replacePropertyEntriesOfType(final Class<T> type, final Map<Object, Object> properties,
+            final Predicate<Map.Entry<Object, T>> predicate, final Function<Map.Entry<Object, T>, T> mapper,
+            final Object mapperKey) {
+        for (Map.Entry<Object, Object> e : properties.entrySet()) {
+            Object value = e.getValue();
+            if (type != Object.class && value instanceof DeferredValue && DeferredValue.isOfType(value, type)) {
+                // Defer the replacement until the value is needed.
+                Object key = e.getKey();
+                e.setValue(((DeferredValue<T>) value).map(mapperKey, v -> {
+                    Map.Entry<Object, T> entry = new AbstractMap.SimpleImmutableEntry<>(key, v);
+                    if (!predicate.test(entry)) return v;
+                    T mapped = mapper.apply(entry);
+                    return mapped != null ? mapped : v;
+                }));
+            } else if (type == Object.class || type.isInstance(value)) {
+                if (!predicate.test((Map.Entry<Object, T>) (Map.Entry<?, ?>) e)) continue;
+                T mapped = mapper.apply((Map.Entry<Object, T>) (Map.Entry<?, ?>) e);
+                if (mapped != null) e.setValue(mapped);
+            }
+        }
     }
 
     private static String parseKey(final String key) {
@@ -161,6 +220,47 @@ public final class PropertyLoader {
         return key.startsWith(String.valueOf(REFERENCE_PREFIX)) ? key.substring(1) : key;
     }
 
+    /*
+     * Returns the key with the reference prefix removed regardless of whether debug mode is enabled.
+     */
+    static String referenceFreeKey(final String key) {
+        return key.startsWith(String.valueOf(REFERENCE_PREFIX)) ? key.substring(1) : key;
+    }
+
+    /*
+     * Collects all keys the given value depends on i.e. the targets of '%key' references and the base
+     * fonts of 'from(key)' expressions. The collected keys don't carry the reference prefix.
+     */
+    static void collectReferences(final String value, final Consumer<String> consumer) {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int start = -1;
+            if (value.charAt(i) == REFERENCE_PREFIX) {
+                start = i + 1;
+            } else if (value.startsWith(FONT_FROM, i) && i + FONT_FROM.length() < length
+                    && value.charAt(i + FONT_FROM.length()) == ARG_START) {
+                start = i + FONT_FROM.length() + 1;
+            }
+            if (start < 0) {
+                i++;
+                continue;
+            }
+            int end = start;
+            while (end < length && !isReferenceDelimiter(value.charAt(end))) {
+                end++;
+            }
+            if (end > start) consumer.accept(referenceFreeKey(value.substring(start, end)));
+            i = end;
+        }
+    }
+
+    private static boolean isReferenceDelimiter(final char c) {
+        return c == SEPARATOR || c == LIST_SEPARATOR || c == PAIR_SEPARATOR || c == ARG_START || c == ARG_END
+                || c == LIST_START || c == LIST_END || c == INT_LIST_START || c == INT_LIST_END
+                || Character.isWhitespace(c);
+    }
+
     public static Object parseValue(final String propertyKey, final String val, final Map<Object, Object> accumulator,
             final UIDefaults currentDefaults, final IconLoader iconLoader) {
         if (val == null || PropertyValue.NULL.equals(val)) {
@@ -176,38 +276,49 @@ public final class PropertyLoader {
         }
         key = parseKey(key);
 
-        final Color color = ColorUtil.fromHex(value, null);
-        final Integer invVal = getInteger(value);
-        final Boolean boolVal = PropertyValue.TRUE.equalsIgnoreCase(value) ? Boolean.TRUE
-                : PropertyValue.FALSE.equalsIgnoreCase(value) ? Boolean.FALSE : null;
-        if (color != null && (value.length() == 6 || value.length() == 8)) {
-            return maybeWrap(new DarkColorUIResource(color), isFallback);
-        } else if (invVal != null) {
-            return maybeWrap(invVal, isFallback);
-        } else if (boolVal != null) {
-            return maybeWrap(boolVal, isFallback);
+        if (PropertyLexer.isHexColor(value)) {
+            return maybeWrap(colorCache.get(value, v -> new DarkColorUIResource(PropertyLexer.parseHexColor(v))),
+                    isFallback);
+        }
+        final Integer intVal = PropertyLexer.parseInteger(value);
+        if (intVal != null) {
+            return maybeWrap(intVal, isFallback);
+        } else if (PropertyValue.TRUE.equalsIgnoreCase(value)) {
+            return maybeWrap(Boolean.TRUE, isFallback);
+        } else if (PropertyValue.FALSE.equalsIgnoreCase(value)) {
+            return maybeWrap(Boolean.FALSE, isFallback);
         }
 
         Object returnVal = new LoadError();
-        if (key.endsWith("Insets") || key.endsWith(".insets")) {
-            returnVal = parseInsets(value, accumulator, currentDefaults, iconLoader);
-        } else if (!skipObjects && (key.endsWith("Border") || key.endsWith(".border") || key.endsWith("Renderer"))) {
+        PropertyLexer.KeyType keyType = PropertyLexer.KeyType.of(key);
+        if (keyType == PropertyLexer.KeyType.LAZY_OBJECT && skipObjects) keyType = PropertyLexer.KeyType.OTHER;
+        int length = value.length();
+        char first = length > 0 ? value.charAt(0) : Character.MIN_VALUE;
+        char last = length > 0 ? value.charAt(length - 1) : Character.MIN_VALUE;
+        if (keyType == PropertyLexer.KeyType.INSETS) {
+            returnVal = parseInsets(value);
+        } else if (keyType == PropertyLexer.KeyType.LAZY_OBJECT) {
             return maybeWrap((UIDefaults.LazyValue) def -> parseObject(value), isFallback);
-        } else if (key.endsWith(".component") || key.endsWith("Component")) {
+        } else if (keyType == PropertyLexer.KeyType.ACTIVE_OBJECT) {
             return maybeWrap((UIDefaults.ActiveValue) (def) -> parseObject(value), isFallback);
-        } else if (key.toLowerCase().endsWith("font")) {
+        } else if (keyType == PropertyLexer.KeyType.FONT) {
             returnVal = parseFont(key, value, accumulator, currentDefaults);
-        } else if (key.endsWith(".icon") || key.endsWith("Icon") || key.endsWith("Image")) {
-            returnVal = parseIcon(value, accumulator, currentDefaults, iconLoader);
-        } else if (key.endsWith("Size") || key.endsWith(".size")) {
+        } else if (keyType == PropertyLexer.KeyType.ICON) {
+            if (lazyValuesEnabled) {
+                // Icons don't depend on other values, so there is no need to retain the accumulator.
+                returnVal = new DeferredValue<>(Icon.class, Arrays.asList(value, iconLoader),
+                        () -> parseIcon(value, Collections.emptyMap(), currentDefaults, iconLoader));
+            } else {
+                returnVal = parseIcon(value, accumulator, currentDefaults, iconLoader);
+            }
+        } else if (keyType == PropertyLexer.KeyType.SIZE) {
             returnVal = parseSize(value);
-        } else if (value.startsWith(String.valueOf(LIST_START)) && value.endsWith(String.valueOf(LIST_END))) {
+        } else if (first == LIST_START && last == LIST_END) {
             returnVal = parseList((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL), value,
                     accumulator, currentDefaults, iconLoader);
-        } else if (value.startsWith(String.valueOf(INT_LIST_START)) && value.endsWith(String.valueOf(INT_LIST_END))) {
-            returnVal = parseList((SimpleValueMapper<Integer>) Integer::parseInt, value, accumulator, currentDefaults,
-                    iconLoader, INT_LIST_START, INT_LIST_END, SEPARATOR);
-        } else if (value.contains(String.valueOf(PAIR_SEPARATOR))) {
+        } else if (first == INT_LIST_START && last == INT_LIST_END) {
+            returnVal = parseIntList(value);
+        } else if (value.indexOf(PAIR_SEPARATOR) >= 0) {
             returnVal = parsePair((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL), value,
                     accumulator, currentDefaults, iconLoader);
         } else if (PropertyValue.NULL.equalsIgnoreCase(value)) {
@@ -231,9 +342,9 @@ public final class PropertyLoader {
     private static <T, K> Pair<T, K> parsePair(final ParseFunction<T> firstMapper, final ParseFunction<K> secondMapper,
             final String value, final Map<Object, Object> accumulator, final UIDefaults currentDefaults,
             final IconLoader iconLoader) {
-        String[] pairVals = value.split(String.valueOf(PAIR_SEPARATOR), 2);
-        return new Pair<>(firstMapper.parseValue(pairVals[0], accumulator, currentDefaults, iconLoader),
-                secondMapper.parseValue(pairVals[1], accumulator, currentDefaults, iconLoader));
+        int index = value.indexOf(PAIR_SEPARATOR);
+        return new Pair<>(firstMapper.parseValue(value.substring(0, index), accumulator, currentDefaults, iconLoader),
+                secondMapper.parseValue(value.substring(index + 1), accumulator, currentDefaults, iconLoader));
     }
 
     private static Object parseReference(final String key, final String value, final Map<Object, Object> accumulator,
@@ -258,23 +369,34 @@ public final class PropertyLoader {
         return returnVal;
     }
 
-    private static Object parseInsets(final String value, final Map<Object, Object> accumulator,
-            final UIDefaults currentDefaults, final IconLoader iconLoader) {
-        List<Integer> insets = parseList((SimpleValueMapper<Integer>) Integer::parseInt, value, accumulator,
-                currentDefaults, iconLoader, Character.MIN_VALUE, Character.MIN_VALUE, SEPARATOR);
-        return new InsetsUIResource(insets.get(0), insets.get(1), insets.get(2), insets.get(3));
+    private static Object parseInsets(final String value) {
+        // Insets are mutable, hence they can't be interned.
+        int[] insets = PropertyLexer.parseIntegers(value, 0, value.length(), SEPARATOR);
+        if (insets == null || insets.length < 4) {
+            throw new IllegalArgumentException("Invalid insets '" + value + "'");
+        }
+        return new InsetsUIResource(insets[0], insets[1], insets[2], insets[3]);
+    }
+
+    private static Object parseIntList(final String value) {
+        int[] values = PropertyLexer.parseIntegers(value, 1, value.length() - 1, SEPARATOR);
+        if (values == null) throw new IllegalArgumentException("Invalid integer list '" + value + "'");
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int i : values) {
+            list.add(i);
+        }
+        return list;
     }
 
-    @SuppressWarnings("MagicConstant")
     private static Object parseFont(final String key, final String value, final Map<Object, Object> accumulator,
             final UIDefaults currentDefaults) {
         String val = value;
-        Font base = null;
+        Object base = null;
         int size = -1;
         int style = -1;
         while (true) {
             if (val.startsWith(FONT_FROM)) {
-                Pair<Font, String> result = parseFrom(val, accumulator, currentDefaults);
+                Pair<Object, String> result = parseFrom(val, accumulator, currentDefaults);
                 base = result.getFirst();
                 val = result.getSecond();
             } else if (val.startsWith(FONT_SIZE)) {
@@ -291,23 +413,49 @@ public final class PropertyLoader {
             if (val.isEmpty()) break;
         }
         if (base == null) base = parseExplicitFont(value);
-        if (base == null && accumulator.get(key) instanceof Font) base = (Font) accumulator.get(key);
+        if (base == null && DeferredValue.isOfType(accumulator.get(key), Font.class)) base = accumulator.get(key);
         if (base == null) base = currentDefaults.getFont(key);
+        /*
+         * The base font is captured as is, so a deferred font sees the same base as an eagerly created
+         * one would, even if the base key is redefined later on.
+         */
+        final Object baseFont = base;
+        final int fontSize = size;
+        final int fontStyle = style;
+        if (lazyValuesEnabled) {
+            return new DeferredValue<>(Font.class,
+                    Arrays.asList(DeferredValue.sourceOf(baseFont), fontSize, fontStyle),
+                    () -> deriveFont(baseFont, fontSize, fontStyle));
+        }
+        return deriveFont(baseFont, fontSize, fontStyle);
+    }
+
+    @SuppressWarnings("MagicConstant")
+    private static Font deriveFont(final Object baseFont, final int fontSize, final int fontStyle) {
+        Font base = (Font) DeferredValue.unwrap(baseFont);
         if (base == null) base = FontUtil.createFont(null, Font.PLAIN, 12);
-        if (size <= 0) size = base.getSize();
-        if (style < 0) style = base.getStyle();
+        int size = fontSize > 0 ? fontSize : base.getSize();
+        int style = fontStyle >= 0 ? fontStyle : base.getStyle();
         Font font = base.deriveFont(style, size);
         font = new DarkFontUIResource(font.deriveFont(attributes));
-        return font;
+        return internFont(font);
+    }
+
+    private static Font internFont(final Font font) {
+        List<Object> key = Arrays.asList(font.getName(), font.getStyle(), font.getSize2D(), font.getAttributes());
+        return fontCache.get(key, k -> font);
     }
 
     private static Font parseExplicitFont(final String value) {
-        try {
-            final String[] decode = value.split(String.valueOf(FONT_DELIMITER));
-            return FontUtil.createFont(decode[0], Integer.parseInt(decode[1]), Integer.parseInt(decode[2]));
-        } catch (final Exception e) {
-            return null;
-        }
+        int styleStart = value.indexOf(FONT_DELIMITER);
+        int sizeStart = PropertyLexer.indexOf(value, FONT_DELIMITER, 2);
+        if (styleStart < 0 || sizeStart < 0) return null;
+        int sizeEnd = value.indexOf(FONT_DELIMITER, sizeStart + 1);
+        if (sizeEnd < 0) sizeEnd = value.length();
+        Integer style = PropertyLexer.parseInteger(value, styleStart + 1, sizeStart);
+        Integer size = PropertyLexer.parseInteger(value, sizeStart + 1, sizeEnd);
+        if (style == null || size == null) return null;
+        return FontUtil.createFont(value.substring(0, styleStart), style, size);
     }
 
     private static Pair<Integer, String> parseFontAttribute(final String identifier, final String val,
@@ -316,24 +464,17 @@ public final class PropertyLoader {
         int lastIndex = key.indexOf(ARG_END);
         String rest = key.substring(lastIndex + 1);
         key = key.substring(0, lastIndex);
-        String[] subKeys = key.split(String.valueOf(SEPARATOR));
-        int[] values = new int[subKeys.length];
-        for (int i = 0; i < values.length; i++) {
-            if (subKeys[i].startsWith(String.valueOf(REFERENCE_PREFIX))) {
-                Object ref = unpackReference(parseReference(identifier, subKeys[i], accumulator, currrentDefault));
-                values[i] = ref instanceof Integer ? (Integer) ref : 0;
+        int result = 0;
+        for (String subKey : PropertyLexer.split(key, 0, key.length(), SEPARATOR)) {
+            if (subKey.startsWith(String.valueOf(REFERENCE_PREFIX))) {
+                Object ref = unpackReference(parseReference(identifier, subKey, accumulator, currrentDefault));
+                result += ref instanceof Integer ? (Integer) ref : 0;
             } else {
-                try {
-                    values[i] = Integer.parseInt(subKeys[i]);
-                } catch (NumberFormatException ignored) {
-                    // In this case the value will be 0.
-                }
+                // Invalid values are treated as 0.
+                Integer value = PropertyLexer.parseInteger(subKey);
+                result += value != null ? value : 0;
             }
         }
-        int result = 0;
-        for (int i : values) {
-            result += i;
-        }
         return new Pair<>(result, rest);
     }
 
@@ -345,14 +486,14 @@ public final class PropertyLoader {
         return obj;
     }
 
-    private static Pair<Font, String> parseFrom(final String val, final Map<Object, Object> accumulator,
+    private static Pair<Object, String> parseFrom(final String val, final Map<Object, Object> accumulator,
             final UIDefaults currentDefaults) {
         String key = val.substring(FONT_FROM.length() + 1);
         int index = key.indexOf(ARG_END);
         String rest = key.substring(index + 1);
         key = key.substring(0, index);
-        Font font = null;
-        if (accumulator.get(key) instanceof Font) font = (Font) accumulator.get(key);
+        Object font = null;
+        if (DeferredValue.isOfType(accumulator.get(key), Font.class)) font = accumulator.get(key);
         if (font == null) font = currentDefaults.getFont(key);
         return new Pair<>(font, rest);
     }
@@ -366,14 +507,15 @@ public final class PropertyLoader {
             final Map<Object, Object> accumulator, final UIDefaults currentDefaults, final IconLoader iconLoader,
             final char start, final char end, final char delimiter) {
         if (value == null || value.isEmpty()) return new ArrayList<>();
-        String val = value;
-        if (val.charAt(0) == start) {
-            val = value.substring(1, value.length() - 1);
+        boolean enclosed = value.charAt(0) == start;
+        List<String> values = PropertyLexer.split(value, enclosed ? 1 : 0,
+                enclosed ? value.length() - 1 : value.length(), delimiter);
+        if (values.isEmpty()) return Collections.emptyList();
+        List<T> result = new ArrayList<>(values.size());
+        for (String v : values) {
+            result.add(mapper.parseValue(v, accumulator, currentDefaults, iconLoader));
         }
-        String[] values = val.split(String.valueOf(delimiter));
-        if (values.length == 0) return Collections.emptyList();
-        return Arrays.stream(values).map(k -> mapper.parseValue(k, accumulator, currentDefaults, iconLoader))
-                .collect(Collectors.toList());
+        return result;
     }
 
     private static Icon parseIcon(final String value, final Map<Object, Object> accumulator,
@@ -385,9 +527,10 @@ public final class PropertyLoader {
         Dimension dim = new Dimension(16, 16);
         if (value.charAt(value.length() - 1) == ARG_END) {
             int i = path.lastIndexOf(ARG_START);
-            String dimVal = path.substring(i + 1, path.length() - 1);
-            int[] values =
-                    Arrays.stream(dimVal.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt).toArray();
+            int[] values = PropertyLexer.parseIntegers(path, i + 1, path.length() - 1, SEPARATOR);
+            if (values == null || values.length != 2) {
+                throw new IllegalArgumentException("Invalid icon size on icon path: '" + value + "'");
+            }
             dim.width = values[0];
             dim.height = values[1];
             path = path.substring(0, i);
@@ -428,28 +571,9 @@ public final class PropertyLoader {
     }
 
     private static Object parseSize(final String value) {
-        try {
-            int[] dim = Arrays.stream(value.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt).toArray();
-            return new DimensionUIResource(dim[0], dim[1]);
-        } catch (IndexOutOfBoundsException | NumberFormatException e) {
-            return new LoadError();
-        }
-    }
-
-    private static Integer getInteger(final String value) {
-        try {
-            return Integer.parseInt(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
-        }
-    }
-
-    private static Double getDouble(final String value) {
-        try {
-            return Double.parseDouble(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
-        }
+        int[] dim = PropertyLexer.parseIntegers(value, 0, value.length(), SEPARATOR);
+        if (dim == null || dim.length != 2) return new LoadError();
+        return new DimensionUIResource(dim[0], dim[1]);
     }
 
     private static Object parseObject(final String value) {
@@ -474,17 +598,6 @@ public final class PropertyLoader {
                 final IconLoader iconLoader);
     }
 
-    private interface SimpleValueMapper<T> extends ParseFunction<T> {
-
-        T map(final String value);
-
-        @Override
-        default T parseValue(final String value, final Map<Object, Object> accumulator,
-                final UIDefaults currentDefaults, final IconLoader iconLoader) {
-            return map(value);
-        }
-    }
-
     public static class ReferenceInfo<T> extends Pair<String, T> {
 
         public ReferenceInfo(final String key, final T value) {
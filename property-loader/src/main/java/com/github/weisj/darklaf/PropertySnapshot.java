@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Access to the property snapshots generated at build time. A snapshot contains the already decoded
+ * key/value pairs of all .properties files below the resource directory it is located in, which makes
+ * it possible to skip the text parsing for each file individually. Each module places its snapshot
+ * into its own resource directory, hence snapshots of different modules don't clash if their jars
+ * are merged.
+ *
+ * <p>
+ * A snapshot is only used if the requested resource resolves to the same classpath entry as the
+ * snapshot itself. Resources which aren't contained in any snapshot (e.g. those of user supplied
+ * themes) or which are shadowed by another classpath entry are loaded from their text file as usual.
+ *
+ * <p>
+ * Snapshots can be disabled by setting the system property {@value #SNAPSHOT_FLAG} to false.
+ *
+ * @author Jannis Weis
+ */
+public final class PropertySnapshot {
+
+    private static final Logger LOGGER = LogUtil.getLogger(PropertySnapshot.class);
+    public static final String SNAPSHOT_FLAG = "darklaf.propertySnapshots";
+    public static final String SNAPSHOT_NAME = "properties.snapshot";
+    public static final int MAGIC = 0x444C5053;
+    public static final int VERSION = 1;
+
+    private static final Snapshot NO_SNAPSHOT = new Snapshot("", Collections.emptyMap());
+    private static final Map<ClassLoader, Map<String, Snapshot>> snapshots = new WeakHashMap<>();
+
+    private PropertySnapshot() {}
+
+    /**
+     * Returns whether property snapshots are used.
+     *
+     * @return true if enabled.
+     */
+    public static boolean isEnabled() {
+        return !PropertyValue.FALSE.equals(System.getProperty(SNAPSHOT_FLAG));
+    }
+
+    /**
+     * Load the properties of the resource with the given name from the snapshot. The name is resolved
+     * in the same way as {@link Class#getResourceAsStream(String)} would.
+     *
+     * @param clazz the class to resolve the resource from.
+     * @param name the name of the resource.
+     * @return the properties or null if the resource isn't contained in a snapshot of the classpath
+     *         entry it is loaded from.
+     */
+    public static Properties load(final Class<?> clazz, final String name) {
+        if (clazz == null || name == null || !isEnabled()) return null;
+        return load(getClassLoader(clazz), resolveName(clazz, name));
+    }
+
+    static Properties load(final ClassLoader loader, final String path) {
+        URL resource = loader.getResource(path);
+        if (resource == null) return null;
+        String[] entries = getEntries(loader, path, resource);
+        if (entries == null) return null;
+        Properties properties = new Properties();
+        for (int i = 0; i < entries.length; i += 2) {
+            properties.put(entries[i], entries[i + 1]);
+        }
+        return properties;
+    }
+
+    private static ClassLoader getClassLoader(final Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        return loader != null ? loader : ClassLoader.getSystemClassLoader();
+    }
+
+    private static String resolveName(final Class<?> clazz, final String name) {
+        if (name.startsWith("/")) return name.substring(1);
+        String className = clazz.getName();
+        int index = className.lastIndexOf('.');
+        if (index < 0) return name;
+        return className.substring(0, index).replace('.', '/') + "/" + name;
+    }
+
+    /*
+     * The closest snapshot in the parent directories of the resource is responsible for it.
+     */
+    private static String[] getEntries(final ClassLoader loader, final String path, final URL resource) {
+        synchronized (snapshots) {
+            Map<String, Snapshot> directories = snapshots.computeIfAbsent(loader, l -> new HashMap<>());
+            int index = path.lastIndexOf('/');
+            while (index > 0) {
+                String directory = path.substring(0, index + 1);
+                Snapshot snapshot = directories.get(directory);
+                if (snapshot == null) {
+                    snapshot = readSnapshot(loader, directory);
+                    directories.put(directory, snapshot);
+                }
+                if (snapshot != NO_SNAPSHOT) {
+                    if (!resource.toString().equals(snapshot.baseUrl + path.substring(index + 1))) return null;
+                    return snapshot.entries.get(path);
+                }
+                index = path.lastIndexOf('/', index - 1);
+            }
+            return null;
+        }
+    }
+
+    private static Snapshot readSnapshot(final ClassLoader loader, final String directory) {
+        URL url = loader.getResource(directory + SNAPSHOT_NAME);
+        if (url == null) return NO_SNAPSHOT;
+        Map<String, String[]> entries = new HashMap<>();
+        try (InputStream stream = url.openStream()) {
+            readSnapshot(stream, entries);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read property snapshot " + url + ". " + e.getMessage(),
+                    e.getStackTrace());
+            return NO_SNAPSHOT;
+        }
+        String location = url.toString();
+        return new Snapshot(location.substring(0, location.length() - SNAPSHOT_NAME.length()), entries);
+    }
+    /*
+     * Format: magic (int), version (int), file count (int) followed by [path (utf), entry count (int),
+     * entry count * (key (utf), value (utf))] for each file.
+     */
+    private static void readSnapshot(final InputStream inputStream, final Map<String, String[]> snapshot)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) throw new IOException("Not a property snapshot.");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ".");
+        int fileCount = in.readInt();
+        for (int i = 0; i < fileCount; i++) {
+            String path = in.readUTF();
+            String[] entries = new String[2 * in.readInt()];
+            for (int j = 0; j < entries.length; j++) {
+                entries[j] = in.readUTF();
+            }
+            snapshot.put(path, entries);
+        }
+    }
+
+    private static final class Snapshot {
+        private final String baseUrl;
+        private final Map<String, String[]> entries;
+
+        private Snapshot(final String baseUrl, final Map<String, String[]> entries) {
+            this.baseUrl = baseUrl;
+            this.entries = entries;
+        }
+    }
+}
@@ -22,6 +22,7 @@
 package com.github.weisj.darklaf.icons;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -119,4 +120,15 @@ public class CustomThemedIcon extends ThemedSVGIcon {
     protected void patchColors() {
         IconColorMapper.patchColors(getSVGIcon(), getProperties());
     }
+
+    @Override
+    protected Map<Object, Object> getColorDefaults() {
+        return defaults != null ? defaults : Collections.emptyMap();
+    }
+
+    @Override
+    protected boolean isRasterCacheable() {
+        // The colors depend on the properties of this icon.
+        return false;
+    }
 }
@@ -23,14 +23,28 @@ package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.swing.*;
+
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Scale;
+import com.kitfox.svg.SVGUniverse;
 import com.kitfox.svg.app.beans.SVGIcon;
 
 /**
@@ -62,7 +76,36 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     private boolean loadedWithExtraScale;
     private double scaleX;
     private double scaleY;
-    private Image image;
+    /*
+     * The raster is only referenced softly. Rasters which have been evicted from the IconRasterCache
+     * (or were never shared through it) can hence be freed if memory gets low. They are recreated on
+     * the next paint.
+     */
+    private volatile Reference<Image> image;
+    private boolean storedRasterLoaded;
+    private Object storedRasterStatus;
+
+    /*
+     * State of asynchronous loading. Only accessed on the event dispatch thread.
+     */
+    private transient Future<?> pendingLoad;
+    private transient List<WeakReference<Component>> pendingRepaints;
+    private transient boolean asyncLoadFailed;
+
+    /*
+     * Pre-rendered images for rotations which aren't multiples of 90 degrees e.g. of animated icons.
+     * Rotations are snapped to the given number of steps per turn and frames are keyed by their step.
+     * Arbitrary rotations use steps of one degree.
+     */
+    private static final int MAX_ROTATED_FRAMES = 32;
+    private static final int DEFAULT_ROTATION_STEPS = 360;
+    private transient Reference<Image> rotatedFramesSource;
+    private transient int rotatedFrameSteps;
+    // Guarded by itself as the statistics read it from other threads.
+    private transient volatile Reference<Map<Integer, Image>> rotatedFrames;
+
+    // Identifies the icon in the warm-up manifest if painted icons are recorded.
+    private transient IconWarmup.Entry warmupEntry;
 
     /**
      * Method to fetch the SVG icon from a url.
@@ -124,11 +167,23 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
         return ensureSVGLoaded();
     }
 
+    /**
+     * Returns whether {@link #ensureLoaded(boolean)} would need to update the icon. This method must
+     * not have any side effects.
+     *
+     * @return true if the icon needs to be updated.
+     */
+    protected boolean needsReload() {
+        return !loaded.get();
+    }
+
     private boolean ensureSVGLoaded() {
         if (!loaded.get()) {
             ensureURILoaded();
             LOGGER.finer(() -> "Loading icon '" + uri.toASCIIString() + "'.");
+            long start = System.nanoTime();
             icon.setSvgURI(uri);
+            IconMetrics.recordParse(System.nanoTime() - start);
             loaded.set(true);
             return true;
         }
@@ -146,15 +201,173 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     }
 
     protected void updateCache(final boolean update, final Component c) {
+        updateRaster(update, c);
+    }
+
+    private Image updateRaster(final boolean update, final Component c) {
         GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
-        double sx = Scale.getScaleX(gc);
-        double sy = Scale.getScaleY(gc);
-        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null) return;
+        return updateCache(update, Scale.getScaleX(gc), Scale.getScaleY(gc));
+    }
+
+    private Image updateCache(final boolean update, final double sx, final double sy) {
+        Image current = getRasterImage();
+        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && current != null) {
+            return current;
+        }
         scaleX = sx;
         scaleY = sy;
         double effectiveScaleX = loadedWithExtraScale ? scaleX * extraScale : scaleX;
         double effectiveScaleY = loadedWithExtraScale ? scaleY * extraScale : scaleY;
-        image = createImage(Scale.scale(effectiveScaleX, effectiveScaleY, size));
+        Dimension rasterSize = Scale.scale(effectiveScaleX, effectiveScaleY, size);
+        ensureURILoaded();
+        Image img;
+        if (isRasterCacheable()) {
+            img = IconRasterCache.get(uri, rasterSize, getRasterThemeToken(), () -> createRaster(rasterSize));
+        } else {
+            img = createRaster(rasterSize);
+        }
+        setRasterImage(img);
+        storedRasterLoaded = false;
+        if (warmupEntry != null) IconWarmup.record(warmupEntry, sx, sy);
+        return img;
+    }
+
+    private void setRasterImage(final Image img) {
+        image = img != null ? new SoftReference<>(img) : null;
+    }
+
+    private Image createRaster(final Dimension rasterSize) {
+        // Derived icons share their rasters through the cache. Reuse a larger one if possible.
+        Image img = isRasterCacheable() ? IconRasterCache.getDownsampled(uri, rasterSize, getRasterThemeToken()) : null;
+        if (img == null) {
+            long start = System.nanoTime();
+            img = createImage(rasterSize);
+            IconMetrics.recordRaster(System.nanoTime() - start);
+        }
+        if (IconDiskCache.isEnabled()) IconDiskCache.storeAsync(uri, rasterSize, getColorDefaults(), img);
+        return img;
+    }
+
+    /*
+     * Use an image from the raster cache, an atlas or the disk cache if the svg would need to be loaded
+     * or patched otherwise. The raster cache may contain images rendered in the background. The svg
+     * itself is only loaded once the image isn't found.
+     */
+    private Image loadStoredRaster(final double sx, final double sy, final boolean rotationChanged) {
+        if (!needsReload()) return null;
+        // Images loaded in the background are stored rasters as well. They are valid without any storage.
+        boolean scaleChanged = !Scale.equalWithError(scaleX, sx) || !Scale.equalWithError(scaleY, sy);
+        Image current = getRasterImage();
+        if (current != null && !rotationChanged && !scaleChanged && isStoredRasterValid()) return current;
+        boolean storageAvailable = IconAtlas.isAvailable() || IconDiskCache.isEnabled();
+        if (!storageAvailable && !isRasterCacheable()) return null;
+        ensureURILoaded();
+        Dimension rasterSize = getRasterSize(sx, sy);
+        Object status = getThemeStatus();
+        // Stored rasters are keyed by the resolved colors. See IconDiskCache#storeAsync.
+        Map<Object, Object> colors = storageAvailable ? IconColorMapper.snapshotDefaults(getColorDefaults()) : null;
+        Supplier<Image> storedRaster = () -> storageAvailable ? loadStoredRaster(uri, rasterSize, colors) : null;
+        Image img = isRasterCacheable() ? IconRasterCache.get(uri, rasterSize, status, storedRaster)
+                : storedRaster.get();
+        if (img == null) return null;
+        setStoredRaster(img, sx, sy, status);
+        return img;
+    }
+
+    private void setStoredRaster(final Image img, final double sx, final double sy, final Object status) {
+        setRasterImage(img);
+        scaleX = sx;
+        scaleY = sy;
+        storedRasterLoaded = true;
+        storedRasterStatus = status;
+        if (warmupEntry != null) IconWarmup.record(warmupEntry, sx, sy);
+    }
+
+    private Dimension getRasterSize(final double sx, final double sy) {
+        double effectiveScaleX = loadedWithExtraScale ? sx * extraScale : sx;
+        double effectiveScaleY = loadedWithExtraScale ? sy * extraScale : sy;
+        return Scale.scale(effectiveScaleX, effectiveScaleY, size);
+    }
+
+    private static Image loadStoredRaster(final URI uri, final Dimension rasterSize,
+            final Map<Object, Object> colors) {
+        String key = RasterKey.compute(uri, rasterSize, colors);
+        if (key == null) return null;
+        Image img = IconAtlas.isAvailable() ? IconAtlas.load(key, rasterSize) : null;
+        if (img == null && IconDiskCache.isEnabled()) img = IconDiskCache.load(key, rasterSize);
+        return img;
+    }
+
+    /*
+     * Creates the image of the svg without touching the state of any icon. The svg is parsed into a
+     * private universe, as the documents of the shared universe are used by the event dispatch thread.
+     * Hence this may be called from any thread. The colors have to be a snapshot if they are the
+     * UIManager defaults.
+     */
+    static Image createIsolatedRaster(final URI uri, final Dimension rasterSize, final Map<Object, Object> colors,
+            final Object themeStatus, final boolean cacheable, final SVGIcon svgIcon) {
+        boolean storageAvailable = IconAtlas.isAvailable() || IconDiskCache.isEnabled();
+        Supplier<Image> factory = () -> {
+            Image img = storageAvailable ? loadStoredRaster(uri, rasterSize, colors) : null;
+            if (img != null) return img;
+            svgIcon.setSvgUniverse(new SVGUniverse());
+            svgIcon.setAutosize(SVGIcon.AUTOSIZE_STRETCH);
+            svgIcon.setAntiAlias(true);
+            long start = System.nanoTime();
+            svgIcon.setSvgURI(uri);
+            if (colors != null) IconColorMapper.patchColors(svgIcon, colors);
+            IconMetrics.recordParse(System.nanoTime() - start);
+            svgIcon.setPreferredSize(rasterSize);
+            start = System.nanoTime();
+            img = svgIcon.getImage();
+            IconMetrics.recordRaster(System.nanoTime() - start);
+            if (img != null && IconDiskCache.isEnabled()) IconDiskCache.storeAsync(uri, rasterSize, colors, img);
+            return img;
+        };
+        return cacheable ? IconRasterCache.get(uri, rasterSize, themeStatus, factory) : factory.get();
+    }
+
+    private boolean isStoredRasterValid() {
+        return storedRasterLoaded && storedRasterStatus == getThemeStatus();
+    }
+
+    /**
+     * The status of the theme the icon should currently be painted with. This has to be identical to
+     * {@link #getRasterThemeToken()} once the icon has been updated.
+     *
+     * @return the theme status or null if the colors of the icon don't change.
+     */
+    protected Object getThemeStatus() {
+        return null;
+    }
+
+    /**
+     * The properties the colors of the icon are resolved from.
+     *
+     * @return the properties or null if the icon isn't themed.
+     */
+    protected Map<Object, Object> getColorDefaults() {
+        return null;
+    }
+
+    /**
+     * Returns whether the rasterized image of this icon may be shared with other icons through the
+     * {@link IconRasterCache}.
+     *
+     * @return true if the image can be shared.
+     */
+    protected boolean isRasterCacheable() {
+        return true;
+    }
+
+    /**
+     * Token identifying the colors the icon is currently painted with. Icons with the same uri, size
+     * and token share their rasterized image.
+     *
+     * @return the token or null if the colors of the icon don't change.
+     */
+    protected Object getRasterThemeToken() {
+        return null;
     }
 
     @Override
@@ -185,12 +398,39 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     }
 
     protected void ensureImageLoaded(final Component c, final double rotation) {
+        loadImage(c, rotation);
+    }
+
+    /*
+     * Returns the loaded image. The icon only references it softly, hence it has to be painted using
+     * the returned reference.
+     */
+    private Image loadImage(final Component c, final double rotation) {
         boolean rotationChanged = false;
         if (!loadedWithExtraScale) {
             loadedWithExtraScale = !isExactRotation(rotation);
             rotationChanged = loadedWithExtraScale;
         }
-        updateCache(ensureLoaded(true) || rotationChanged, c);
+        GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
+        Image stored = loadStoredRaster(Scale.getScaleX(gc), Scale.getScaleY(gc), rotationChanged);
+        if (stored != null) return stored;
+        return updateRaster(ensureLoaded(true) || rotationChanged, c);
+    }
+
+
+    /*
+     * Rasterize the svg for the given scale into the raster cache. Doesn't modify the svg or image of
+     * the icon, hence it may be called from any thread if the colors are a snapshot.
+     */
+    Image prepareImage(final double sx, final double sy, final Map<Object, Object> colors,
+            final Object themeStatus) {
+        ensureURILoaded();
+        return createIsolatedRaster(uri, Scale.scale(sx, sy, size), colors, themeStatus, isRasterCacheable(),
+                createSVGIcon());
+    }
+
+    void setWarmupEntry(final IconWarmup.Entry entry) {
+        this.warmupEntry = entry;
     }
 
     private boolean isExactRotation(final double rotation) {
@@ -207,24 +447,191 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
 
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation) {
-        ensureImageLoaded(c, rotation);
+        paintIcon(c, g, x, y, rotation, 0);
+    }
+
+    @Override
+    public void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation,
+            final int rotationSteps) {
+        if (IconLoader.isAsyncLoadingEnabled() && !asyncLoadFailed && SwingUtilities.isEventDispatchThread()
+                && (pendingLoad != null || needsRasterUpdate(c, rotation))) {
+            loadAsync(c, rotation);
+            // Paint the outdated image as a placeholder if there is any.
+            Image placeholder = getRasterImage();
+            if (placeholder != null) paintImage(g, placeholder, x, y, rotation, rotationSteps);
+            return;
+        }
+        Image img = loadImage(c, rotation);
+        if (img != null) paintImage(g, img, x, y, rotation, rotationSteps);
+    }
+
+    private void paintImage(final Graphics g, final Image img, final int x, final int y, final double rotation,
+            final int rotationSteps) {
+        if (!isExactRotation(rotation)) {
+            paintRotatedFrame(g, img, x, y, rotation, rotationSteps);
+            return;
+        }
         Graphics2D g2 = (Graphics2D) g;
         AffineTransform transform = g2.getTransform();
         g2.translate(x, y);
-        double imageWidth = image.getWidth(null);
-        double imageHeight = image.getHeight(null);
+        double imageWidth = img.getWidth(null);
+        double imageHeight = img.getHeight(null);
         double sx = size.width / imageWidth;
         double sy = size.height / imageHeight;
         g2.scale(sx, sy);
         if (rotation != 0) {
             g2.rotate(rotation, imageWidth / 2.0, imageHeight / 2.0);
         }
-        g2.drawImage(image, 0, 0, null);
+        g2.drawImage(img, 0, 0, null);
         g2.scale(1 / sx, 1 / sy);
         g2.translate(-x, -y);
         g2.setTransform(transform);
     }
 
+    private void paintRotatedFrame(final Graphics g, final Image img, final int x, final int y,
+            final double rotation, final int rotationSteps) {
+        Image frame = getRotatedFrame(img, rotation, rotationSteps > 0 ? rotationSteps : DEFAULT_ROTATION_STEPS);
+        Graphics2D g2 = (Graphics2D) g;
+        AffineTransform transform = g2.getTransform();
+        g2.translate(x, y);
+        g2.scale(size.width / (double) frame.getWidth(null), size.height / (double) frame.getHeight(null));
+        g2.drawImage(frame, 0, 0, null);
+        g2.setTransform(transform);
+    }
+
+    private Image getRotatedFrame(final Image img, final double rotation, final int steps) {
+        int step = Math.floorMod((int) Math.round(rotation / (2 * Math.PI) * steps), steps);
+        Map<Integer, Image> frames = rotatedFrames != null ? rotatedFrames.get() : null;
+        Image source = rotatedFramesSource != null ? rotatedFramesSource.get() : null;
+        if (frames == null || source != img || rotatedFrameSteps != steps) {
+            frames = new LinkedHashMap<Integer, Image>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, Image> eldest) {
+                    return size() > MAX_ROTATED_FRAMES;
+                }
+            };
+            // The frames are derived from the raster, hence they can be freed together with it.
+            rotatedFrames = new SoftReference<>(frames);
+            rotatedFramesSource = new WeakReference<>(img);
+            rotatedFrameSteps = steps;
+        }
+        synchronized (frames) {
+            Image frame = frames.get(step);
+            if (frame == null) {
+                frame = createRotatedFrame(img, 2 * Math.PI * step / steps);
+                frames.put(step, frame);
+            }
+            return frame;
+        }
+    }
+
+    List<Image> getRotatedFrameImages() {
+        Map<Integer, Image> frames = rotatedFrames != null ? rotatedFrames.get() : null;
+        if (frames == null) return Collections.emptyList();
+        synchronized (frames) {
+            return new ArrayList<>(frames.values());
+        }
+    }
+
+    /*
+     * Renders the rotated image at device resolution, so painting it doesn't need any further
+     * interpolation.
+     */
+    private Image createRotatedFrame(final Image img, final double rotation) {
+        Dimension frameSize = Scale.scale(scaleX, scaleY, size);
+        BufferedImage frame = new BufferedImage(Math.max(1, frameSize.width), Math.max(1, frameSize.height),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = frame.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        double imageWidth = img.getWidth(null);
+        double imageHeight = img.getHeight(null);
+        g.scale(frame.getWidth() / imageWidth, frame.getHeight() / imageHeight);
+        g.rotate(rotation, imageWidth / 2.0, imageHeight / 2.0);
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return frame;
+    }
+
+    private boolean needsRasterUpdate(final Component c, final double rotation) {
+        if (getRasterImage() == null || (needsReload() && !isStoredRasterValid())) return true;
+        if (!loadedWithExtraScale && !isExactRotation(rotation)) return true;
+        GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
+        return !Scale.equalWithError(scaleX, Scale.getScaleX(gc)) || !Scale.equalWithError(scaleY, Scale.getScaleY(gc));
+    }
+
+    /*
+     * Rasterizes the svg on the icon loader executor. Everything the job needs is captured on the event
+     * dispatch thread and the svg is parsed into a private universe, so the job doesn't share any state
+     * with the icon. The finished image is handed back like a stored raster and the components are
+     * repainted.
+     */
+    private void loadAsync(final Component c, final double rotation) {
+        if (c != null) {
+            if (pendingRepaints == null) pendingRepaints = new ArrayList<>();
+            boolean contained = false;
+            for (WeakReference<Component> ref : pendingRepaints) {
+                if (ref.get() == c) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained) pendingRepaints.add(new WeakReference<>(c));
+        }
+        if (pendingLoad != null) return;
+        if (!loadedWithExtraScale && !isExactRotation(rotation)) loadedWithExtraScale = true;
+        GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
+        double sx = Scale.getScaleX(gc);
+        double sy = Scale.getScaleY(gc);
+        URI svgUri;
+        try {
+            ensureURILoaded();
+            svgUri = uri;
+        } catch (final RuntimeException e) {
+            finishAsyncLoad(null, sx, sy, null, true);
+            return;
+        }
+        Dimension rasterSize = getRasterSize(sx, sy);
+        Object status = getThemeStatus();
+        Map<Object, Object> colors = IconColorMapper.snapshotDefaults(getColorDefaults());
+        boolean cacheable = isRasterCacheable();
+        SVGIcon svgIcon = createSVGIcon();
+        pendingLoad = IconLoader.getAsyncExecutor().submit(() -> {
+            Image img = null;
+            boolean failed = false;
+            try {
+                img = createIsolatedRaster(svgUri, rasterSize, colors, status, cacheable, svgIcon);
+                failed = img == null;
+            } catch (final RuntimeException e) {
+                failed = true;
+                LOGGER.log(Level.SEVERE, "Could not load icon '" + svgUri + "'. " + e.getMessage(), e);
+            }
+            Image loadedImage = img;
+            boolean loadFailed = failed;
+            SwingUtilities.invokeLater(() -> finishAsyncLoad(loadedImage, sx, sy, status, loadFailed));
+        });
+    }
+
+    private void finishAsyncLoad(final Image img, final double sx, final double sy, final Object status,
+            final boolean failed) {
+        pendingLoad = null;
+        // Fall back to synchronous loading to not repeat a failing load on every paint.
+        asyncLoadFailed = failed;
+        // Discard the image if the theme changed while loading. Repainting starts a new load.
+        if (img != null && status == getThemeStatus()) setStoredRaster(img, sx, sy, status);
+        List<WeakReference<Component>> components = pendingRepaints;
+        pendingRepaints = null;
+        if (components == null) return;
+        for (WeakReference<Component> ref : components) {
+            Component target = ref.get();
+            // Renderers aren't displayed themselves. Repaint the component using them instead.
+            while (target != null && target.getParent() instanceof CellRendererPane) {
+                target = target.getParent().getParent();
+            }
+            if (target != null) target.repaint();
+        }
+    }
+
     @Override
     public int getIconWidth() {
         return size.width;
@@ -235,6 +642,26 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
         return size.height;
     }
 
+    /*
+     * The currently rasterized image and the scale it has been rendered for. Used for statistics.
+     */
+    Image getRasterImage() {
+        Reference<Image> ref = image;
+        return ref != null ? ref.get() : null;
+    }
+
+    /*
+     * Simulates the garbage collector clearing the reference to the raster.
+     */
+    void releaseRasterImage() {
+        Reference<Image> ref = image;
+        if (ref != null) ref.clear();
+    }
+
+    double getRasterScale() {
+        return scaleX;
+    }
+
     public SVGIcon getSVGIcon() {
         if (!loaded.get()) ensureSVGLoaded();
         return icon;
@@ -104,9 +104,9 @@ public class DarkUIAwareIcon implements UIAwareIcon, UIResource, Serializable {
 
     protected void loadIcon() {
         if (isDark()) {
-            icon = IconLoader.get(parentClass).getIcon(darkKey, w, h);
+            icon = IconLoader.get(parentClass).getAwareVariant(darkKey, lightKey, w, h);
         } else {
-            icon = IconLoader.get(parentClass).getIcon(lightKey, w, h);
+            icon = IconLoader.get(parentClass).getAwareVariant(lightKey, darkKey, w, h);
         }
         loaded = true;
     }
@@ -132,4 +132,11 @@ public class DarkUIAwareIcon implements UIAwareIcon, UIResource, Serializable {
     public DarkUIAwareIcon getDual() {
         return dual;
     }
+
+    /*
+     * The currently loaded variant or null if the icon hasn't been loaded yet.
+     */
+    Icon getLoadedIcon() {
+        return loaded ? icon : null;
+    }
 }
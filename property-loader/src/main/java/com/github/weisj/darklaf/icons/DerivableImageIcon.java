@@ -29,7 +29,9 @@ import java.util.function.Supplier;
 import javax.accessibility.*;
 import javax.swing.*;
 
+import com.github.weisj.darklaf.util.ImageScaler;
 import com.github.weisj.darklaf.util.LazyValue;
+import com.github.weisj.darklaf.util.Scale;
 
 public class DerivableImageIcon implements DerivableIcon<DerivableImageIcon>, Accessible {
 
@@ -43,6 +45,7 @@ public class DerivableImageIcon implements DerivableIcon<DerivableImageIcon>, Ac
     private final LazyImageValue image;
     private String description;
     private AccessibleContext accessibleContext;
+    private volatile DeviceImage deviceImage;
 
     /**
      * Create a new derivable image icon.
@@ -245,12 +248,35 @@ public class DerivableImageIcon implements DerivableIcon<DerivableImageIcon>, Ac
 
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y) {
-        Image img = image.get();
+        Image img = getImage(g);
         if (img != null) {
-            g.drawImage(img, x, y, width, height, null);
+            // Repaint once the image is loaded, so it can be scaled for the device.
+            g.drawImage(img, x, y, width, height, c);
         }
     }
 
+    /*
+     * Get the image matching the resolution of the device the graphics paint to. The variant for the
+     * last used device scale is kept in the icon, such that repeated painting doesn't have to consult
+     * the shared cache of the ImageScaler.
+     */
+    Image getImage(final Graphics g) {
+        Image img = image.get();
+        if (img == null || !(g instanceof Graphics2D)) return img;
+        double scaleX = Scale.getScaleX((Graphics2D) g);
+        double scaleY = Scale.getScaleY((Graphics2D) g);
+        if (scaleX == 1 && scaleY == 1) return img;
+        int w = (int) Math.round(scaleX * width);
+        int h = (int) Math.round(scaleY * height);
+        DeviceImage device = deviceImage;
+        if (device != null && device.width == w && device.height == h) return device.image;
+        Image scaled = ImageScaler.getScaledImage(getOriginal(), w, h, scalingMode);
+        // The original can't be loaded or is still being loaded. Don't keep it as the device image.
+        if (scaled == null || scaled.getWidth(null) != w || scaled.getHeight(null) != h) return img;
+        deviceImage = new DeviceImage(scaled, w, h);
+        return scaled;
+    }
+
     /**
      * Get the underlying {@link Image}.
      *
@@ -398,13 +424,28 @@ public class DerivableImageIcon implements DerivableIcon<DerivableImageIcon>, Ac
             int width = icon.getIconWidth();
             int height = icon.getIconHeight();
             if (originalImage != null && width > 0 && height > 0) {
-                if (originalImage.getWidth(null) != width || originalImage.getHeight(null) != height) {
+                Image scaled = ImageScaler.getScaledImage(originalImage, width, height, icon.scalingMode);
+                // The original couldn't be loaded. It is scaled when painting instead.
+                if (scaled == null) return originalImage;
+                if (scaled.getWidth(null) != width || scaled.getHeight(null) != height) {
+                    // The original is still being loaded. Let the toolkit scale it once it is available.
                     return originalImage.getScaledInstance(width, height, icon.scalingMode);
-                } else {
-                    return originalImage;
                 }
+                return scaled;
             }
             return null;
         }
     }
+
+    private static final class DeviceImage {
+        private final Image image;
+        private final int width;
+        private final int height;
+
+        private DeviceImage(final Image image, final int width, final int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+    }
 }
@@ -0,0 +1,309 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Pre-rasterized images of svg icons packed into sprite atlases. The atlases of the bundled icons
+ * are created at build time for the default light and dark theme at common scaling factors.
+ *
+ * <p>
+ * Entries are keyed in the same way as the {@link IconDiskCache} i.e. by the content of the svg, the
+ * size of the image and the resolved colors (see {@link RasterKey}). Hence an image is only used if
+ * the icon would be painted identically and icons fall back to rendering the svg otherwise e.g. if
+ * a custom accent color is used.
+ *
+ * <p>
+ * Atlases can be disabled by setting the system property {@value #ATLAS_FLAG} to {@code false}.
+ *
+ * @author Jannis Weis
+ */
+public final class IconAtlas {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IconAtlas.class);
+    public static final String ATLAS_FLAG = "darklaf.iconAtlas";
+    /** The resource directory of the atlases. */
+    public static final String LOCATION = "com/github/weisj/darklaf/icons/atlas/";
+    private static final String INDEX = "atlas.index";
+    private static final String HEADER = "# darklaf icon atlas v1";
+    private static final String SHEET_EXTENSION = ".png";
+
+    private static volatile boolean enabled = !PropertyValue.FALSE.equals(System.getProperty(ATLAS_FLAG));
+    private static final Map<String, SoftReference<BufferedImage>> sheets = new HashMap<>();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static volatile Map<String, Region> index;
+
+    private IconAtlas() {}
+
+    /**
+     * Returns whether there are any atlases available.
+     *
+     * @return true if images can be loaded from atlases.
+     */
+    public static boolean isAvailable() {
+        return enabled && !getIndex().isEmpty();
+    }
+
+    /**
+     * Sets whether images should be loaded from the atlases. By default this is determined by the
+     * system property {@value #ATLAS_FLAG}.
+     *
+     * @param enabled true if the atlases should be used.
+     */
+    public static void setEnabled(final boolean enabled) {
+        IconAtlas.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Load the image with the given key.
+     *
+     * @param key the key as computed by {@link RasterKey#compute(URI, Dimension, Map)}.
+     * @param size the size of the image in device pixels.
+     * @return the image or null if no atlas contains it.
+     */
+    static Image load(final String key, final Dimension size) {
+        Region region = key != null ? getIndex().get(key) : null;
+        if (region == null || region.width != size.width || region.height != size.height) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        BufferedImage sheet = getSheet(region.sheet);
+        if (sheet == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        int[] pixels = sheet.getRGB(region.x, region.y, region.width, region.height, null, 0, region.width);
+        BufferedImage image = new BufferedImage(region.width, region.height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, region.width, region.height, pixels, 0, region.width);
+        hitCount.incrementAndGet();
+        return image;
+    }
+
+    private static Map<String, Region> getIndex() {
+        Map<String, Region> regions = index;
+        if (regions == null) {
+            synchronized (IconAtlas.class) {
+                if (index == null) index = readIndex();
+                regions = index;
+            }
+        }
+        return regions;
+    }
+
+    private static Map<String, Region> readIndex() {
+        URL url = getResource(INDEX);
+        if (url == null) return Collections.emptyMap();
+        Map<String, Region> regions = new HashMap<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                LOGGER.warning("Unsupported icon atlas index '" + line + "'.");
+                return Collections.emptyMap();
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] parts = line.split(" ");
+                if (parts.length != 6) {
+                    LOGGER.warning("Invalid icon atlas entry '" + line + "'.");
+                    continue;
+                }
+                regions.put(parts[0], new Region(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Integer.parseInt(parts[4]), Integer.parseInt(parts[5])));
+            }
+        } catch (final IOException | NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Could not read icon atlas index. " + e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+        LOGGER.fine(() -> "Loaded icon atlas index with " + regions.size() + " entries.");
+        return regions;
+    }
+
+    private static synchronized BufferedImage getSheet(final String name) {
+        SoftReference<BufferedImage> ref = sheets.get(name);
+        BufferedImage sheet = ref != null ? ref.get() : null;
+        if (sheet != null) return sheet;
+        URL url = getResource(name + SHEET_EXTENSION);
+        if (url == null) return null;
+        try {
+            sheet = ImageIO.read(url);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read icon atlas '" + name + "'. " + e.getMessage(), e);
+            return null;
+        }
+        sheets.put(name, new SoftReference<>(sheet));
+        return sheet;
+    }
+
+    private static URL getResource(final String name) {
+        ClassLoader loader = IconAtlas.class.getClassLoader();
+        return loader != null ? loader.getResource(LOCATION + name) : ClassLoader.getSystemResource(LOCATION + name);
+    }
+
+    private static final class Region {
+        private final String sheet;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        private Region(final String sheet, final int x, final int y, final int width, final int height) {
+            this.sheet = sheet;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Packs images into atlases. This is used at build time to create the atlases of the bundled icons.
+     */
+    public static final class Builder {
+
+        private static final int MAX_SHEET_WIDTH = 512;
+
+        private final Map<String, List<Entry>> entries = new LinkedHashMap<>();
+        private final Set<String> keys = new HashSet<>();
+
+        /**
+         * Add the image of an svg to an atlas. Images which are identical to an already added image are
+         * ignored.
+         *
+         * @param sheet the name of the atlas.
+         * @param uri the uri of the svg.
+         * @param size the size of the image in device pixels.
+         * @param colors the properties used to resolve the colors of the svg or null if it isn't themed.
+         * @param image the image.
+         * @return this builder.
+         */
+        public Builder add(final String sheet, final URI uri, final Dimension size, final Map<Object, Object> colors,
+                final Image image) {
+            String key = RasterKey.compute(uri, size, colors);
+            if (key == null) throw new IllegalArgumentException("Could not read svg '" + uri + "'.");
+            if (keys.add(key)) {
+                entries.computeIfAbsent(sheet, k -> new ArrayList<>()).add(new Entry(key, size, image));
+            }
+            return this;
+        }
+
+        /**
+         * Write the atlases and their index to the given directory.
+         *
+         * @param directory the directory. This should correspond to the resource location
+         *        {@link #LOCATION}.
+         * @throws IOException if writing fails.
+         */
+        public void write(final Path directory) throws IOException {
+            Files.createDirectories(directory);
+            StringBuilder indexBuilder = new StringBuilder(HEADER).append('\n');
+            for (Map.Entry<String, List<Entry>> sheet : entries.entrySet()) {
+                String name = sheet.getKey();
+                List<Entry> sheetEntries = sheet.getValue();
+                Dimension sheetSize = pack(sheetEntries);
+                BufferedImage image =
+                        new BufferedImage(sheetSize.width, sheetSize.height, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = image.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                for (Entry entry : sheetEntries) {
+                    g.drawImage(entry.image, entry.x, entry.y, entry.size.width, entry.size.height, null);
+                    indexBuilder.append(entry.key).append(' ').append(name).append(' ').append(entry.x).append(' ')
+                            .append(entry.y).append(' ').append(entry.size.width).append(' ')
+                            .append(entry.size.height).append('\n');
+                }
+                g.dispose();
+                ImageIO.write(image, "png", directory.resolve(name + SHEET_EXTENSION).toFile());
+            }
+            Files.write(directory.resolve(INDEX), indexBuilder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /*
+         * Simple shelf packing. Images are sorted by height and placed in rows.
+         */
+        private Dimension pack(final List<Entry> sheetEntries) {
+            sheetEntries.sort(Comparator.comparingInt((Entry e) -> e.size.height).reversed());
+            int x = 0;
+            int y = 0;
+            int width = 0;
+            int rowHeight = 0;
+            for (Entry entry : sheetEntries) {
+                if (x > 0 && x + entry.size.width > MAX_SHEET_WIDTH) {
+                    x = 0;
+                    y += rowHeight;
+                    rowHeight = 0;
+                }
+                entry.x = x;
+                entry.y = y;
+                x += entry.size.width;
+                width = Math.max(width, x);
+                rowHeight = Math.max(rowHeight, entry.size.height);
+            }
+            return new Dimension(Math.max(1, width), Math.max(1, y + rowHeight));
+        }
+
+        private static final class Entry {
+            private final String key;
+            private final Dimension size;
+            private final Image image;
+            private int x;
+            private int y;
+
+            private Entry(final String key, final Dimension size, final Image image) {
+                this.key = key;
+                this.size = size;
+                this.image = image;
+            }
+        }
+    }
+}
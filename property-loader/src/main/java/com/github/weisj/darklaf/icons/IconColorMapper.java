@@ -23,6 +23,7 @@ package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -41,8 +42,41 @@ import com.kitfox.svg.xml.StyleAttribute;
 /** @author Jannis Weis */
 public final class IconColorMapper {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
+
+    // Copy of the colors of the UIManager defaults for the current theme.
+    private static volatile DefaultsSnapshot uiDefaultsSnapshot;
     private static final Color FALLBACK_COLOR = Color.RED;
 
+    /**
+     * Copies the colors and numbers of the given properties, which is everything patching the colors
+     * of an icon reads. Values missing from custom properties are resolved from the {@link UIManager}
+     * defaults, hence they are included in the copy. The copy can be used off the event dispatch
+     * thread. Copies of the UIManager defaults are reused until the theme status of the
+     * {@link IconLoader} changes.
+     *
+     * <p>
+     * This method has to be called on the event dispatch thread.
+     *
+     * @param defaults the properties or null.
+     * @return the copy or null if the properties are null.
+     */
+    static Map<Object, Object> snapshotDefaults(final Map<Object, Object> defaults) {
+        if (defaults == null || defaults instanceof DefaultsSnapshot) return defaults;
+        Object status = IconLoader.getThemeStatus();
+        boolean uiDefaults = defaults == UIManager.getDefaults();
+        DefaultsSnapshot snapshot = uiDefaultsSnapshot;
+        if (uiDefaults && snapshot != null && snapshot.themeStatus == status) return snapshot;
+        Map<Object, Object> base = uiDefaults ? null : snapshotDefaults(UIManager.getDefaults());
+        snapshot = new DefaultsSnapshot(status);
+        if (base != null) snapshot.putAll(base);
+        for (Map.Entry<Object, Object> entry : defaults.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Color || value instanceof Number) snapshot.put(entry.getKey(), value);
+        }
+        if (uiDefaults) uiDefaultsSnapshot = snapshot;
+        return snapshot;
+    }
+
     public static void patchColors(final SVGIcon svgIcon) {
         patchColors(svgIcon, UIManager.getDefaults());
     }
@@ -86,28 +120,10 @@ public final class IconColorMapper {
                 StyleAttribute opacityFallbacks = getAttribute("opacity-fallback", grad);
                 String opacityKey = getOpacityKey(grad);
 
-                float opacity = getOpacity(opacityKey, getFallbacks(opacityFallbacks), defaults);
-                float opacity1 = opacity;
-                float opacity2 = opacity;
-                if (opacity < 0) {
-                    opacity = 1;
-                    int childCount = grad.getNumChildren();
-                    if (childCount > 0) {
-                        SVGElement elem = grad.getChild(0);
-                        if (elem instanceof Stop) {
-                            opacity1 = getStopOpacity((Stop) elem);
-                        }
-                    }
-                    if (childCount > 1) {
-                        SVGElement elem = grad.getChild(1);
-                        if (elem instanceof Stop) {
-                            opacity2 = getStopOpacity((Stop) elem);
-                        }
-                    }
-
-                    if (opacity1 < 0) opacity1 = opacity;
-                    if (opacity2 < 0) opacity2 = opacity;
-                }
+                float[] opacities = resolveOpacities(opacityKey, getFallbacks(opacityFallbacks),
+                        getStopOpacity(grad, 0), getStopOpacity(grad, 1), defaults);
+                float opacity1 = opacities[0];
+                float opacity2 = opacities[1];
 
                 Color c = resolveColor(id, getFallbacks(colorFallbacks), FALLBACK_COLOR, defaults);
                 Pair<LinearGradient, Runnable> result =
@@ -120,6 +136,39 @@ public final class IconColorMapper {
         }
     }
 
+    /**
+     * Returns the color slot of the given icon if the colors of the icon are defined by a single
+     * gradient with a uniform opacity. Such an icon is painted using a single flat color.
+     *
+     * @param svgIcon the icon. The colors of the icon should already be patched.
+     * @return the color slot or null if the icon doesn't use a single flat color.
+     */
+    static FlatColorSlot getFlatColorSlot(final SVGIcon svgIcon) {
+        SVGDiagram diagram = svgIcon.getSvgUniverse().getDiagram(svgIcon.getSvgURI());
+        SVGElement defs = diagram != null ? diagram.getElement("colors") : null;
+        if (defs == null) return null;
+        LinearGradient gradient = null;
+        for (Object child : defs.getChildren(null)) {
+            if (child instanceof LinearGradient) {
+                if (gradient != null) return null;
+                gradient = (LinearGradient) child;
+            }
+        }
+        if (gradient == null) return null;
+        float stopOpacity1 = getStopOpacity(gradient, 0);
+        float stopOpacity2 = getStopOpacity(gradient, 1);
+        if (stopOpacity1 != stopOpacity2) return null;
+        return new FlatColorSlot(gradient.getId(), getFallbacks(getAttribute("fallback", gradient)),
+                getOpacityKey(gradient), getFallbacks(getAttribute("opacity-fallback", gradient)), stopOpacity1);
+    }
+
+    private static float[] resolveOpacities(final String opacityKey, final String[] opacityFallbacks,
+            final float stopOpacity1, final float stopOpacity2, final Map<Object, Object> defaults) {
+        float opacity = getOpacity(opacityKey, opacityFallbacks, defaults);
+        if (opacity >= 0) return new float[] {opacity, opacity};
+        return new float[] {stopOpacity1 < 0 ? 1 : stopOpacity1, stopOpacity2 < 0 ? 1 : stopOpacity2};
+    }
+
     public static float getOpacity(final LinearGradient gradient, final Map<Object, Object> propertyMap) {
         String opacityKey = getOpacityKey(gradient);
         return getOpacity(opacityKey, null, propertyMap);
@@ -154,6 +203,12 @@ public final class IconColorMapper {
         return attribute;
     }
 
+    private static float getStopOpacity(final LinearGradient gradient, final int index) {
+        if (gradient.getNumChildren() <= index) return -1;
+        SVGElement elem = gradient.getChild(index);
+        return elem instanceof Stop ? getStopOpacity((Stop) elem) : -1;
+    }
+
     private static float getStopOpacity(final Stop stop) {
         StyleAttribute attribute = new StyleAttribute();
         attribute.setName("stop-opacity");
@@ -240,7 +295,10 @@ public final class IconColorMapper {
     private static <T> T get(final Map<Object, Object> map, final Object key, final Object[] fallbacks,
             final Class<T> type) {
         T obj = getFromMap(map, key, fallbacks, type);
-        if (obj == null) return getFromMap(UIManager.getDefaults(), key, fallbacks, type);
+        // Snapshots are used off the event dispatch thread and already contain all values.
+        if (obj == null && !(map instanceof DefaultsSnapshot)) {
+            return getFromMap(UIManager.getDefaults(), key, fallbacks, type);
+        }
         return obj;
     }
 
@@ -259,4 +317,47 @@ public final class IconColorMapper {
     private static String toHexString(final Color color) {
         return "#" + ColorUtil.toHex(color);
     }
+
+    /**
+     * A color definition of an icon which is painted as a single flat color.
+     *
+     * @see #getFlatColorSlot(SVGIcon)
+     */
+    static final class FlatColorSlot {
+        private final String id;
+        private final String[] fallbacks;
+        private final String opacityKey;
+        private final String[] opacityFallbacks;
+        private final float stopOpacity;
+
+        private FlatColorSlot(final String id, final String[] fallbacks, final String opacityKey,
+                final String[] opacityFallbacks, final float stopOpacity) {
+            this.id = id;
+            this.fallbacks = fallbacks;
+            this.opacityKey = opacityKey;
+            this.opacityFallbacks = opacityFallbacks;
+            this.stopOpacity = stopOpacity;
+        }
+
+        /**
+         * Resolves the color in the same way patching the icon would.
+         *
+         * @param defaults the properties to resolve the color from.
+         * @return the color. The alpha value corresponds to the opacity of the color.
+         */
+        Color resolve(final Map<Object, Object> defaults) {
+            Color c = resolveColor(id, fallbacks, FALLBACK_COLOR, defaults);
+            float opacity = resolveOpacities(opacityKey, opacityFallbacks, stopOpacity, stopOpacity, defaults)[0];
+            int alpha = Math.round(Math.max(0, Math.min(1, opacity)) * 255);
+            return new Color(c.getRed(), c.getGreen(), c.getBlue(), alpha);
+        }
+    }
+
+    private static final class DefaultsSnapshot extends HashMap<Object, Object> {
+        private final transient Object themeStatus;
+
+        private DefaultsSnapshot(final Object themeStatus) {
+            this.themeStatus = themeStatus;
+        }
+    }
 }
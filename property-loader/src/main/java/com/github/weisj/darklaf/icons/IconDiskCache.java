@@ -0,0 +1,320 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Persistent cache for the rasterized images of svg icons. If a cache directory is set, the images
+ * are stored across application runs and icons found in the cache are painted without parsing the
+ * svg.
+ *
+ * <p>
+ * Images are keyed by the content of the svg, the size of the image in device pixels and the
+ * resolved values of the colors the svg references (see {@link RasterKey}). Hence entries never
+ * become stale, but the directory may grow over time and can be emptied using {@link #clear()}. Images
+ * which are already stored are never written again. New images are written on a background thread.
+ *
+ * <p>
+ * The cache is disabled by default. It can be enabled through {@link #setDirectory(Path)} or the
+ * system property {@value #DIRECTORY_PROPERTY}.
+ *
+ * @author Jannis Weis
+ */
+public final class IconDiskCache {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IconDiskCache.class);
+    public static final String DIRECTORY_PROPERTY = "darklaf.iconDiskCache";
+
+    private static final int MAGIC = 0x444C4943;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final String SUFFIX = ".raster";
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static volatile Path directory = readDirectory();
+    private static final long SHUTDOWN_WRITE_TIMEOUT = 2000;
+    private static ExecutorService writer;
+
+    private IconDiskCache() {}
+
+    private static Path readDirectory() {
+        String value = System.getProperty(DIRECTORY_PROPERTY);
+        if (value == null || value.trim().isEmpty()) return null;
+        try {
+            return Paths.get(value.trim());
+        } catch (final InvalidPathException e) {
+            LOGGER.warning("Invalid path '" + value + "' for " + DIRECTORY_PROPERTY + ". " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Set the directory the images are stored in.
+     *
+     * @param dir the directory or null if the cache should be disabled.
+     */
+    public static void setDirectory(final Path dir) {
+        directory = dir;
+    }
+
+    public static Path getDirectory() {
+        return directory;
+    }
+
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /** Removes all images stored in the cache directory. */
+    public static void clear() {
+        Path dir = directory;
+        if (dir == null || !Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not clear icon cache '" + dir + "'. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load the image of the given svg.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param colors the properties used to resolve the colors of the svg or null if it isn't themed.
+     * @return the image or null if it isn't contained in the cache.
+     */
+    static Image load(final URI uri, final Dimension size, final Map<Object, Object> colors) {
+        return load(fileFor(uri, size, colors), size);
+    }
+
+    /**
+     * Load the image with the given key.
+     *
+     * @param key the key as computed by {@link RasterKey#compute(URI, Dimension, Map)}.
+     * @param size the size of the image in device pixels.
+     * @return the image or null if it isn't contained in the cache.
+     */
+    static Image load(final String key, final Dimension size) {
+        return load(fileFor(key), size);
+    }
+
+    private static Image load(final Path file, final Dimension size) {
+        if (file == null || !Files.isRegularFile(file)) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize != HEADER_SIZE + 4L * size.width * size.height) {
+                missCount.incrementAndGet();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != size.width
+                    || buffer.getInt() != size.height) {
+                missCount.incrementAndGet();
+                return null;
+            }
+            int[] pixels = new int[size.width * size.height];
+            buffer.asIntBuffer().get(pixels);
+            BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+            image.getRaster().setDataElements(0, 0, size.width, size.height, pixels);
+            hitCount.incrementAndGet();
+            return image;
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Could not read cached icon '" + file + "'. " + e.getMessage(), e);
+            missCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Store the image of the given svg on a background thread. The colors are copied on the calling
+     * thread, which has to be the event dispatch thread if they are the UIManager defaults.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param colors the properties used to resolve the colors of the svg or null if it isn't themed.
+     * @param image the image. It must not be modified afterwards.
+     */
+    static void storeAsync(final URI uri, final Dimension size, final Map<Object, Object> colors,
+            final Image image) {
+        if (!isEnabled() || image == null) return;
+        Map<Object, Object> snapshot = IconColorMapper.snapshotDefaults(colors);
+        Dimension imageSize = new Dimension(size);
+        getWriter().execute(() -> store(uri, imageSize, snapshot, image));
+    }
+
+    private static synchronized ExecutorService getWriter() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "Icon Disk Cache Writer");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(() -> awaitPendingWrites(SHUTDOWN_WRITE_TIMEOUT), "Icon Disk Cache Flush"));
+        }
+        return writer;
+    }
+
+    /**
+     * Wait until all images passed to {@link #storeAsync(URI, Dimension, Map, Image)} so far are
+     * written.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds.
+     * @return true if all images have been written.
+     */
+    static boolean awaitPendingWrites(final long timeoutMillis) {
+        ExecutorService executor;
+        synchronized (IconDiskCache.class) {
+            executor = writer;
+        }
+        if (executor == null) return true;
+        try {
+            // The writer runs its tasks in order.
+            executor.submit(() -> {}).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Store the image of the given svg. Does nothing if an image is already stored for the svg.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param colors the properties used to resolve the colors of the svg or null if it isn't themed.
+     * @param image the image.
+     */
+    static void store(final URI uri, final Dimension size, final Map<Object, Object> colors, final Image image) {
+        store(fileFor(uri, size, colors), size, image);
+    }
+
+    /**
+     * Store the image with the given key. Does nothing if an image is already stored for the key.
+     *
+     * @param key the key as computed by {@link RasterKey#compute(URI, Dimension, Map)}.
+     * @param size the size of the image in device pixels.
+     * @param image the image.
+     */
+    static void store(final String key, final Dimension size, final Image image) {
+        store(fileFor(key), size, image);
+    }
+
+    private static void store(final Path file, final Dimension size, final Image image) {
+        if (file == null || image == null || size.width <= 0 || size.height <= 0) return;
+        // Entries never become stale as the key covers everything the image depends on.
+        if (Files.exists(file)) return;
+        int[] pixels = getPixels(image, size);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 4 * pixels.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size.width).putInt(size.height);
+        IntBuffer intBuffer = buffer.asIntBuffer();
+        intBuffer.put(pixels);
+        buffer.rewind();
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Could not write cached icon '" + file + "'. " + e.getMessage(), e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (final IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static int[] getPixels(final Image image, final Dimension size) {
+        BufferedImage img;
+        if (image instanceof BufferedImage && ((BufferedImage) image).getWidth() == size.width
+                && ((BufferedImage) image).getHeight() == size.height) {
+            img = (BufferedImage) image;
+        } else {
+            img = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+            Graphics g = img.getGraphics();
+            g.drawImage(image, 0, 0, size.width, size.height, null);
+            g.dispose();
+        }
+        return img.getRGB(0, 0, size.width, size.height, null, 0, size.width);
+    }
+
+    private static Path fileFor(final URI uri, final Dimension size, final Map<Object, Object> colors) {
+        String key = RasterKey.compute(uri, size, colors);
+        return key != null ? fileFor(key) : null;
+    }
+
+    private static Path fileFor(final String key) {
+        Path dir = directory;
+        if (dir == null) return null;
+        return dir.resolve(key + SUFFIX);
+    }
+}
@@ -22,42 +22,82 @@
 package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.swing.*;
 
-import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyValue;
 
-/** @author Jannis Weis */
+/**
+ * Loads and caches icons relative to a resource root.
+ *
+ * <p>
+ * Icon loaders are thread safe. Icons may be resolved concurrently from any thread and concurrent
+ * requests for the same icon return the same instance if caching is enabled. Painting the icons is
+ * still subject to the threading rules of Swing.
+ *
+ * @author Jannis Weis
+ */
 public final class IconLoader {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
-    private static final Map<Class<?>, IconLoader> iconLoaderMap = new HashMap<>();
-    private static final LazyValue<IconLoader> instance = new LazyValue<>(() -> get(null));
+    // ConcurrentHashMap doesn't permit null keys. This key represents the loader without a parent class.
+    private static final Object ROOT_KEY = new Object();
+    static final String ROOT_NAME = "root";
+    private static final Map<Object, IconLoader> iconLoaderMap = new ConcurrentHashMap<>();
 
     private static final AtomicReference<Object> currentThemeKey = new AtomicReference<>(null);
     private static final AtomicReference<AwareIconStyle> currentAwareStyle = new AtomicReference<>(null);
 
+    public static final String ASYNC_LOADING_FLAG = "darklaf.asyncIconLoading";
+    private static volatile boolean asyncLoadingEnabled =
+            PropertyValue.TRUE.equals(System.getProperty(ASYNC_LOADING_FLAG));
+    private static ExecutorService asyncExecutor;
+
+    public static final String STATISTICS_MBEAN_FLAG = "darklaf.iconStatisticsMBean";
+
+    static {
+        if (PropertyValue.TRUE.equals(System.getProperty(STATISTICS_MBEAN_FLAG))) {
+            registerStatisticsMBean();
+        }
+    }
+
     private static final int DEFAULT_W = 16;
     private static final int DEFAULT_H = 16;
     private final Class<?> parentClass;
 
-    private boolean cacheEnabled = true;
-    private final Map<IconKey, DarkUIAwareIcon> awareIconMap = new HashMap<>();
-    private final Map<IconKey, Icon> iconMap = new HashMap<>();
+    private volatile boolean cacheEnabled = true;
+    private final Map<IconKey, DarkUIAwareIcon> awareIconMap = new ConcurrentHashMap<>();
+    private final Map<IconKey, Icon> iconMap = new ConcurrentHashMap<>();
+    /*
+     * The first derivable icon cached for each path. Icons of other sizes are derived from it.
+     */
+    private final Map<String, Icon> derivableIconMap = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder cacheMissCount = new LongAdder();
+    private final LongAdder uncachedCount = new LongAdder();
 
     private IconLoader(final Class<?> parentClass) {
         this.parentClass = parentClass;
-        iconLoaderMap.put(parentClass, this);
     }
 
     /**
@@ -66,7 +106,7 @@ public final class IconLoader {
      * @return the default icon loader.
      */
     public static IconLoader get() {
-        return instance.get();
+        return get(null);
     }
 
     /**
@@ -75,13 +115,8 @@ public final class IconLoader {
      * @return the default icon loader.
      */
     public static IconLoader get(final Class<?> parentClass) {
-        if (iconLoaderMap.containsKey(parentClass)) {
-            return iconLoaderMap.get(parentClass);
-        } else {
-            IconLoader loader = new IconLoader(parentClass);
-            iconLoaderMap.put(parentClass, loader);
-            return loader;
-        }
+        Object key = parentClass != null ? parentClass : ROOT_KEY;
+        return iconLoaderMap.computeIfAbsent(key, k -> new IconLoader(parentClass));
     }
 
     /**
@@ -102,6 +137,47 @@ public final class IconLoader {
         return cacheEnabled;
     }
 
+    /**
+     * Sets whether svg icons should be loaded asynchronously. If enabled, svg icons painted on the event
+     * dispatch thread are parsed and rasterized on a background thread. Until the image is ready the
+     * icon paints its previous image if available and nothing otherwise. The painting component is
+     * repainted once the image is ready. By default this is determined by the system property
+     * {@value #ASYNC_LOADING_FLAG}.
+     *
+     * @param enabled true if icons should be loaded asynchronously.
+     */
+    public static void setAsyncLoadingEnabled(final boolean enabled) {
+        asyncLoadingEnabled = enabled;
+    }
+
+    /**
+     * Returns whether svg icons are loaded asynchronously.
+     *
+     * @return true if asynchronous loading is enabled.
+     * @see #setAsyncLoadingEnabled(boolean)
+     */
+    public static boolean isAsyncLoadingEnabled() {
+        return asyncLoadingEnabled;
+    }
+
+    /*
+     * Jobs on this executor must not touch the svg documents of the shared universe, as the event
+     * dispatch thread uses them without synchronization. They parse the svg into a private universe
+     * instead (see DarkSVGIcon#createIsolatedRaster). A single low priority thread keeps the jobs from
+     * competing with the event dispatch thread.
+     */
+    static synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, "Icon Loader Thread");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return asyncExecutor;
+    }
+
     /**
      * Updates the style of aware icons. Changing it will force aware icons to change their appearance
      * accordingly.
@@ -120,6 +196,7 @@ public final class IconLoader {
      */
     public static void updateThemeStatus(final Object theme) {
         currentThemeKey.set(theme);
+        IconWarmup.onThemeInstalled(theme);
     }
 
     /** Reload all created frame icons if necessary. */
@@ -168,14 +245,43 @@ public final class IconLoader {
      * @return the icon.
      */
     public DarkUIAwareIcon getUIAwareIcon(final String path, final int w, final int h) {
+        if (!isCacheEnabled()) {
+            uncachedCount.increment();
+            return createUIAwareIcon(path, w, h);
+        }
         IconKey key = new IconKey(path, w, h);
-        if (isCacheEnabled() && awareIconMap.containsKey(key)) {
-            return awareIconMap.get(key);
-        } else {
-            DarkUIAwareIcon icon = createUIAwareIcon(path, w, h);
-            cache(awareIconMap, key, icon);
+        DarkUIAwareIcon icon = awareIconMap.get(key);
+        if (icon != null) {
+            cacheHitCount.increment();
             return icon;
         }
+        return awareIconMap.computeIfAbsent(key, k -> {
+            cacheMissCount.increment();
+            return createUIAwareIcon(path, w, h);
+        });
+    }
+
+    /*
+     * Both variants of aware icons frequently use the same svg. In this case they are resolved to the
+     * same path, so they share the loaded svg and its rasters.
+     */
+    Icon getAwareVariant(final String path, final String dualPath, final int w, final int h) {
+        if (isSVGIcon(path) && isSVGIcon(dualPath) && hasSameContent(path, dualPath)) {
+            return getIcon(path.compareTo(dualPath) <= 0 ? path : dualPath, w, h);
+        }
+        return getIcon(path, w, h);
+    }
+
+    private boolean hasSameContent(final String path, final String otherPath) {
+        URL url = getResource(path);
+        URL otherUrl = getResource(otherPath);
+        if (url == null || otherUrl == null) return false;
+        try {
+            byte[] digest = RasterKey.getContentDigest(url.toURI());
+            return digest != null && Arrays.equals(digest, RasterKey.getContentDigest(otherUrl.toURI()));
+        } catch (final URISyntaxException e) {
+            return false;
+        }
     }
 
     /*
@@ -241,49 +347,113 @@ public final class IconLoader {
      */
     public Icon getIcon(final String path, final int w, final int h, final boolean themed) {
         IconKey key = new IconKey(path, w, h);
+        if (!isCacheEnabled()) {
+            uncachedCount.increment();
+            return createIcon(key, themed);
+        }
+
+        Icon icon = iconMap.get(key);
+        if (icon == null) icon = awareIconMap.get(key);
+        if (icon != null) {
+            cacheHitCount.increment();
+            return icon;
+        }
 
-        if (isCacheEnabled()) {
-            if (iconMap.containsKey(key)) {
-                return iconMap.get(key);
-            } else if (awareIconMap.containsKey(key)) {
-                return awareIconMap.get(key);
+        return iconMap.computeIfAbsent(key, k -> {
+            cacheMissCount.increment();
+            Icon created = deriveIcon(k);
+            if (created == null) {
+                created = createIcon(k, themed);
+                if (created instanceof DerivableIcon) derivableIconMap.putIfAbsent(path, created);
+            }
+            if (created instanceof DarkSVGIcon) {
+                ((DarkSVGIcon) created).setWarmupEntry(IconWarmup.createEntry(this, path, w, h, themed));
             }
-            Icon icon = getWildcardIcon(iconMap, key, w, h);
-            if (icon != null) return icon;
+            return created;
+        });
+    }
+
+    /**
+     * Take a snapshot of the icons held by all icon loaders.
+     *
+     * @return the statistics.
+     */
+    public static IconStatistics getStatistics() {
+        return IconStatistics.create(iconLoaderMap.values());
+    }
+
+    /**
+     * Register an {@link IconStatisticsMXBean} with the platform MBean server. This is done
+     * automatically if the system property {@value #STATISTICS_MBEAN_FLAG} is set to true.
+     *
+     * @return true if the bean is registered.
+     */
+    public static synchronized boolean registerStatisticsMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(IconStatisticsBean.OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(new IconStatisticsBean(), name);
+            return true;
+        } catch (final JMException | SecurityException e) {
+            LOGGER.log(Level.WARNING, "Could not register icon statistics bean.", e);
+            return false;
         }
+    }
 
-        // Icon not found or caching is disabled.
-        if (isSVGIcon(path)) {
-            Icon icon = loadSVGIcon(path, w, h, themed);
-            cache(iconMap, key, icon);
-            return icon;
+    String getName() {
+        return parentClass != null ? parentClass.getName() : ROOT_NAME;
+    }
+
+    Set<Map.Entry<IconKey, Icon>> getCachedIcons() {
+        return iconMap.entrySet();
+    }
+
+    Set<Map.Entry<IconKey, DarkUIAwareIcon>> getCachedAwareIcons() {
+        return awareIconMap.entrySet();
+    }
+
+    int getCachedIconCount() {
+        return iconMap.size();
+    }
+
+    int getCachedAwareIconCount() {
+        return awareIconMap.size();
+    }
+
+    long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    long getCacheMissCount() {
+        return cacheMissCount.sum();
+    }
+
+    long getUncachedCount() {
+        return uncachedCount.sum();
+    }
+
+    Icon createUncachedIcon(final String path, final int w, final int h, final boolean themed) {
+        return createIcon(new IconKey(path, w, h), themed);
+    }
+
+    private Icon createIcon(final IconKey key, final boolean themed) {
+        if (isSVGIcon(key.path)) {
+            return loadSVGIcon(key.path, key.w, key.h, themed);
         } else {
-            Icon icon = new DerivableImageIcon(new LazyImageIconSupplier(path, key, parentClass), w, h);
-            cache(iconMap, key, icon);
-            return icon;
+            return new DerivableImageIcon(new LazyImageIconSupplier(key.path, key, parentClass), key.w, key.h);
         }
     }
 
-    private Icon getWildcardIcon(final Map<IconKey, Icon> iconMap, final IconKey iconKey, final int w, final int h) {
-        iconKey.isWildcardEnabled = true;
-        Icon icon = iconMap.get(iconKey);
+    private Icon deriveIcon(final IconKey key) {
+        Icon icon = derivableIconMap.get(key.path);
         if (icon instanceof DerivableIcon) {
             @SuppressWarnings("unchecked")
-            Icon derived = ((DerivableIcon<Icon>) icon).derive(w, h);
-            iconKey.isWildcardEnabled = false;
-            cache(iconMap, iconKey, derived);
+            Icon derived = ((DerivableIcon<Icon>) icon).derive(key.w, key.h);
             return derived;
         }
-        iconKey.isWildcardEnabled = false;
         return null;
     }
 
-    private <T extends Icon> void cache(final Map<IconKey, T> iconMap, final IconKey key, final T icon) {
-        if (cacheEnabled) {
-            iconMap.put(key, icon);
-        }
-    }
-
     /**
      * Get an svg icon at the specified location. will be loaded as an svg.icon. Uses 16x16 icons by
      * default.
@@ -405,11 +575,14 @@ public final class IconLoader {
         return path != null && path.endsWith(".svg");
     }
 
+    /*
+     * The size of keys of image icons is updated once the icon is loaded. The hash code only depends
+     * on the path, hence this doesn't affect the position of the key in the maps.
+     */
     protected static final class IconKey {
         final String path;
-        int w;
-        int h;
-        boolean isWildcardEnabled;
+        volatile int w;
+        volatile int h;
 
         private IconKey(final String path, final int w, final int h) {
             this.path = path;
@@ -429,10 +602,6 @@ public final class IconLoader {
 
             IconKey iconKey = (IconKey) o;
 
-            if (iconKey.isWildcardEnabled || this.isWildcardEnabled) {
-                // Math any size.
-                return Objects.equals(path, iconKey.path);
-            }
             if (w != iconKey.w) return false;
             if (h != iconKey.h) return false;
             return Objects.equals(path, iconKey.path);
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Global counters of the work done to load icons. The snapshot is taken by IconLoader#getStatistics.
+ */
+final class IconMetrics {
+
+    private static final LongAdder parseCount = new LongAdder();
+    private static final LongAdder parseTime = new LongAdder();
+    private static final LongAdder rasterCount = new LongAdder();
+    private static final LongAdder rasterTime = new LongAdder();
+
+    private IconMetrics() {}
+
+    static void recordParse(final long nanos) {
+        parseCount.increment();
+        parseTime.add(nanos);
+    }
+
+    static void recordRaster(final long nanos) {
+        rasterCount.increment();
+        rasterTime.add(nanos);
+    }
+
+    static long getParseCount() {
+        return parseCount.sum();
+    }
+
+    static long getParseTime() {
+        return parseTime.sum();
+    }
+
+    static long getRasterCount() {
+        return rasterCount.sum();
+    }
+
+    static long getRasterTime() {
+        return rasterTime.sum();
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Global cache for the rasterized images of svg icons. Icons which display the same svg at the same
+ * size, scale and theme share a single image.
+ *
+ * <p>
+ * The cache is a sharing table bounded by a memory budget. If the budget is exceeded the least
+ * recently used images are evicted. The budget can be set through {@link #setMemoryBudget(long)} or
+ * the system property {@value #BUDGET_PROPERTY} (in bytes).
+ *
+ * <p>
+ * Icons only reference their image softly. Hence evicted images are freed by the garbage collector
+ * if memory gets low, and the icons displaying them rasterize the svg again on their next paint. The
+ * budget thus bounds the memory which is retained regardless of memory pressure. The memory of all
+ * rasters is reported by {@link IconStatistics}.
+ *
+ * @author Jannis Weis
+ */
+public final class IconRasterCache {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IconRasterCache.class);
+    public static final String BUDGET_PROPERTY = "darklaf.iconRasterCacheBudget";
+    private static final long DEFAULT_BUDGET = 16 * 1024 * 1024;
+    private static final int MAX_DOWNSAMPLE_FACTOR = 4;
+
+    private static final Map<Key, Image> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private static long memoryBudget = readBudget();
+    private static long memoryUsage;
+    private static long hitCount;
+    private static long missCount;
+    private static long evictionCount;
+
+    private IconRasterCache() {}
+
+    private static long readBudget() {
+        String value = System.getProperty(BUDGET_PROPERTY);
+        if (value == null) return DEFAULT_BUDGET;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            LOGGER.warning("Invalid value '" + value + "' for " + BUDGET_PROPERTY + ". Using default.");
+            return DEFAULT_BUDGET;
+        }
+    }
+
+    /**
+     * Get the image for the given svg. If no image is cached it is created using the given factory.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param themeToken token identifying the colors the svg is painted with or null if the svg isn't
+     *        themed.
+     * @param factory the factory to create the image.
+     * @return the image.
+     */
+    static Image get(final URI uri, final Dimension size, final Object themeToken, final Supplier<Image> factory) {
+        Key key = new Key(uri, size.width, size.height, themeToken);
+        synchronized (IconRasterCache.class) {
+            Image image = cache.get(key);
+            if (image != null) {
+                hitCount++;
+                return image;
+            }
+            missCount++;
+        }
+        Image image = factory.get();
+        if (image == null) return null;
+        long imageSize = sizeOf(image);
+        synchronized (IconRasterCache.class) {
+            if (imageSize > memoryBudget) return image;
+            Image old = cache.put(key, image);
+            if (old != null) memoryUsage -= sizeOf(old);
+            memoryUsage += imageSize;
+            evict(memoryBudget);
+        }
+        return image;
+    }
+
+    /**
+     * Create the image for the given svg by downsampling a larger cached image of it. Only integral
+     * factors are used as other factors would noticeably blur the image compared to rendering the svg.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param themeToken token identifying the colors the svg is painted with or null if the svg isn't
+     *        themed.
+     * @return the image or null if no suitable image is cached.
+     */
+    static Image getDownsampled(final URI uri, final Dimension size, final Object themeToken) {
+        if (size.width <= 0 || size.height <= 0) return null;
+        for (int factor = 2; factor <= MAX_DOWNSAMPLE_FACTOR; factor++) {
+            Image source;
+            synchronized (IconRasterCache.class) {
+                source = cache.get(new Key(uri, factor * size.width, factor * size.height, themeToken));
+            }
+            if (source instanceof BufferedImage) {
+                return downsample((BufferedImage) source, factor, size);
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Box filter in premultiplied space, so transparent pixels don't bleed their color into the edges.
+     */
+    private static BufferedImage downsample(final BufferedImage source, final int factor, final Dimension size) {
+        int sourceWidth = size.width * factor;
+        int[] src = source.getRGB(0, 0, sourceWidth, size.height * factor, null, 0, sourceWidth);
+        int[] dst = new int[size.width * size.height];
+        int count = factor * factor;
+        for (int y = 0; y < size.height; y++) {
+            for (int x = 0; x < size.width; x++) {
+                long a = 0;
+                long r = 0;
+                long g = 0;
+                long b = 0;
+                for (int dy = 0; dy < factor; dy++) {
+                    int row = (y * factor + dy) * sourceWidth + x * factor;
+                    for (int dx = 0; dx < factor; dx++) {
+                        int argb = src[row + dx];
+                        int alpha = argb >>> 24;
+                        a += alpha;
+                        r += ((argb >> 16) & 0xFF) * alpha;
+                        g += ((argb >> 8) & 0xFF) * alpha;
+                        b += (argb & 0xFF) * alpha;
+                    }
+                }
+                if (a == 0) continue;
+                int alpha = (int) ((a + count / 2) / count);
+                dst[y * size.width + x] = (alpha << 24) | (int) ((r + a / 2) / a) << 16 | (int) ((g + a / 2) / a) << 8
+                        | (int) ((b + a / 2) / a);
+            }
+        }
+        BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        image.getRaster().setDataElements(0, 0, size.width, size.height, dst);
+        return image;
+    }
+
+    private static void evict(final long budget) {
+        Iterator<Image> iterator = cache.values().iterator();
+        while (memoryUsage > budget && iterator.hasNext()) {
+            memoryUsage -= sizeOf(iterator.next());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    static long sizeOf(final Image image) {
+        if (image instanceof BufferedImage) {
+            BufferedImage img = (BufferedImage) image;
+            return (long) img.getWidth() * img.getHeight() * Math.max(1, img.getColorModel().getPixelSize() / 8);
+        }
+        return (long) Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null)) * 4;
+    }
+
+    /**
+     * Set the memory budget of the sharing table. If the table currently exceeds the budget the least
+     * recently used images are evicted. Images still displayed by icons are only freed once memory
+     * gets low.
+     *
+     * @param bytes the budget in bytes. A budget of 0 disables the cache.
+     */
+    public static synchronized void setMemoryBudget(final long bytes) {
+        if (bytes < 0) throw new IllegalArgumentException("Negative budget " + bytes);
+        memoryBudget = bytes;
+        evict(memoryBudget);
+    }
+
+    public static synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * The approximate number of bytes used by the cached images.
+     *
+     * @return the memory usage in bytes.
+     */
+    public static synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public static synchronized int getSize() {
+        return cache.size();
+    }
+
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /** Removes all images from the cache. The counters are not reset. */
+    public static synchronized void clear() {
+        cache.clear();
+        memoryUsage = 0;
+    }
+
+    private static final class Key {
+        private final URI uri;
+        private final int width;
+        private final int height;
+        private final Object themeToken;
+
+        private Key(final URI uri, final int width, final int height, final Object themeToken) {
+            this.uri = uri;
+            this.width = width;
+            this.height = height;
+            this.themeToken = themeToken;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return width == key.width && height == key.height && uri.equals(key.uri)
+                    && themeToken == key.themeToken;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, width, height, System.identityHashCode(themeToken));
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import javax.swing.*;
+
+/**
+ * Snapshot of the icons held by all {@link IconLoader}s and the work done to load them.
+ *
+ * Icons which share their rasterized image are each reported with the full size of the image. The
+ * total raster memory only counts every image once. The reported size of an icon includes the frames
+ * pre-rendered for rotations.
+ *
+ * @see IconLoader#getStatistics()
+ * @author Jannis Weis
+ */
+public final class IconStatistics {
+
+    /** The number of icons reported by {@link #getLargestIcons()}. */
+    public static final int LARGEST_ICON_COUNT = 20;
+
+    private final List<LoaderStatistics> loaderStatistics;
+    private final List<IconEntry> largestIcons;
+    private final Map<Double, Long> rasterBytesByScale;
+    private final long rasterBytes;
+    private final long parseCount;
+    private final long parseTime;
+    private final long rasterCount;
+    private final long rasterTime;
+
+    private IconStatistics(final List<LoaderStatistics> loaderStatistics, final List<IconEntry> largestIcons,
+            final Map<Double, Long> rasterBytesByScale, final long rasterBytes) {
+        this.loaderStatistics = Collections.unmodifiableList(loaderStatistics);
+        this.largestIcons = Collections.unmodifiableList(largestIcons);
+        this.rasterBytesByScale = Collections.unmodifiableMap(rasterBytesByScale);
+        this.rasterBytes = rasterBytes;
+        this.parseCount = IconMetrics.getParseCount();
+        this.parseTime = IconMetrics.getParseTime();
+        this.rasterCount = IconMetrics.getRasterCount();
+        this.rasterTime = IconMetrics.getRasterTime();
+    }
+
+    public List<LoaderStatistics> getLoaderStatistics() {
+        return loaderStatistics;
+    }
+
+    /**
+     * The icons with the largest rasterized images sorted by their size in descending order.
+     *
+     * @return at most {@link #LARGEST_ICON_COUNT} icons.
+     */
+    public List<IconEntry> getLargestIcons() {
+        return largestIcons;
+    }
+
+    /**
+     * The memory used by rasterized images grouped by the scale factor they have been rendered for.
+     *
+     * @return map from the horizontal scale factor to the used memory in bytes.
+     */
+    public Map<Double, Long> getRasterBytesByScale() {
+        return rasterBytesByScale;
+    }
+
+    /**
+     * The approximate memory used by the rasterized images of all icons.
+     *
+     * @return the memory in bytes.
+     */
+    public long getRasterBytes() {
+        return rasterBytes;
+    }
+
+    public int getIconCount() {
+        return loaderStatistics.stream().mapToInt(LoaderStatistics::getIconCount).sum();
+    }
+
+    public int getAwareIconCount() {
+        return loaderStatistics.stream().mapToInt(LoaderStatistics::getAwareIconCount).sum();
+    }
+
+    public int getRasterizedIconCount() {
+        return loaderStatistics.stream().mapToInt(LoaderStatistics::getRasterizedIconCount).sum();
+    }
+
+    public long getCacheHitCount() {
+        return loaderStatistics.stream().mapToLong(LoaderStatistics::getCacheHitCount).sum();
+    }
+
+    public long getCacheMissCount() {
+        return loaderStatistics.stream().mapToLong(LoaderStatistics::getCacheMissCount).sum();
+    }
+
+    /**
+     * The number of icons created while caching was disabled. A steadily increasing value usually
+     * means icons are created per component.
+     *
+     * @return the number of uncached icons.
+     */
+    public long getUncachedCount() {
+        return loaderStatistics.stream().mapToLong(LoaderStatistics::getUncachedCount).sum();
+    }
+
+    /**
+     * The ratio of icon requests which have been answered from the cache.
+     *
+     * @return the hit rate between 0 and 1 or 0 if no icons have been requested.
+     */
+    public double getCacheHitRate() {
+        long hits = getCacheHitCount();
+        long total = hits + getCacheMissCount();
+        return total > 0 ? ((double) hits) / total : 0;
+    }
+
+    /**
+     * The number of svg files which have been parsed.
+     *
+     * @return the parse count.
+     */
+    public long getParseCount() {
+        return parseCount;
+    }
+
+    /**
+     * The total time spent parsing svg files.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getParseTime() {
+        return parseTime;
+    }
+
+    /**
+     * The number of images which have been rendered from svg files.
+     *
+     * @return the raster count.
+     */
+    public long getRasterCount() {
+        return rasterCount;
+    }
+
+    /**
+     * The total time spent rendering svg files.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getRasterTime() {
+        return rasterTime;
+    }
+
+    @Override
+    public String toString() {
+        return "IconStatistics{icons=" + getIconCount() + ", awareIcons=" + getAwareIconCount() + ", rasterized="
+                + getRasterizedIconCount() + ", rasterBytes=" + rasterBytes + ", hitRate=" + getCacheHitRate()
+                + ", parsed=" + parseCount + ", rasterized=" + rasterCount + "}";
+    }
+
+    static IconStatistics create(final Collection<IconLoader> loaders) {
+        Collector collector = new Collector();
+        List<LoaderStatistics> loaderStatistics = new ArrayList<>();
+        for (IconLoader loader : loaders) {
+            int rasterized = 0;
+            long loaderBytes = 0;
+            for (Map.Entry<IconLoader.IconKey, Icon> entry : loader.getCachedIcons()) {
+                long bytes = collector.add(loader.getName() + ":" + entry.getKey(), entry.getValue());
+                if (bytes >= 0) {
+                    rasterized++;
+                    loaderBytes += bytes;
+                }
+            }
+            // Variants of aware icons aren't necessarily part of the icon cache e.g. if caching is disabled.
+            for (Map.Entry<IconLoader.IconKey, DarkUIAwareIcon> entry : loader.getCachedAwareIcons()) {
+                DarkUIAwareIcon icon = entry.getValue();
+                String name = loader.getName() + ":" + entry.getKey();
+                for (Icon variant : new Icon[] {icon.getLoadedIcon(), icon.getDual().getLoadedIcon()}) {
+                    long bytes = collector.add(name, variant);
+                    if (bytes >= 0) {
+                        rasterized++;
+                        loaderBytes += bytes;
+                    }
+                }
+            }
+            loaderStatistics.add(new LoaderStatistics(loader.getName(), loader.getCachedIconCount(),
+                    loader.getCachedAwareIconCount(), rasterized, loaderBytes, loader.getCacheHitCount(),
+                    loader.getCacheMissCount(), loader.getUncachedCount()));
+        }
+        List<IconEntry> icons = collector.icons;
+        icons.sort(Comparator.comparingLong(IconEntry::getBytes).reversed());
+        List<IconEntry> largest = new ArrayList<>(icons.subList(0, Math.min(LARGEST_ICON_COUNT, icons.size())));
+        return new IconStatistics(loaderStatistics, largest, collector.bytesByScale, collector.totalBytes);
+    }
+
+    /*
+     * Collects the rasterized images of svg icons. Every icon and image is only counted once.
+     */
+    private static final class Collector {
+        private final List<IconEntry> icons = new ArrayList<>();
+        private final Map<Double, Long> bytesByScale = new TreeMap<>();
+        private final Set<Icon> visitedIcons = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Image> images = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long totalBytes;
+
+        /*
+         * Returns the bytes used by the images of the icon including its rotated frames or -1 if the icon
+         * isn't rasterized or has already been counted.
+         */
+        private long add(final String name, final Icon icon) {
+            if (!(icon instanceof DarkSVGIcon) || !visitedIcons.add(icon)) return -1;
+            DarkSVGIcon svgIcon = (DarkSVGIcon) icon;
+            Image image = svgIcon.getRasterImage();
+            if (image == null) return -1;
+            double scale = svgIcon.getRasterScale();
+            long bytes = addImage(image, scale);
+            for (Image frame : svgIcon.getRotatedFrameImages()) {
+                bytes += addImage(frame, scale);
+            }
+            icons.add(new IconEntry(name, image.getWidth(null), image.getHeight(null), scale, bytes));
+            return bytes;
+        }
+
+        private long addImage(final Image image, final double scale) {
+            long bytes = IconRasterCache.sizeOf(image);
+            if (images.add(image)) {
+                totalBytes += bytes;
+                bytesByScale.merge(scale, bytes, Long::sum);
+            }
+            return bytes;
+        }
+    }
+
+    /** Statistics of a single {@link IconLoader}. */
+    public static final class LoaderStatistics {
+
+        private final String name;
+        private final int iconCount;
+        private final int awareIconCount;
+        private final int rasterizedIconCount;
+        private final long rasterBytes;
+        private final long cacheHitCount;
+        private final long cacheMissCount;
+        private final long uncachedCount;
+
+        private LoaderStatistics(final String name, final int iconCount, final int awareIconCount,
+                final int rasterizedIconCount, final long rasterBytes, final long cacheHitCount,
+                final long cacheMissCount, final long uncachedCount) {
+            this.name = name;
+            this.iconCount = iconCount;
+            this.awareIconCount = awareIconCount;
+            this.rasterizedIconCount = rasterizedIconCount;
+            this.rasterBytes = rasterBytes;
+            this.cacheHitCount = cacheHitCount;
+            this.cacheMissCount = cacheMissCount;
+            this.uncachedCount = uncachedCount;
+        }
+
+        /**
+         * The name of the class the loader resolves icons relative to.
+         *
+         * @return the name or "root" for the default loader.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getIconCount() {
+            return iconCount;
+        }
+
+        public int getAwareIconCount() {
+            return awareIconCount;
+        }
+
+        public int getRasterizedIconCount() {
+            return rasterizedIconCount;
+        }
+
+        public long getRasterBytes() {
+            return rasterBytes;
+        }
+
+        public long getCacheHitCount() {
+            return cacheHitCount;
+        }
+
+        public long getCacheMissCount() {
+            return cacheMissCount;
+        }
+
+        public long getUncachedCount() {
+            return uncachedCount;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{icons=" + iconCount + ", awareIcons=" + awareIconCount + ", rasterized="
+                    + rasterizedIconCount + ", rasterBytes=" + rasterBytes + ", hits=" + cacheHitCount
+                    + ", misses=" + cacheMissCount + ", uncached=" + uncachedCount + "}";
+        }
+    }
+
+    /** A rasterized icon. */
+    public static final class IconEntry {
+
+        private final String name;
+        private final int width;
+        private final int height;
+        private final double scale;
+        private final long bytes;
+
+        private IconEntry(final String name, final int width, final int height, final double scale,
+                final long bytes) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.bytes = bytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public double getScale() {
+            return scale;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + width + "x" + height + " @" + scale + "x " + bytes + "B";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+final class IconStatisticsBean implements IconStatisticsMXBean {
+
+    static final String OBJECT_NAME = "com.github.weisj.darklaf:type=IconStatistics";
+
+    /*
+     * A JMX client usually reads all attributes at once. The snapshot is reused for a short time so a
+     * refresh only walks the icons once.
+     */
+    private static final long SNAPSHOT_MAX_AGE = TimeUnit.SECONDS.toNanos(1);
+
+    private IconStatistics snapshot;
+    private long snapshotTime;
+
+    private synchronized IconStatistics snapshot() {
+        long now = System.nanoTime();
+        if (snapshot == null || now - snapshotTime > SNAPSHOT_MAX_AGE) {
+            snapshot = IconLoader.getStatistics();
+            snapshotTime = now;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public int getIconCount() {
+        return snapshot().getIconCount();
+    }
+
+    @Override
+    public int getAwareIconCount() {
+        return snapshot().getAwareIconCount();
+    }
+
+    @Override
+    public int getRasterizedIconCount() {
+        return snapshot().getRasterizedIconCount();
+    }
+
+    @Override
+    public long getRasterBytes() {
+        return snapshot().getRasterBytes();
+    }
+
+    @Override
+    public Map<String, Long> getRasterBytesByScale() {
+        Map<String, Long> bytesByScale = new LinkedHashMap<>();
+        snapshot().getRasterBytesByScale().forEach((scale, bytes) -> bytesByScale.put(scale + "x", bytes));
+        return bytesByScale;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return snapshot().getCacheHitCount();
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return snapshot().getCacheMissCount();
+    }
+
+    @Override
+    public long getUncachedCount() {
+        return snapshot().getUncachedCount();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        return snapshot().getCacheHitRate();
+    }
+
+    @Override
+    public long getParseCount() {
+        return IconMetrics.getParseCount();
+    }
+
+    @Override
+    public long getParseTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(IconMetrics.getParseTime());
+    }
+
+    @Override
+    public long getRasterCount() {
+        return IconMetrics.getRasterCount();
+    }
+
+    @Override
+    public long getRasterTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(IconMetrics.getRasterTime());
+    }
+
+    @Override
+    public long getRasterCacheMemoryUsage() {
+        return IconRasterCache.getMemoryUsage();
+    }
+
+    @Override
+    public String[] getLoaders() {
+        return snapshot().getLoaderStatistics().stream().map(Object::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getLargestIcons() {
+        return snapshot().getLargestIcons().stream().map(Object::toString).toArray(String[]::new);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.WeakHashMap;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.util.ImageScaler;
 import com.github.weisj.darklaf.util.ImageUtil;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.Scale;
@@ -93,13 +94,21 @@ public class IconUtil {
         int h = (int) (scaley * icon.getIconHeight());
         if (icon instanceof ImageSource) {
             return ((ImageSource) icon).createImage(w, h);
-        } else {
-            BufferedImage image = ImageUtil.createCompatibleTransparentImage(w, h);
-            Graphics2D g = (Graphics2D) image.getGraphics();
-            g.scale(scalex, scaley);
-            icon.paintIcon(null, g, 0, 0);
-            g.dispose();
-            return image;
         }
+        // Fall back to painting the icon if the source image can't be loaded or is still being loaded.
+        Image scaled = ImageScaler.getScaledImage(getSourceImage(icon), w, h);
+        if (scaled != null && scaled.getWidth(null) == w && scaled.getHeight(null) == h) return scaled;
+        BufferedImage image = ImageUtil.createCompatibleTransparentImage(w, h);
+        Graphics2D g = (Graphics2D) image.getGraphics();
+        g.scale(scalex, scaley);
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+        return image;
+    }
+
+    private static Image getSourceImage(final Icon icon) {
+        if (icon instanceof DerivableImageIcon) return ((DerivableImageIcon) icon).getOriginal();
+        if (icon instanceof ImageIcon) return ((ImageIcon) icon).getImage();
+        return null;
     }
 }
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Records the icons painted during a session and rasterizes them ahead of time in the next one.
+ *
+ * <p>
+ * If a manifest file is set, every svg icon obtained from an {@link IconLoader} which is painted is
+ * recorded with its path, size and scale. The recorded icons are written to the manifest when the
+ * application exits or {@link #saveManifest()} is called. Once the first theme is installed in the
+ * next session, the icons listed in the manifest are parsed and rasterized on a background thread.
+ * The svgs are parsed into private universes with a snapshot of the theme colors. The images are put
+ * into the {@link IconRasterCache}, hence icons painted afterwards don't need to be parsed or
+ * rendered.
+ *
+ * <p>
+ * Warm-up is disabled by default. It can be enabled through {@link #setManifest(Path)} or the system
+ * property {@value #MANIFEST_PROPERTY}.
+ *
+ * @author Jannis Weis
+ */
+public final class IconWarmup {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IconWarmup.class);
+    public static final String MANIFEST_PROPERTY = "darklaf.iconWarmupManifest";
+
+    private static final String HEADER = "# darklaf icon warm-up v1";
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final Set<Recorded> recorded = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean warmupStarted = new AtomicBoolean(false);
+    private static final AtomicBoolean shutdownHookInstalled = new AtomicBoolean(false);
+    private static volatile Path manifest = readManifest();
+
+    private IconWarmup() {}
+
+    private static Path readManifest() {
+        String value = System.getProperty(MANIFEST_PROPERTY);
+        if (value == null || value.trim().isEmpty()) return null;
+        try {
+            return Paths.get(value.trim());
+        } catch (final InvalidPathException e) {
+            LOGGER.warning("Invalid path '" + value + "' for " + MANIFEST_PROPERTY + ". " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Set the file painted icons are recorded in and warmed up from.
+     *
+     * @param file the manifest file or null if warm-up should be disabled.
+     */
+    public static void setManifest(final Path file) {
+        manifest = file;
+    }
+
+    public static Path getManifest() {
+        return manifest;
+    }
+
+    public static boolean isEnabled() {
+        return manifest != null;
+    }
+
+    /**
+     * Write the icons painted so far to the manifest file. Does nothing if no icons have been recorded,
+     * so the manifest of the previous session isn't lost.
+     *
+     * @return true if the manifest has been written.
+     */
+    public static boolean saveManifest() {
+        Path file = manifest;
+        if (file == null || recorded.isEmpty()) return false;
+        List<String> lines = new ArrayList<>();
+        for (Recorded r : recorded) {
+            lines.add(r.toLine());
+        }
+        Collections.sort(lines);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write icon manifest '" + file + "'. " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    static Entry createEntry(final IconLoader loader, final String path, final int w, final int h,
+            final boolean themed) {
+        return isEnabled() ? new Entry(loader.getName(), path, w, h, themed) : null;
+    }
+
+    static void record(final Entry entry, final double scaleX, final double scaleY) {
+        if (manifest == null || recorded.size() >= MAX_ENTRIES) return;
+        if (recorded.add(new Recorded(entry, scaleX, scaleY)) && shutdownHookInstalled.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(IconWarmup::saveManifest, "Icon Manifest Writer"));
+        }
+    }
+
+    /*
+     * Called once a theme is installed. Icons can only be rasterized ahead of time with the colors of
+     * the actual theme.
+     */
+    static void onThemeInstalled(final Object theme) {
+        Path file = manifest;
+        if (theme == null || file == null) return;
+        if (!warmupStarted.compareAndSet(false, true)) return;
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        // The theme is installed while the look and feel is set. Its defaults are only available afterwards.
+        SwingUtilities.invokeLater(() -> {
+            if (IconLoader.getThemeStatus() != theme) return;
+            Map<Object, Object> colors = IconColorMapper.snapshotDefaults(UIManager.getDefaults());
+            ExecutorService executor = IconLoader.getAsyncExecutor();
+            executor.execute(() -> warmUp(file, theme, colors, classLoader, executor));
+        });
+    }
+
+    /*
+     * Rasterizes the icons of the manifest into the raster cache. The icons are rendered into private
+     * svg universes using the given snapshot of the theme colors, so this doesn't interfere with icons
+     * painted meanwhile. Returns the number of scheduled icons.
+     */
+    static int warmUp(final Path file, final Object theme, final Map<Object, Object> colors,
+            final ClassLoader classLoader, final Executor executor) {
+        if (!Files.isRegularFile(file)) return 0;
+        List<Recorded> entries = readEntries(file);
+        LOGGER.fine(() -> "Warming up " + entries.size() + " icons from '" + file + "'.");
+        // Submit each icon separately so icons loaded asynchronously for painting don't wait for all of them.
+        for (Recorded r : entries) {
+            executor.execute(() -> {
+                if (IconLoader.getThemeStatus() != theme) return;
+                warmUp(r, theme, colors, classLoader);
+            });
+        }
+        return entries.size();
+    }
+
+    private static void warmUp(final Recorded r, final Object theme, final Map<Object, Object> colors,
+            final ClassLoader classLoader) {
+        try {
+            IconLoader loader = getLoader(r.entry.loader, classLoader);
+            if (loader == null) return;
+            // Only used to resolve the svg. The state of the icon isn't modified.
+            Icon icon = loader.createUncachedIcon(r.entry.path, r.entry.width, r.entry.height, r.entry.themed);
+            if (icon instanceof DarkSVGIcon) {
+                ((DarkSVGIcon) icon).prepareImage(r.scaleX, r.scaleY, r.entry.themed ? colors : null,
+                        r.entry.themed ? theme : null);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not warm up icon " + r.toLine() + ".", e);
+        }
+    }
+
+    private static IconLoader getLoader(final String name, final ClassLoader classLoader) {
+        if (IconLoader.ROOT_NAME.equals(name)) return IconLoader.get();
+        try {
+            ClassLoader cl = classLoader != null ? classLoader : IconWarmup.class.getClassLoader();
+            return IconLoader.get(Class.forName(name, false, cl));
+        } catch (final ClassNotFoundException e) {
+            LOGGER.fine(() -> "Icon loader class '" + name + "' not found.");
+            return null;
+        }
+    }
+
+    private static List<Recorded> readEntries(final Path file) {
+        List<Recorded> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                LOGGER.warning("Icon manifest '" + file + "' has an unsupported format.");
+                return entries;
+            }
+            while ((line = reader.readLine()) != null && entries.size() < MAX_ENTRIES) {
+                Recorded r = Recorded.parse(line);
+                if (r != null) entries.add(r);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read icon manifest '" + file + "'. " + e.getMessage(), e);
+        }
+        return entries;
+    }
+
+    static final class Entry {
+
+        private final String loader;
+        private final String path;
+        private final int width;
+        private final int height;
+        private final boolean themed;
+
+        private Entry(final String loader, final String path, final int width, final int height,
+                final boolean themed) {
+            this.loader = loader;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.themed = themed;
+        }
+    }
+
+    private static final class Recorded {
+
+        private final Entry entry;
+        private final double scaleX;
+        private final double scaleY;
+
+        private Recorded(final Entry entry, final double scaleX, final double scaleY) {
+            this.entry = entry;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        private String toLine() {
+            return entry.loader + '\t' + entry.path + '\t' + entry.width + '\t' + entry.height + '\t' + entry.themed
+                    + '\t' + scaleX + '\t' + scaleY;
+        }
+
+        private static Recorded parse(final String line) {
+            if (line.isEmpty() || line.startsWith("#")) return null;
+            String[] parts = line.split("\t");
+            if (parts.length != 7) return null;
+            try {
+                Entry entry = new Entry(parts[0], parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Boolean.parseBoolean(parts[4]));
+                return new Recorded(entry, Double.parseDouble(parts[5]), Double.parseDouble(parts[6]));
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Recorded)) return false;
+            Recorded other = (Recorded) o;
+            return entry.width == other.entry.width && entry.height == other.entry.height
+                    && entry.themed == other.entry.themed && Double.compare(scaleX, other.scaleX) == 0
+                    && Double.compare(scaleY, other.scaleY) == 0 && entry.loader.equals(other.entry.loader)
+                    && entry.path.equals(other.entry.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entry.loader, entry.path, entry.width, entry.height, entry.themed, scaleX, scaleY);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Computes the keys of rasterized icons stored outside of the current run, i.e. in the
+ * {@link IconDiskCache} or an {@link IconAtlas}. A key is a hash of the content of the svg, the size
+ * of the image in device pixels and the resolved values of the colors the svg references.
+ *
+ * @author Jannis Weis
+ */
+final class RasterKey {
+
+    private static final Logger LOGGER = LogUtil.getLogger(RasterKey.class);
+    private static final Pattern COLOR_DEFS =
+            Pattern.compile("<defs[^>]*id\\s*=\\s*[\"']colors[\"'][^>]*>(.*?)</defs>", Pattern.DOTALL);
+    private static final Pattern ATTRIBUTE_VALUE = Pattern.compile("=\\s*[\"']([^\"']*)[\"']");
+    private static final Pattern SEPARATOR = Pattern.compile("[\\s,;:]+");
+
+    private static final Map<URI, SvgInfo> svgInfos = new ConcurrentHashMap<>();
+
+    private RasterKey() {}
+
+    /**
+     * Compute the key of the image of the given svg.
+     *
+     * @param uri the uri of the svg.
+     * @param size the size of the image in device pixels.
+     * @param colors the properties used to resolve the colors of the svg or null if it isn't themed.
+     * @return the key or null if the svg couldn't be read.
+     */
+    static String compute(final URI uri, final Dimension size, final Map<Object, Object> colors) {
+        SvgInfo info = svgInfos.computeIfAbsent(uri, RasterKey::readSvgInfo);
+        if (info.digest == null) return null;
+        MessageDigest digest = createDigest();
+        if (digest == null) return null;
+        digest.update(info.digest);
+        updateInt(digest, size.width);
+        updateInt(digest, size.height);
+        if (colors != null) {
+            for (String key : info.colorKeys) {
+                Object value = colors.get(key);
+                if (value instanceof Color) {
+                    digest.update(key.getBytes(StandardCharsets.UTF_8));
+                    updateInt(digest, ((Color) value).getRGB());
+                } else if (value instanceof Number) {
+                    digest.update(key.getBytes(StandardCharsets.UTF_8));
+                    digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns the digest of the content of the given svg.
+     *
+     * @param uri the uri of the svg.
+     * @return the digest or null if the svg couldn't be read.
+     */
+    static byte[] getContentDigest(final URI uri) {
+        return svgInfos.computeIfAbsent(uri, RasterKey::readSvgInfo).digest;
+    }
+
+    private static SvgInfo readSvgInfo(final URI uri) {
+        try (InputStream in = uri.toURL().openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            byte[] content = out.toByteArray();
+            MessageDigest digest = createDigest();
+            return new SvgInfo(digest != null ? digest.digest(content) : null, findColorKeys(content));
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not read svg '" + uri + "'. " + e.getMessage(), e);
+            return new SvgInfo(null, new String[0]);
+        }
+    }
+
+    /*
+     * Collects every identifier in the attributes of the color definitions. This is a superset of the
+     * keys resolved by the IconColorMapper, hence the key of the image changes whenever one of the
+     * colors does.
+     */
+    private static String[] findColorKeys(final byte[] content) {
+        Set<String> keys = new TreeSet<>();
+        Matcher defs = COLOR_DEFS.matcher(new String(content, StandardCharsets.UTF_8));
+        while (defs.find()) {
+            Matcher attributes = ATTRIBUTE_VALUE.matcher(defs.group(1));
+            while (attributes.find()) {
+                for (String token : SEPARATOR.split(attributes.group(1))) {
+                    if (!token.isEmpty()) keys.add(token);
+                }
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            LOGGER.log(Level.WARNING, "Can't hash icons. " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static void updateInt(final MessageDigest digest, final int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        StringBuilder builder = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static final class SvgInfo {
+        private final byte[] digest;
+        private final String[] colorKeys;
+
+        private SvgInfo(final byte[] digest, final String[] colorKeys) {
+            this.digest = digest;
+            this.colorKeys = colorKeys;
+        }
+    }
+}
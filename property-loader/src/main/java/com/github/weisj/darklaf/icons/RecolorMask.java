@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Coverage mask of an icon which is painted using a single flat color. The icon can be painted in a
+ * different color by scaling the coverage with the opacity of the new color, which is a lot cheaper
+ * than patching the svg and rendering it again.
+ *
+ * @author Jannis Weis
+ */
+final class RecolorMask {
+
+    /*
+     * Tolerance for rounding errors of the color channels. Java2D blends in premultiplied space, hence
+     * the error grows for pixels with little coverage. The tolerance is capped, as it would accept any
+     * color for almost transparent pixels otherwise. The color of pixels below the minimum alpha isn't
+     * validated at all. Their rounding errors exceed the cap, but they hardly affect the appearance.
+     */
+    private static final int CHANNEL_TOLERANCE = 2;
+    private static final int MAX_CHANNEL_TOLERANCE = 12;
+    private static final int MIN_VALIDATED_ALPHA = 16;
+
+    private final int width;
+    private final int height;
+    private final byte[] coverage;
+
+    private RecolorMask(final int width, final int height, final byte[] coverage) {
+        this.width = width;
+        this.height = height;
+        this.coverage = coverage;
+    }
+
+    /**
+     * Create the mask of the given image.
+     *
+     * @param image the image of the icon.
+     * @param color the color the image was painted with.
+     * @return the mask or null if the image contains other colors or the color is fully transparent.
+     */
+    static RecolorMask create(final Image image, final Color color) {
+        if (!(image instanceof BufferedImage) || color.getAlpha() == 0) return null;
+        BufferedImage img = (BufferedImage) image;
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int[] pixels = img.getRGB(0, 0, width, height, null, 0, width);
+        byte[] coverage = new byte[pixels.length];
+        float opacity = color.getAlpha() / 255f;
+        for (int i = 0; i < pixels.length; i++) {
+            int argb = pixels[i];
+            int alpha = argb >>> 24;
+            if (alpha == 0) continue;
+            if (!matches(argb, color)) return null;
+            coverage[i] = (byte) Math.min(255, Math.round(alpha / opacity));
+        }
+        return new RecolorMask(width, height, coverage);
+    }
+
+    private static boolean matches(final int argb, final Color color) {
+        int alpha = argb >>> 24;
+        if (alpha < MIN_VALIDATED_ALPHA) return true;
+        int tolerance = Math.min(MAX_CHANNEL_TOLERANCE, CHANNEL_TOLERANCE + 255 / alpha);
+        return Math.abs(((argb >> 16) & 0xFF) - color.getRed()) <= tolerance
+                && Math.abs(((argb >> 8) & 0xFF) - color.getGreen()) <= tolerance
+                && Math.abs((argb & 0xFF) - color.getBlue()) <= tolerance;
+    }
+
+    /**
+     * Paint the mask using the given color.
+     *
+     * @param color the color.
+     * @return the image.
+     */
+    Image paint(final Color color) {
+        int rgb = color.getRGB() & 0xFFFFFF;
+        float opacity = color.getAlpha() / 255f;
+        int[] pixels = new int[coverage.length];
+        for (int i = 0; i < pixels.length; i++) {
+            int c = coverage[i] & 0xFF;
+            if (c == 0) continue;
+            pixels[i] = (Math.round(c * opacity) << 24) | rgb;
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.getRaster().setDataElements(0, 0, width, height, pixels);
+        return image;
+    }
+}
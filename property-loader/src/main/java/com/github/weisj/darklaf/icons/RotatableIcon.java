@@ -33,6 +33,7 @@ public class RotatableIcon implements Icon {
     private Icon icon;
     private Alignment alignment;
     private double angle;
+    private int rotationSteps;
 
     public RotatableIcon() {
         this(null);
@@ -53,7 +54,7 @@ public class RotatableIcon implements Icon {
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y) {
         if (icon instanceof RotateIcon) {
-            ((RotateIcon) icon).paintIcon(c, g, x, y, getAngle());
+            ((RotateIcon) icon).paintIcon(c, g, x, y, getAngle(), getRotationSteps());
         } else if (icon != null) {
             Graphics2D g2 = (Graphics2D) g.create();
             AffineTransform transform = new AffineTransform();
@@ -90,4 +91,18 @@ public class RotatableIcon implements Icon {
         this.alignment = null;
         this.angle = angle;
     }
+
+    public int getRotationSteps() {
+        return rotationSteps;
+    }
+
+    /**
+     * Set the number of evenly spaced rotations the icon is painted with. Icons may snap the rotation
+     * to the nearest of these angles and pre-render them.
+     *
+     * @param rotationSteps the number of rotations or 0 if the rotation is arbitrary.
+     */
+    public void setRotationSteps(final int rotationSteps) {
+        this.rotationSteps = Math.max(0, rotationSteps);
+    }
 }
@@ -35,4 +35,20 @@ public interface RotateIcon {
      * @param rotation the rotation in radians.
      */
     void paintIcon(Component c, Graphics g, int x, int y, double rotation);
+
+    /**
+     * Paint the icon with a rotation which is one of {@code rotationSteps} evenly spaced angles. Knowing
+     * the possible rotations allows implementations to pre-render them.
+     *
+     * @param c the parent component.
+     * @param g the graphics object.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param rotation the rotation in radians.
+     * @param rotationSteps the number of distinct rotations or 0 if the rotation is arbitrary.
+     */
+    default void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation,
+            final int rotationSteps) {
+        paintIcon(c, g, x, y, rotation);
+    }
 }
@@ -21,29 +21,47 @@
  */
 package com.github.weisj.darklaf.icons;
 
+import java.awt.*;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
+import javax.swing.*;
+
+import com.kitfox.svg.app.beans.SVGIcon;
+
 /** @author Jannis Weis */
 public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
 
     private Object currentTheme;
     private boolean updatedNotDuringPaint;
+    /*
+     * Whether the colors of the svg still need to be patched for the current theme. Patching is deferred
+     * for icons which can be recolored using a RecolorMask.
+     */
+    private boolean colorsPatchPending;
+    private final RecolorState recolorState;
 
     public ThemedSVGIcon(final Supplier<URI> uriSupplier, final int displayWidth, final int displayHeight) {
         super(uriSupplier, displayWidth, displayHeight);
         currentTheme = new Object();
+        recolorState = new RecolorState();
     }
 
     public ThemedSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         super(uri, displayWidth, displayHeight);
         currentTheme = new Object();
+        recolorState = new RecolorState();
     }
 
     protected ThemedSVGIcon(final int width, final int height, final ThemedSVGIcon icon) {
         super(width, height, icon);
         this.currentTheme = icon.currentTheme;
         this.updatedNotDuringPaint = icon.updatedNotDuringPaint;
+        this.colorsPatchPending = icon.colorsPatchPending;
+        this.recolorState = icon.recolorState;
     }
 
     @Override
@@ -62,7 +80,12 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
     protected boolean ensureTheme(final boolean painting) {
         Object theme = IconLoader.getThemeStatus();
         if (currentTheme != theme) {
-            patchColors();
+            if (recolorState.slot != null) {
+                colorsPatchPending = true;
+            } else {
+                colorsPatchPending = false;
+                patchColors();
+            }
             currentTheme = theme;
             updatedNotDuringPaint = !painting;
             return true;
@@ -76,7 +99,87 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
         return false;
     }
 
+    @Override
+    protected boolean needsReload() {
+        return super.needsReload() || currentTheme != IconLoader.getThemeStatus() || updatedNotDuringPaint;
+    }
+
     protected void patchColors() {
         IconColorMapper.patchColors(getSVGIcon());
     }
+
+    @Override
+    public Image createImage(final Dimension size) {
+        ensureLoaded(false);
+        if (colorsPatchPending) {
+            Image image = recolor(size);
+            if (image != null) return image;
+            colorsPatchPending = false;
+            patchColors();
+        }
+        Image image = super.createImage(size);
+        updateRecolorMask(size, image);
+        return image;
+    }
+
+    private Image recolor(final Dimension size) {
+        IconColorMapper.FlatColorSlot slot = recolorState.slot;
+        RecolorMask mask = recolorState.masks.get(size);
+        if (slot == null || mask == null) return null;
+        return mask.paint(slot.resolve(getColorDefaults()));
+    }
+
+    private void updateRecolorMask(final Dimension size, final Image image) {
+        if (!recolorState.slotResolved) {
+            recolorState.slot = IconColorMapper.getFlatColorSlot(getSVGIcon());
+            recolorState.slotResolved = true;
+        }
+        IconColorMapper.FlatColorSlot slot = recolorState.slot;
+        if (slot == null || recolorState.masks.containsKey(size)) return;
+        RecolorMask mask = RecolorMask.create(image, slot.resolve(getColorDefaults()));
+        if (mask != null) recolorState.masks.put(new Dimension(size), mask);
+    }
+
+    @Override
+    public SVGIcon getSVGIcon() {
+        SVGIcon svgIcon = super.getSVGIcon();
+        if (colorsPatchPending) {
+            colorsPatchPending = false;
+            patchColors();
+        }
+        return svgIcon;
+    }
+
+    @Override
+    protected Object getRasterThemeToken() {
+        return currentTheme;
+    }
+
+    @Override
+    protected Object getThemeStatus() {
+        return IconLoader.getThemeStatus();
+    }
+
+    @Override
+    protected Map<Object, Object> getColorDefaults() {
+        return UIManager.getDefaults();
+    }
+
+    /*
+     * Shared between derived icons as they use the same svg. Only the masks of the most recently used
+     * sizes are kept, as an icon may be derived in many sizes.
+     */
+    private static final class RecolorState {
+        private static final int MAX_MASKS = 4;
+
+        private volatile IconColorMapper.FlatColorSlot slot;
+        private volatile boolean slotResolved;
+        private final Map<Dimension, RecolorMask> masks = Collections.synchronizedMap(
+                new LinkedHashMap<Dimension, RecolorMask>(MAX_MASKS + 1, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<Dimension, RecolorMask> eldest) {
+                        return size() > MAX_MASKS;
+                    }
+                });
+    }
 }
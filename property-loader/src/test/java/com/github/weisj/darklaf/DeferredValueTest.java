@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+
+public class DeferredValueTest {
+
+    private boolean lazyValuesEnabled;
+
+    @BeforeEach
+    public void setup() {
+        lazyValuesEnabled = PropertyLoader.isLazyValuesEnabled();
+        PropertyLoader.setLazyValuesEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        PropertyLoader.setLazyValuesEnabled(lazyValuesEnabled);
+    }
+
+    @Test
+    public void testLazyIconsAreComparedBySource() {
+        Map<Object, Object> first = load("Test.icon", "icons/first.svg");
+        Map<Object, Object> second = load("Test.icon", "icons/first.svg");
+        Map<Object, Object> other = load("Test.icon", "icons/second.svg");
+        assertDeferred(first.get("Test.icon"), Icon.class);
+
+        Assertions.assertTrue(DeferredValue.isSameValue(first.get("Test.icon"), second.get("Test.icon")));
+        Assertions.assertFalse(DeferredValue.isSameValue(first.get("Test.icon"), other.get("Test.icon")));
+        assertUnresolved(first.get("Test.icon"), second.get("Test.icon"), other.get("Test.icon"));
+    }
+
+    @Test
+    public void testLazyFontsAreComparedBySource() {
+        Map<Object, Object> first = load("Base.font", "Dialog-0-12", "Test.font", "from(Base.font)withSize(14)");
+        Map<Object, Object> second = load("Base.font", "Dialog-0-12", "Test.font", "from(Base.font)withSize(14)");
+        Map<Object, Object> otherSize = load("Base.font", "Dialog-0-12", "Test.font", "from(Base.font)withSize(16)");
+        Map<Object, Object> otherBase = load("Base.font", "Dialog-0-10", "Test.font", "from(Base.font)withSize(14)");
+        assertDeferred(first.get("Test.font"), Font.class);
+
+        Assertions.assertTrue(DeferredValue.isSameValue(first.get("Test.font"), second.get("Test.font")));
+        Assertions.assertFalse(DeferredValue.isSameValue(first.get("Test.font"), otherSize.get("Test.font")));
+        Assertions.assertFalse(DeferredValue.isSameValue(first.get("Test.font"), otherBase.get("Test.font")));
+        assertUnresolved(first.get("Test.font"), second.get("Test.font"), otherSize.get("Test.font"),
+                otherBase.get("Test.font"), first.get("Base.font"));
+    }
+
+    @Test
+    public void testMappedValuesAreComparedByMapperKey() {
+        Map<Object, Object> first = load("Test.font", "Dialog-0-12");
+        Map<Object, Object> second = load("Test.font", "Dialog-0-12");
+        Map<Object, Object> unknown = load("Test.font", "Dialog-0-12");
+        PropertyLoader.replacePropertyEntriesOfType(Font.class, first, e -> true, Map.Entry::getValue, "key");
+        PropertyLoader.replacePropertyEntriesOfType(Font.class, second, e -> true, Map.Entry::getValue, "key");
+        PropertyLoader.replacePropertiesOfType(Font.class, unknown, f -> f);
+
+        Assertions.assertTrue(DeferredValue.isSameValue(first.get("Test.font"), second.get("Test.font")));
+        Assertions.assertFalse(DeferredValue.isSameValue(first.get("Test.font"), unknown.get("Test.font")));
+        Assertions.assertTrue(DeferredValue.isSameValue(unknown.get("Test.font"), unknown.get("Test.font")));
+        assertUnresolved(first.get("Test.font"), second.get("Test.font"), unknown.get("Test.font"));
+    }
+
+    @Test
+    public void testLazyAndEagerValuesDiffer() {
+        Map<Object, Object> lazy = load("Test.icon", "icons/first.svg");
+        PropertyLoader.setLazyValuesEnabled(false);
+        Map<Object, Object> eager = load("Test.icon", "icons/first.svg");
+        Assertions.assertFalse(eager.get("Test.icon") instanceof DeferredValue);
+        Assertions.assertFalse(DeferredValue.isSameValue(lazy.get("Test.icon"), eager.get("Test.icon")));
+        assertUnresolved(lazy.get("Test.icon"));
+    }
+
+    @Test
+    public void testDeferredValueIsResolvedOnce() {
+        DeferredValue<Font> value = new DeferredValue<>(Font.class, "source", () -> new Font("Dialog", 0, 12));
+        Assertions.assertFalse(value.isResolved());
+        Font font = value.get();
+        Assertions.assertTrue(value.isResolved());
+        Assertions.assertSame(font, value.createValue(null));
+        Assertions.assertEquals("source", value.getSource());
+    }
+
+    private static Map<Object, Object> load(final String... entries) {
+        Properties properties = new Properties();
+        for (int i = 0; i < entries.length; i += 2) {
+            properties.put(entries[i], entries[i + 1]);
+        }
+        Map<Object, Object> accumulator = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            // Load in declaration order, so references resolve against the accumulator.
+            PropertyLoader.putProperties(properties, Collections.singleton(entries[i]), accumulator,
+                    new UIDefaults(), IconLoader.get(DeferredValueTest.class));
+        }
+        return accumulator;
+    }
+
+    private static void assertDeferred(final Object value, final Class<?> type) {
+        Assertions.assertTrue(value instanceof DeferredValue, String.valueOf(value));
+        Assertions.assertTrue(DeferredValue.isOfType(value, type));
+    }
+
+    private static void assertUnresolved(final Object... values) {
+        for (Object value : values) {
+            Assertions.assertFalse(((DeferredValue<?>) value).isResolved(), String.valueOf(value));
+        }
+    }
+}
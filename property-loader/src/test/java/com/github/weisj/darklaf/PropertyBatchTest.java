@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+
+public class PropertyBatchTest {
+
+    private static Map<Object, Object> load() {
+        Map<Object, Object> accumulator = new HashMap<>();
+        PropertyBatch.load(PropertyBatchTest.class, "batch/", "first", "second").putProperties(accumulator,
+                new UIDefaults(), IconLoader.get(PropertyBatchTest.class));
+        return accumulator;
+    }
+
+    @Test
+    public void testLaterFilesOverrideEarlierFiles() {
+        Map<Object, Object> values = load();
+        Assertions.assertEquals(2, values.get("first.value"));
+        Assertions.assertEquals(1, values.get("first.reference"));
+        Assertions.assertEquals(2, values.get("second.reference"));
+    }
+
+    @Test
+    public void testForwardReferenceWithinFile() {
+        Assertions.assertEquals(3, load().get("first.forward"));
+    }
+
+    @Test
+    public void testFallbackValueDoesNotOverride() {
+        Assertions.assertEquals(4, load().get("first.fallback"));
+    }
+}
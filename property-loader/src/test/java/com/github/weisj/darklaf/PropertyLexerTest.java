@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.PropertyLexer.KeyType;
+
+public class PropertyLexerTest {
+
+    @Test
+    public void testKeyTypeClassification() {
+        Assertions.assertEquals(KeyType.INSETS, KeyType.of("Button.borderInsets"));
+        Assertions.assertEquals(KeyType.INSETS, KeyType.of("Button.insets"));
+        Assertions.assertEquals(KeyType.LAZY_OBJECT, KeyType.of("Button.border"));
+        Assertions.assertEquals(KeyType.LAZY_OBJECT, KeyType.of("List.focusBorder"));
+        Assertions.assertEquals(KeyType.LAZY_OBJECT, KeyType.of("Table.cellRenderer"));
+        Assertions.assertEquals(KeyType.ACTIVE_OBJECT, KeyType.of("ComboBox.component"));
+        Assertions.assertEquals(KeyType.ACTIVE_OBJECT, KeyType.of("Spinner.editorComponent"));
+        Assertions.assertEquals(KeyType.FONT, KeyType.of("Label.font"));
+        Assertions.assertEquals(KeyType.FONT, KeyType.of("Label.boldFont"));
+        Assertions.assertEquals(KeyType.FONT, KeyType.of("Label.FONT"));
+        Assertions.assertEquals(KeyType.ICON, KeyType.of("CheckBox.icon"));
+        Assertions.assertEquals(KeyType.ICON, KeyType.of("Tree.openIcon"));
+        Assertions.assertEquals(KeyType.ICON, KeyType.of("OptionPane.errorImage"));
+        Assertions.assertEquals(KeyType.SIZE, KeyType.of("ScrollBar.minimumThumbSize"));
+        Assertions.assertEquals(KeyType.SIZE, KeyType.of("Spinner.size"));
+        Assertions.assertEquals(KeyType.OTHER, KeyType.of("Button.background"));
+        Assertions.assertEquals(KeyType.OTHER, KeyType.of("f"));
+    }
+
+    @Test
+    public void testSplit() {
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), PropertyLexer.split("a,b,c", 0, 5, ','));
+        Assertions.assertEquals(Arrays.asList("b", "c"), PropertyLexer.split("[b,c]", 1, 4, ','));
+        Assertions.assertEquals(Arrays.asList("a", "", "c"), PropertyLexer.split("a,,c", 0, 4, ','));
+        Assertions.assertEquals(Collections.singletonList("a"), PropertyLexer.split("a,,", 0, 3, ','));
+        Assertions.assertEquals(Collections.singletonList(""), PropertyLexer.split("", 0, 0, ','));
+        for (String value : new String[] {"a;b;c", "a;;c", "a;b;;", ";a", "abc"}) {
+            Assertions.assertEquals(Arrays.asList(value.split(";")),
+                    PropertyLexer.split(value, 0, value.length(), ';'), value);
+        }
+    }
+
+    @Test
+    public void testParseInteger() {
+        Assertions.assertEquals(Integer.valueOf(42), PropertyLexer.parseInteger("42"));
+        Assertions.assertEquals(Integer.valueOf(-7), PropertyLexer.parseInteger("-7"));
+        Assertions.assertEquals(Integer.valueOf(7), PropertyLexer.parseInteger("+7"));
+        Assertions.assertEquals(Integer.valueOf(Integer.MAX_VALUE),
+                PropertyLexer.parseInteger(String.valueOf(Integer.MAX_VALUE)));
+        Assertions.assertEquals(Integer.valueOf(Integer.MIN_VALUE),
+                PropertyLexer.parseInteger(String.valueOf(Integer.MIN_VALUE)));
+        Assertions.assertEquals(Integer.valueOf(23), PropertyLexer.parseInteger("[23]", 1, 3));
+        Assertions.assertNull(PropertyLexer.parseInteger(""));
+        Assertions.assertNull(PropertyLexer.parseInteger("-"));
+        Assertions.assertNull(PropertyLexer.parseInteger("1a"));
+        Assertions.assertNull(PropertyLexer.parseInteger("2147483648"));
+        Assertions.assertNull(PropertyLexer.parseInteger("-2147483649"));
+    }
+
+    @Test
+    public void testParseIntegers() {
+        Assertions.assertArrayEquals(new int[] {1, 2, 3, 4}, PropertyLexer.parseIntegers("1,2,3,4", 0, 7, ','));
+        Assertions.assertArrayEquals(new int[] {5, -6}, PropertyLexer.parseIntegers("[5,-6]", 1, 5, ','));
+        Assertions.assertArrayEquals(new int[] {8}, PropertyLexer.parseIntegers("8", 0, 1, ','));
+        Assertions.assertNull(PropertyLexer.parseIntegers("1,a,3", 0, 5, ','));
+        Assertions.assertNull(PropertyLexer.parseIntegers("1,,3", 0, 4, ','));
+        Assertions.assertNull(PropertyLexer.parseIntegers("1,2,", 0, 4, ','));
+    }
+
+    @Test
+    public void testHexColor() {
+        Assertions.assertTrue(PropertyLexer.isHexColor("3c3f41"));
+        Assertions.assertTrue(PropertyLexer.isHexColor("FFFFFF"));
+        Assertions.assertFalse(PropertyLexer.isHexColor("fff"));
+        Assertions.assertFalse(PropertyLexer.isHexColor("3c3f41ff"));
+        Assertions.assertFalse(PropertyLexer.isHexColor("3c3g41"));
+        Assertions.assertFalse(PropertyLexer.isHexColor("123456 "));
+        Assertions.assertEquals(0x3c3f41, PropertyLexer.parseHexColor("3c3f41"));
+        Assertions.assertEquals(0xffffff, PropertyLexer.parseHexColor("FFFFFF"));
+        Assertions.assertEquals(0, PropertyLexer.parseHexColor("000000"));
+    }
+
+    @Test
+    public void testIndexOf() {
+        Assertions.assertEquals(1, PropertyLexer.indexOf("a,b,c", ',', 1));
+        Assertions.assertEquals(3, PropertyLexer.indexOf("a,b,c", ',', 2));
+        Assertions.assertEquals(-1, PropertyLexer.indexOf("a,b,c", ',', 3));
+        Assertions.assertEquals(-1, PropertyLexer.indexOf("abc", ',', 1));
+    }
+}
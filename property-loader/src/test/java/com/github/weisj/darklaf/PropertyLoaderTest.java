@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+
+public class PropertyLoaderTest {
+
+    private static Object parse(final String key, final String value) {
+        Properties properties = new Properties();
+        properties.put(key, value);
+        Map<Object, Object> accumulator = new HashMap<>();
+        PropertyLoader.putProperties(properties, Collections.singleton(key), accumulator, new UIDefaults(),
+                IconLoader.get(PropertyLoaderTest.class));
+        return accumulator.get(key);
+    }
+
+    @Test
+    public void testImmutableValuesAreInterned() {
+        Assertions.assertSame(parse("Test.color", "ff0000"), parse("Test.color", "ff0000"));
+        Assertions.assertSame(parse("Test.font", "Dialog-0-12"), parse("Test.font", "Dialog-0-12"));
+    }
+
+    @Test
+    public void testMutableValuesAreNotShared() {
+        Insets insets = (Insets) parse("Test.insets", "1,2,3,4");
+        Insets otherInsets = (Insets) parse("Test.insets", "1,2,3,4");
+        Assertions.assertNotSame(insets, otherInsets);
+        insets.top = 10;
+        Assertions.assertEquals(new Insets(1, 2, 3, 4), otherInsets);
+
+        Dimension size = (Dimension) parse("Test.size", "10,20");
+        Dimension otherSize = (Dimension) parse("Test.size", "10,20");
+        Assertions.assertNotSame(size, otherSize);
+        size.width = 5;
+        Assertions.assertEquals(new Dimension(10, 20), otherSize);
+    }
+}
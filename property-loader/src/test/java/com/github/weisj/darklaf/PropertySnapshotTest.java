@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PropertySnapshotTest {
+
+    private static void writeSnapshot(final Path root, final String directory, final String file,
+            final String key, final String value) throws IOException {
+        Path snapshot = root.resolve(directory).resolve(PropertySnapshot.SNAPSHOT_NAME);
+        Files.createDirectories(snapshot.getParent());
+        try (OutputStream stream = Files.newOutputStream(snapshot);
+                DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeInt(PropertySnapshot.MAGIC);
+            out.writeInt(PropertySnapshot.VERSION);
+            out.writeInt(1);
+            out.writeUTF(directory + "/" + file);
+            out.writeInt(1);
+            out.writeUTF(key);
+            out.writeUTF(value);
+        }
+        writeProperties(root, directory + "/" + file, key, value);
+    }
+
+    private static void writeProperties(final Path root, final String path, final String key,
+            final String value) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            Properties properties = new Properties();
+            properties.setProperty(key, value);
+            properties.store(writer, null);
+        }
+    }
+
+    private static ClassLoader createLoader(final Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+
+    @Test
+    public void testSnapshotsOfMergedModules() throws IOException {
+        Path root = Files.createTempDirectory("darklaf_snapshot");
+        writeSnapshot(root, "test/core", "ui/button.properties", "key", "core");
+        writeSnapshot(root, "test/theme", "intellij.properties", "key", "theme");
+        ClassLoader loader = createLoader(root);
+
+        Properties core = PropertySnapshot.load(loader, "test/core/ui/button.properties");
+        Properties theme = PropertySnapshot.load(loader, "test/theme/intellij.properties");
+        Assertions.assertNotNull(core);
+        Assertions.assertNotNull(theme);
+        Assertions.assertEquals("core", core.getProperty("key"));
+        Assertions.assertEquals("theme", theme.getProperty("key"));
+    }
+
+    @Test
+    public void testResourceOutsideOfSnapshot() throws IOException {
+        Path root = Files.createTempDirectory("darklaf_snapshot");
+        writeSnapshot(root, "test/core", "ui/button.properties", "key", "core");
+        writeProperties(root, "test/core/ui/label.properties", "key", "label");
+        writeProperties(root, "test/other.properties", "key", "other");
+        ClassLoader loader = createLoader(root);
+
+        Assertions.assertNull(PropertySnapshot.load(loader, "test/core/ui/label.properties"));
+        Assertions.assertNull(PropertySnapshot.load(loader, "test/other.properties"));
+        Assertions.assertNull(PropertySnapshot.load(loader, "test/core/ui/missing.properties"));
+    }
+
+    @Test
+    public void testShadowedResourceIsNotTakenFromSnapshot() throws IOException {
+        Path root = Files.createTempDirectory("darklaf_snapshot");
+        Path overrides = Files.createTempDirectory("darklaf_snapshot_overrides");
+        writeSnapshot(root, "test/core", "ui/button.properties", "key", "core");
+        writeProperties(overrides, "test/core/ui/button.properties", "key", "user");
+
+        String path = "test/core/ui/button.properties";
+        Assertions.assertNotNull(PropertySnapshot.load(createLoader(root, overrides), path));
+        Assertions.assertNull(PropertySnapshot.load(createLoader(overrides, root), path));
+    }
+}
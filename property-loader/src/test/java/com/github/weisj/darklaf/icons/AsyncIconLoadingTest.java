@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kitfox.svg.app.beans.SVGIcon;
+
+public class AsyncIconLoadingTest {
+
+    private final boolean asyncLoading = IconLoader.isAsyncLoadingEnabled();
+    private final BufferedImage target = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+
+    @BeforeEach
+    public void setup() {
+        IconLoader.setAsyncLoadingEnabled(true);
+    }
+
+    @AfterEach
+    public void restore() {
+        IconLoader.setAsyncLoadingEnabled(asyncLoading);
+    }
+
+    @Test
+    public void testImageIsLoadedInBackground() throws Exception {
+        AsyncIcon icon = new AsyncIcon();
+        RepaintCounter component = new RepaintCounter();
+        paint(icon, component);
+        Assertions.assertNull(icon.getRasterImage());
+
+        icon.finishLoad();
+        component.awaitRepaint();
+        Image loaded = icon.getRasterImage();
+        Assertions.assertNotNull(loaded);
+
+        // The loaded image has to be used without rasterizing the svg again on the event dispatch thread.
+        paint(icon, component);
+        Assertions.assertSame(loaded, icon.getRasterImage());
+        Assertions.assertEquals(0, icon.syncRasterCount);
+    }
+
+    @Test
+    public void testOutdatedImageIsPlaceholder() throws Exception {
+        AsyncIcon icon = new AsyncIcon();
+        RepaintCounter component = new RepaintCounter();
+        paint(icon, component);
+        icon.finishLoad();
+        component.awaitRepaint();
+        Image outdated = icon.getRasterImage();
+
+        SwingUtilities.invokeAndWait(() -> icon.status = new Object());
+        paint(icon, component);
+        Assertions.assertSame(outdated, icon.getRasterImage());
+
+        icon.finishLoad();
+        component.awaitRepaint();
+        Assertions.assertNotNull(icon.getRasterImage());
+        Assertions.assertNotSame(outdated, icon.getRasterImage());
+        Assertions.assertEquals(0, icon.syncRasterCount);
+    }
+
+    @Test
+    public void testThemeChangeDuringLoadDiscardsImage() throws Exception {
+        AsyncIcon icon = new AsyncIcon();
+        RepaintCounter component = new RepaintCounter();
+        paint(icon, component);
+        SwingUtilities.invokeAndWait(() -> icon.status = new Object());
+        icon.finishLoad();
+        component.awaitRepaint();
+        Assertions.assertNull(icon.getRasterImage());
+
+        // Repainting starts a new load for the current theme.
+        paint(icon, component);
+        icon.finishLoad();
+        component.awaitRepaint();
+        Assertions.assertNotNull(icon.getRasterImage());
+        Assertions.assertEquals(0, icon.syncRasterCount);
+    }
+
+    private void paint(final Icon icon, final Component c) throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D g = target.createGraphics();
+            icon.paintIcon(c, g, 0, 0);
+            g.dispose();
+        });
+    }
+
+    private static URI getIconUri() {
+        try {
+            return AsyncIconLoadingTest.class.getResource("warmup_icon.svg").toURI();
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class RepaintCounter extends JComponent {
+
+        private final Semaphore repaints = new Semaphore(0);
+
+        @Override
+        public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+            repaints.release();
+        }
+
+        private void awaitRepaint() throws InterruptedException {
+            Assertions.assertTrue(repaints.tryAcquire(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static final class AsyncIcon extends DarkSVGIcon {
+
+        private final Semaphore loads = new Semaphore(0);
+        private Object status = new Object();
+        private int syncRasterCount;
+
+        private AsyncIcon() {
+            super(getIconUri(), 16, 16);
+        }
+
+        private void finishLoad() {
+            loads.release();
+        }
+
+        @Override
+        protected SVGIcon createSVGIcon() {
+            return new SVGIcon() {
+                @Override
+                public Image getImage() {
+                    // Block the background load until the test lets it finish.
+                    if (!SwingUtilities.isEventDispatchThread()) loads.acquireUninterruptibly();
+                    return super.getImage();
+                }
+            };
+        }
+
+        @Override
+        public Image createImage(final Dimension size) {
+            syncRasterCount++;
+            return super.createImage(size);
+        }
+
+        @Override
+        protected Object getThemeStatus() {
+            return status;
+        }
+
+        @Override
+        protected boolean isRasterCacheable() {
+            return false;
+        }
+    }
+}
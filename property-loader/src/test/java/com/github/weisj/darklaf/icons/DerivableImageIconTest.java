@@ -22,12 +22,16 @@
 package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URL;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.github.weisj.darklaf.util.ImageScaler;
+
 public class DerivableImageIconTest {
 
     @Test
@@ -49,4 +53,50 @@ public class DerivableImageIconTest {
         }
         Assertions.assertEquals(1, imageSet.size());
     }
+
+    @Test
+    public void testScaledImagesAreShared() {
+        IconLoader loader = IconLoader.get(DerivableImageIconTest.class);
+        DerivableImageIcon icon = (DerivableImageIcon) loader.getIcon("image_icon.png");
+        Image small = icon.derive(20, 20).getImage();
+        Image large = icon.derive(80, 80).getImage();
+        Assertions.assertEquals(20, small.getWidth(null));
+        Assertions.assertEquals(80, large.getHeight(null));
+        Assertions.assertSame(small, icon.derive(20, 20).derive(30, 30).derive(20, 20).getImage());
+    }
+
+    @Test
+    public void testDeviceImageIsKeptInIcon() {
+        IconLoader loader = IconLoader.get(DerivableImageIconTest.class);
+        DerivableImageIcon icon = ((DerivableImageIcon) loader.getIcon("image_icon.png")).derive(20, 20);
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.scale(2, 2);
+        Image deviceImage = icon.getImage(g);
+        Assertions.assertEquals(40, deviceImage.getWidth(null));
+        ImageScaler.clearCache();
+        Assertions.assertSame(deviceImage, icon.getImage(g));
+        g.scale(0.75, 0.75);
+        Assertions.assertEquals(30, icon.getImage(g).getWidth(null));
+        g.dispose();
+    }
+
+    @Test
+    public void testScalingDoesNotWaitForLoading() throws InterruptedException {
+        URL url = DerivableImageIconTest.class.getResource("image_icon.png");
+        Image scaled = awaitScaled(Toolkit.getDefaultToolkit().createImage(url));
+        Assertions.assertNotNull(scaled);
+        Assertions.assertEquals(20, scaled.getWidth(null));
+        Assertions.assertNull(awaitScaled(Toolkit.getDefaultToolkit().createImage(new byte[] {1, 2, 3})));
+    }
+
+    private static Image awaitScaled(final Image source) throws InterruptedException {
+        // The source is returned as is while the toolkit loads it in the background.
+        Image scaled = ImageScaler.getScaledImage(source, 20, 20);
+        for (int i = 0; i < 500 && scaled == source; i++) {
+            Thread.sleep(10);
+            scaled = ImageScaler.getScaledImage(source, 20, 20);
+        }
+        Assertions.assertNotSame(source, scaled);
+        return scaled;
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IconDiskCacheTest {
+
+    private static final Dimension SIZE = new Dimension(16, 16);
+    private static final String SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"16\" height=\"16\">"
+            + "<defs id=\"colors\"><linearGradient id=\"Test.color\" fallback=\"Test.fallback\">"
+            + "<stop offset=\"0\" stop-color=\"#FF0000\"/></linearGradient></defs>"
+            + "<rect width=\"16\" height=\"16\" fill=\"url(#Test.color)\"/></svg>";
+
+    private final Path previousDirectory = IconDiskCache.getDirectory();
+    private Path directory;
+    private URI uri;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("darklaf-icon-cache");
+        Path svg = Files.createTempFile("icon", ".svg");
+        Files.write(svg, SVG.getBytes(StandardCharsets.UTF_8));
+        uri = svg.toUri();
+        IconDiskCache.setDirectory(directory);
+    }
+
+    @AfterEach
+    public void restore() throws IOException {
+        IconDiskCache.clear();
+        IconDiskCache.setDirectory(previousDirectory);
+        Files.deleteIfExists(directory);
+        Files.deleteIfExists(Paths.get(uri));
+    }
+
+    @Test
+    public void testImageIsRestored() {
+        BufferedImage image = createImage(0xFF00FF00);
+        Assertions.assertNull(IconDiskCache.load(uri, SIZE, null));
+        IconDiskCache.store(uri, SIZE, null, image);
+        Image loaded = IconDiskCache.load(uri, SIZE, null);
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(image.getRGB(3, 5), ((BufferedImage) loaded).getRGB(3, 5));
+        Assertions.assertNull(IconDiskCache.load(uri, new Dimension(32, 32), null));
+    }
+
+    @Test
+    public void testColorsAreKeyed() {
+        Map<Object, Object> colors = new HashMap<>();
+        colors.put("Test.color", Color.RED);
+        IconDiskCache.store(uri, SIZE, colors, createImage(0xFFFF0000));
+        Assertions.assertNotNull(IconDiskCache.load(uri, SIZE, Collections.singletonMap("Test.color", Color.RED)));
+
+        colors.put("Test.fallback", Color.BLUE);
+        Assertions.assertNull(IconDiskCache.load(uri, SIZE, colors));
+        Assertions.assertNull(IconDiskCache.load(uri, SIZE,
+                Collections.singletonMap("Test.color", Color.GREEN)));
+        // Unrelated properties don't affect the key.
+        colors.remove("Test.fallback");
+        colors.put("Other.color", Color.BLUE);
+        Assertions.assertNotNull(IconDiskCache.load(uri, SIZE, colors));
+    }
+
+    @Test
+    public void testAsyncStoreDoesNotOverwrite() {
+        Map<Object, Object> colors = new HashMap<>();
+        colors.put("Test.color", Color.RED);
+        IconDiskCache.storeAsync(uri, SIZE, colors, createImage(0xFFFF0000));
+        Assertions.assertTrue(IconDiskCache.awaitPendingWrites(10000));
+        Image stored = IconDiskCache.load(uri, SIZE, colors);
+        Assertions.assertNotNull(stored);
+        Assertions.assertEquals(0xFFFF0000, ((BufferedImage) stored).getRGB(3, 5));
+
+        IconDiskCache.storeAsync(uri, SIZE, colors, createImage(0xFF0000FF));
+        Assertions.assertTrue(IconDiskCache.awaitPendingWrites(10000));
+        Assertions.assertEquals(0xFFFF0000, ((BufferedImage) IconDiskCache.load(uri, SIZE, colors)).getRGB(3, 5));
+    }
+
+    @Test
+    public void testIconFindsRasterOfResolvedColors() throws Exception {
+        Object themeStatus = IconLoader.getThemeStatus();
+        UIManager.put("Test.color", Color.RED);
+        try {
+            IconLoader.updateThemeStatus(new Object());
+            // The color is missing from the properties of the icon and is resolved from the UIManager.
+            Map<Object, Object> properties = new HashMap<>();
+            SwingUtilities.invokeAndWait(() -> IconDiskCache.storeAsync(uri, SIZE, properties,
+                    createImage(0xFFFF0000)));
+            Assertions.assertTrue(IconDiskCache.awaitPendingWrites(10000));
+
+            PropertiesIcon icon = new PropertiesIcon(uri, properties);
+            BufferedImage target = new BufferedImage(SIZE.width, SIZE.height, BufferedImage.TYPE_INT_ARGB);
+            SwingUtilities.invokeAndWait(() -> {
+                Graphics2D g = target.createGraphics();
+                icon.paintIcon(null, g, 0, 0);
+                g.dispose();
+            });
+            Assertions.assertEquals(0, icon.rasterCount);
+            Assertions.assertEquals(0xFFFF0000, target.getRGB(3, 5));
+        } finally {
+            UIManager.put("Test.color", null);
+            IconLoader.updateThemeStatus(themeStatus);
+        }
+    }
+
+    private static final class PropertiesIcon extends DarkSVGIcon {
+
+        private final Map<Object, Object> properties;
+        private int rasterCount;
+
+        private PropertiesIcon(final URI uri, final Map<Object, Object> properties) {
+            super(uri, SIZE.width, SIZE.height);
+            this.properties = properties;
+        }
+
+        @Override
+        public Image createImage(final Dimension size) {
+            rasterCount++;
+            return super.createImage(size);
+        }
+
+        @Override
+        protected Map<Object, Object> getColorDefaults() {
+            return properties;
+        }
+
+        @Override
+        protected boolean isRasterCacheable() {
+            return false;
+        }
+    }
+
+    private static BufferedImage createImage(final int rgb) {
+        BufferedImage image = new BufferedImage(SIZE.width, SIZE.height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < SIZE.width; x++) {
+            for (int y = 0; y < SIZE.height; y++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+}
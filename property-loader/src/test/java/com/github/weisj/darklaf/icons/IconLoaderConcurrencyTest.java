@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IconLoaderConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final String[] PATHS = {"warmup_icon.svg", "image_icon.png"};
+    private static final int[] SIZES = {16, 24, 32, 48};
+
+    @Test
+    public void testIconsAreResolvedOnce() throws InterruptedException, ExecutionException {
+        IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try {
+            List<Future<List<Icon>>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return resolveIcons(loader);
+                }));
+            }
+            List<Icon> expected = results.get(0).get();
+            for (Future<List<Icon>> result : results) {
+                List<Icon> icons = result.get();
+                Assertions.assertEquals(expected.size(), icons.size());
+                for (int i = 0; i < icons.size(); i++) {
+                    Assertions.assertSame(expected.get(i), icons.get(i), "Icon " + i + " differs");
+                }
+            }
+            // The icons resolved after the concurrent phase have to be the cached ones.
+            Assertions.assertEquals(expected, resolveIcons(loader));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Icon> resolveIcons(final IconLoader loader) {
+        List<Icon> icons = new ArrayList<>();
+        for (String path : PATHS) {
+            for (int size : SIZES) {
+                icons.add(loader.getIcon(path, size, size));
+                icons.add(loader.getUIAwareIcon(path, size, size));
+            }
+            icons.add(loader.getIcon(path));
+        }
+        return icons;
+    }
+}
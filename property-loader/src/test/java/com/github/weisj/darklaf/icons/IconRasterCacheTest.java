@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IconRasterCacheTest {
+
+    private static final Dimension SIZE = new Dimension(16, 16);
+    private static final long IMAGE_BYTES = 16 * 16 * 4;
+
+    private final long budget = IconRasterCache.getMemoryBudget();
+
+    @AfterEach
+    public void restore() {
+        IconRasterCache.setMemoryBudget(budget);
+        IconRasterCache.clear();
+    }
+
+    @Test
+    public void testImagesAreShared() {
+        IconRasterCache.clear();
+        URI uri = URI.create("test:shared.svg");
+        Object theme = new Object();
+        Image first = IconRasterCache.get(uri, SIZE, theme, IconRasterCacheTest::createImage);
+        Assertions.assertSame(first, IconRasterCache.get(uri, SIZE, theme, IconRasterCacheTest::createImage));
+        Assertions.assertNotSame(first,
+                IconRasterCache.get(uri, SIZE, new Object(), IconRasterCacheTest::createImage));
+        Assertions.assertNotSame(first,
+                IconRasterCache.get(uri, new Dimension(32, 32), theme, IconRasterCacheTest::createImage));
+    }
+
+    @Test
+    public void testBudgetIsRespected() {
+        IconRasterCache.clear();
+        IconRasterCache.setMemoryBudget(2 * IMAGE_BYTES);
+        long evictions = IconRasterCache.getEvictionCount();
+        URI first = URI.create("test:first.svg");
+        Image firstImage = IconRasterCache.get(first, SIZE, null, IconRasterCacheTest::createImage);
+        IconRasterCache.get(URI.create("test:second.svg"), SIZE, null, IconRasterCacheTest::createImage);
+        // Access the first image so the second one is the least recently used.
+        IconRasterCache.get(first, SIZE, null, IconRasterCacheTest::createImage);
+        IconRasterCache.get(URI.create("test:third.svg"), SIZE, null, IconRasterCacheTest::createImage);
+
+        Assertions.assertEquals(2, IconRasterCache.getSize());
+        Assertions.assertEquals(2 * IMAGE_BYTES, IconRasterCache.getMemoryUsage());
+        Assertions.assertEquals(evictions + 1, IconRasterCache.getEvictionCount());
+        Assertions.assertSame(firstImage, IconRasterCache.get(first, SIZE, null, IconRasterCacheTest::createImage));
+    }
+
+    @Test
+    public void testLargerImagesAreDownsampled() {
+        IconRasterCache.clear();
+        URI uri = URI.create("test:downsampled.svg");
+        Assertions.assertNull(IconRasterCache.getDownsampled(uri, SIZE, null));
+        BufferedImage large = new BufferedImage(2 * SIZE.width, 2 * SIZE.height, BufferedImage.TYPE_INT_ARGB);
+        large.setRGB(0, 0, 0xFFFF0000);
+        large.setRGB(1, 1, 0xFFFF0000);
+        IconRasterCache.get(uri, new Dimension(2 * SIZE.width, 2 * SIZE.height), null, () -> large);
+
+        BufferedImage image = (BufferedImage) IconRasterCache.getDownsampled(uri, SIZE, null);
+        Assertions.assertNotNull(image);
+        Assertions.assertEquals(SIZE.width, image.getWidth());
+        // Half of the pixels are covered. The transparent pixels must not darken the color.
+        Assertions.assertEquals(0x80FF0000, image.getRGB(0, 0));
+        Assertions.assertEquals(0, image.getRGB(1, 1));
+        Assertions.assertNull(IconRasterCache.getDownsampled(uri, SIZE, new Object()));
+    }
+
+    private static Image createImage() {
+        return new BufferedImage(SIZE.width, SIZE.height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Test
+    public void testIconsRecreateReleasedRasters() throws URISyntaxException {
+        IconRasterCache.clear();
+        CountingIcon icon = new CountingIcon(IconRasterCacheTest.class.getResource("warmup_icon.svg").toURI());
+        Graphics2D g = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        icon.paintIcon(null, g, 0, 0);
+        Assertions.assertNotNull(icon.getRasterImage());
+        Assertions.assertEquals(1, icon.rasterCount);
+
+        // The icon only references the raster softly. Once it is freed it is recreated.
+        IconRasterCache.clear();
+        icon.releaseRasterImage();
+        Assertions.assertNull(icon.getRasterImage());
+        icon.paintIcon(null, g, 0, 0);
+        Assertions.assertNotNull(icon.getRasterImage());
+        Assertions.assertEquals(2, icon.rasterCount);
+        g.dispose();
+    }
+
+    private static final class CountingIcon extends DarkSVGIcon {
+
+        private int rasterCount;
+
+        private CountingIcon(final URI uri) {
+            super(uri, 16, 16);
+        }
+
+        @Override
+        public Image createImage(final Dimension size) {
+            rasterCount++;
+            return new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        }
+    }
+}
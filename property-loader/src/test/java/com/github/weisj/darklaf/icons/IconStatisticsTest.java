@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IconStatisticsTest {
+
+    @Test
+    public void testLoaderCounts() {
+        IconLoader loader = IconLoader.get(IconStatisticsTest.class);
+        loader.getIcon("image_icon.png", 20, 20);
+        loader.getIcon("image_icon.png", 20, 20);
+        loader.getIcon("image_icon.png", 30, 30);
+        loader.setCacheEnabled(false);
+        loader.getIcon("image_icon.png", 20, 20);
+        loader.setCacheEnabled(true);
+
+        IconStatistics.LoaderStatistics statistics = IconLoader.getStatistics().getLoaderStatistics().stream()
+                .filter(s -> s.getName().equals(IconStatisticsTest.class.getName())).findFirst().orElse(null);
+        Assertions.assertNotNull(statistics);
+        Assertions.assertEquals(2, statistics.getIconCount());
+        Assertions.assertEquals(1, statistics.getCacheHitCount());
+        Assertions.assertEquals(2, statistics.getCacheMissCount());
+        Assertions.assertEquals(1, statistics.getUncachedCount());
+    }
+
+    @Test
+    public void testAwareIconVariantsAreCounted() {
+        IconLoader loader = IconLoader.get(AwareIconOwner.class);
+        DarkUIAwareIcon awareIcon = loader.getUIAwareIcon("aware.svg", 16, 16);
+        awareIcon.icon = new RasterizedIcon(16);
+        awareIcon.loaded = true;
+        awareIcon.getDual().icon = new RasterizedIcon(32);
+        awareIcon.getDual().loaded = true;
+
+        IconStatistics.LoaderStatistics statistics = IconLoader.getStatistics().getLoaderStatistics().stream()
+                .filter(s -> s.getName().equals(AwareIconOwner.class.getName())).findFirst().orElse(null);
+        Assertions.assertNotNull(statistics);
+        Assertions.assertEquals(2, statistics.getRasterizedIconCount());
+        Assertions.assertEquals(16 * 16 * 4 + 32 * 32 * 4, statistics.getRasterBytes());
+    }
+
+    @Test
+    public void testMBeanRegistration() {
+        Assertions.assertTrue(IconLoader.registerStatisticsMBean());
+        Assertions.assertTrue(IconLoader.registerStatisticsMBean());
+    }
+
+    private static final class AwareIconOwner {}
+
+    private static final class RasterizedIcon extends DarkSVGIcon {
+
+        private final BufferedImage image;
+
+        private RasterizedIcon(final int size) {
+            super((URI) null, size, size);
+            image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        @Override
+        Image getRasterImage() {
+            return image;
+        }
+
+        @Override
+        double getRasterScale() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IconWarmupTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("darklaf-icon-warmup");
+        IconWarmup.setManifest(directory.resolve("icons.manifest"));
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        IconWarmup.setManifest(null);
+        Files.deleteIfExists(directory.resolve("icons.manifest"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testPaintedIconsAreRecorded() throws IOException {
+        IconLoader loader = IconLoader.get(IconWarmupTest.class);
+        IconWarmup.Entry entry = IconWarmup.createEntry(loader, "icon.svg", 16, 16, true);
+        Assertions.assertNotNull(entry);
+        IconWarmup.record(entry, 1.0, 1.0);
+        IconWarmup.record(entry, 1.0, 1.0);
+        IconWarmup.record(entry, 2.0, 2.0);
+        Assertions.assertTrue(IconWarmup.saveManifest());
+
+        List<String> lines = Files.readAllLines(IconWarmup.getManifest());
+        String prefix = IconWarmupTest.class.getName() + "\ticon.svg\t16\t16\ttrue\t";
+        Assertions.assertTrue(lines.contains(prefix + "1.0\t1.0"), lines.toString());
+        Assertions.assertTrue(lines.contains(prefix + "2.0\t2.0"), lines.toString());
+        Assertions.assertEquals(1, lines.stream().filter(l -> l.startsWith(prefix + "1.0")).count());
+    }
+
+    @Test
+    public void testNoEntriesIfDisabled() {
+        IconWarmup.setManifest(null);
+        Assertions.assertNull(IconWarmup.createEntry(IconLoader.get(), "icon.svg", 16, 16, false));
+        Assertions.assertFalse(IconWarmup.saveManifest());
+    }
+
+    @Test
+    public void testManifestEntryIsWarmedUp() throws IOException, URISyntaxException {
+        Files.write(IconWarmup.getManifest(), Arrays.asList("# darklaf icon warm-up v1",
+                IconWarmupTest.class.getName() + "\twarmup_icon.svg\t16\t16\tfalse\t2.0\t2.0"));
+
+        Object theme = IconLoader.getThemeStatus();
+        Assertions.assertEquals(1, IconWarmup.warmUp(IconWarmup.getManifest(), theme, Collections.emptyMap(),
+                IconWarmupTest.class.getClassLoader(), Runnable::run));
+
+        URI uri = IconWarmupTest.class.getResource("warmup_icon.svg").toURI();
+        Image image = IconRasterCache.get(uri, new Dimension(32, 32), null, () -> null);
+        Assertions.assertNotNull(image);
+        Assertions.assertEquals(32, image.getWidth(null));
+        Assertions.assertEquals(32, image.getHeight(null));
+    }
+}
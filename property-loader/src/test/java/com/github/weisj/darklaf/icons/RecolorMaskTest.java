@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RecolorMaskTest {
+
+    @Test
+    public void testRecoloredImageMatchesRenderedImage() {
+        Color original = new Color(0x43, 0x49, 0x4A, 204);
+        Color target = new Color(0xA7, 0xA7, 0xA7, 128);
+        RecolorMask mask = RecolorMask.create(paint(original), original);
+        Assertions.assertNotNull(mask);
+
+        BufferedImage expected = paint(target);
+        BufferedImage actual = (BufferedImage) mask.paint(target);
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                // Compare premultiplied values as the color of almost transparent pixels is imprecise.
+                for (int shift = 0; shift <= 24; shift += 8) {
+                    Assertions.assertTrue(Math.abs(premultiplied(e, shift) - premultiplied(a, shift)) <= 2,
+                            "Pixel differs at " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    private static int premultiplied(final int argb, final int shift) {
+        int value = (argb >>> shift) & 0xFF;
+        return shift == 24 ? value : value * (argb >>> 24) / 255;
+    }
+
+    @Test
+    public void testMultipleColorsAreRejected() {
+        Color color = Color.RED;
+        BufferedImage image = paint(color);
+        image.setRGB(8, 8, Color.BLUE.getRGB());
+        Assertions.assertNull(RecolorMask.create(image, color));
+        Assertions.assertNull(RecolorMask.create(paint(color), new Color(0, 0, 0, 0)));
+    }
+
+    @Test
+    public void testOtherColorsAreRejectedAtLowAlpha() {
+        Color color = Color.RED;
+        BufferedImage image = paint(color);
+        image.setRGB(0, 0, new Color(255, 15, 0, 16).getRGB());
+        Assertions.assertNull(RecolorMask.create(image, color));
+
+        // Rounding errors of almost transparent pixels are arbitrarily large. Their color isn't validated.
+        image.setRGB(0, 0, new Color(255, 40, 0, 8).getRGB());
+        Assertions.assertNotNull(RecolorMask.create(image, color));
+    }
+
+    private static BufferedImage paint(final Color color) {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(color);
+        g.fill(new Ellipse2D.Double(1.5, 2.25, 12.3, 11.1));
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RotatedFrameTest {
+
+    private static final int STEPS = 8;
+    private static final double STEP = 2 * Math.PI / STEPS;
+
+    @Test
+    public void testFramesAreReusedPerStep() {
+        RasterIcon icon = new RasterIcon();
+        paint(icon, STEP + 0.01, STEPS);
+        List<Image> frames = icon.getRotatedFrameImages();
+        Assertions.assertEquals(1, frames.size());
+
+        // Rotations which are quantized to the same step use the same frame.
+        paint(icon, STEP - 0.01, STEPS);
+        Assertions.assertEquals(1, icon.getRotatedFrameImages().size());
+        Assertions.assertSame(frames.get(0), icon.getRotatedFrameImages().get(0));
+
+        paint(icon, 3 * STEP + 0.01, STEPS);
+        Assertions.assertEquals(2, icon.getRotatedFrameImages().size());
+        Assertions.assertEquals(1, icon.rasterCount);
+    }
+
+    @Test
+    public void testStepCountChangeDiscardsFrames() {
+        RasterIcon icon = new RasterIcon();
+        paint(icon, STEP + 0.01, STEPS);
+        paint(icon, 3 * STEP + 0.01, STEPS);
+        Assertions.assertEquals(2, icon.getRotatedFrameImages().size());
+        paint(icon, STEP + 0.01, 2 * STEPS);
+        Assertions.assertEquals(1, icon.getRotatedFrameImages().size());
+    }
+
+    @Test
+    public void testFramesAreBounded() {
+        RasterIcon icon = new RasterIcon();
+        int steps = 360;
+        for (int i = 0; i < steps; i++) {
+            paint(icon, 2 * Math.PI * i / steps + 0.001, steps);
+        }
+        int frameCount = icon.getRotatedFrameImages().size();
+        Assertions.assertTrue(frameCount > 0 && frameCount < steps, "Unbounded frame count " + frameCount);
+    }
+
+    private static void paint(final DarkSVGIcon icon, final double rotation, final int steps) {
+        Graphics2D g = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        icon.paintIcon(null, g, 0, 0, rotation, steps);
+        g.dispose();
+    }
+
+    private static final class RasterIcon extends DarkSVGIcon {
+
+        private int rasterCount;
+
+        private RasterIcon() {
+            super(URI.create("test:rotated_frame.svg"), 16, 16);
+        }
+
+        @Override
+        public Image createImage(final Dimension size) {
+            rasterCount++;
+            return new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        @Override
+        protected boolean isRasterCacheable() {
+            return false;
+        }
+    }
+}
@@ -24,7 +24,8 @@ include(
     "utils",
     "platform-base",
     "windows",
-    "macos"
+    "macos",
+    "benchmarks"
 )
 
 for (p in rootProject.children) {
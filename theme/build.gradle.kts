@@ -12,3 +12,16 @@ dependencies {
     annotationProcessor("com.google.auto.service:auto-service")
     compileOnly("com.google.auto.service:auto-service-annotations")
 }
+
+val generatePropertySnapshot by tasks.registering(PropertySnapshotTask::class) {
+    description = "Precompiles the bundled property files into a binary snapshot"
+    source = fileTree("src/main/resources") {
+        include("com/github/weisj/darklaf/theme/**/*.properties")
+    }
+    snapshotDirectory = "com/github/weisj/darklaf/theme"
+    outputDirectory.set(layout.buildDirectory.dir("generated/resources/propertySnapshot"))
+}
+
+sourceSets.main {
+    resources.srcDir(generatePropertySnapshot)
+}
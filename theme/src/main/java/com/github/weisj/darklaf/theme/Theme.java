@@ -32,6 +32,7 @@ import javax.swing.*;
 import javax.swing.text.html.StyleSheet;
 
 import com.github.weisj.darklaf.PropertyLoader;
+import com.github.weisj.darklaf.PropertySnapshot;
 import com.github.weisj.darklaf.theme.info.*;
 import com.github.weisj.darklaf.theme.laf.RenamedTheme;
 import com.github.weisj.darklaf.util.LogUtil;
@@ -256,6 +257,8 @@ public abstract class Theme implements Comparable<Theme>, Comparator<Theme> {
      * @return the properties.
      */
     protected final Properties loadWithClass(final String name, final Class<?> loaderClass) {
+        Properties snapshot = PropertySnapshot.load(loaderClass, name);
+        if (snapshot != null) return snapshot;
         final Properties properties = new Properties();
         try (InputStream stream = loaderClass.getResourceAsStream(name)) {
             if (stream == null) {
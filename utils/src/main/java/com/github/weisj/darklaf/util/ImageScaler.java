@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Scales images with progressive bilinear interpolation and caches the results.
+ *
+ * Scaled variants are kept per source image and target size. Sources are referenced weakly, the
+ * scaled images softly and only the most recently used sizes of each source are retained.
+ *
+ * Scaling never waits for a source image which is still being loaded, as it usually happens while
+ * painting on the event dispatch thread. Loading is started instead and the source is returned as is.
+ * Painting it with a component as the {@link ImageObserver} repaints the component once the image is
+ * available, which then scales it.
+ *
+ * @author Jannis Weis
+ */
+public final class ImageScaler {
+
+    private static final int MAX_SIZES_PER_SOURCE = 8;
+    private static final Map<Image, Map<Long, SoftReference<Image>>> cache = new WeakHashMap<>();
+
+    private ImageScaler() {}
+
+    /**
+     * Get a scaled version of the given image using bilinear interpolation. The result is cached as
+     * long as the source image is reachable.
+     *
+     * @param source the source image.
+     * @param width the target width.
+     * @param height the target height.
+     * @return the scaled image. If the source already has the target size or is still being loaded it is
+     *         returned as is. Returns null if the source can't be loaded.
+     */
+    public static Image getScaledImage(final Image source, final int width, final int height) {
+        return getScaledImage(source, width, height, Image.SCALE_DEFAULT);
+    }
+
+    /**
+     * Get a scaled version of the given image. The result is cached as long as the source image is
+     * reachable.
+     *
+     * @param source the source image.
+     * @param width the target width.
+     * @param height the target height.
+     * @param scalingMode One of {@link Image#SCALE_DEFAULT}, {@link Image#SCALE_FAST},
+     *        {@link Image#SCALE_REPLICATE}, {@link Image#SCALE_AREA_AVERAGING},
+     *        {@link Image#SCALE_SMOOTH}. {@link Image#SCALE_FAST} and {@link Image#SCALE_REPLICATE}
+     *        use nearest neighbour interpolation, all other modes progressive bilinear interpolation.
+     * @return the scaled image. If the source already has the target size or is still being loaded it is
+     *         returned as is. Returns null if the source can't be loaded.
+     */
+    public static Image getScaledImage(final Image source, final int width, final int height,
+            final int scalingMode) {
+        if (source == null || width <= 0 || height <= 0) return null;
+        int status = prepareImage(source);
+        if (isFailed(status)) return null;
+        if (!isLoaded(status)) return source;
+        if (source.getWidth(null) == width && source.getHeight(null) == height) return source;
+        boolean nearestNeighbour = isNearestNeighbour(scalingMode);
+        long key = (((long) width) << 32) | (((long) height) << 1) | (nearestNeighbour ? 1 : 0);
+        synchronized (cache) {
+            Map<Long, SoftReference<Image>> variants = cache.get(source);
+            if (variants != null) {
+                SoftReference<Image> ref = variants.get(key);
+                Image scaled = ref != null ? ref.get() : null;
+                if (scaled != null) return scaled;
+            }
+        }
+        Image scaled = scale(source, width, height, nearestNeighbour);
+        synchronized (cache) {
+            cache.computeIfAbsent(source, k -> new LinkedHashMap<Long, SoftReference<Image>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Long, SoftReference<Image>> eldest) {
+                    return size() > MAX_SIZES_PER_SOURCE;
+                }
+            }).put(key, new SoftReference<>(scaled));
+        }
+        return scaled;
+    }
+
+    /**
+     * Scale the given image without consulting the cache.
+     *
+     * @param source the source image.
+     * @param width the target width.
+     * @param height the target height.
+     * @param scalingMode the scaling mode. See {@link #getScaledImage(Image, int, int, int)}.
+     * @return the scaled image or null if the source isn't loaded yet or can't be loaded.
+     */
+    public static BufferedImage createScaledImage(final Image source, final int width, final int height,
+            final int scalingMode) {
+        if (source == null || width <= 0 || height <= 0) return null;
+        if (!isLoaded(prepareImage(source))) return null;
+        return scale(source, width, height, isNearestNeighbour(scalingMode));
+    }
+
+    /** Remove all cached images. */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static boolean isNearestNeighbour(final int scalingMode) {
+        return (scalingMode & (Image.SCALE_FAST | Image.SCALE_REPLICATE)) != 0;
+    }
+
+    private static BufferedImage scale(final Image source, final int width, final int height,
+            final boolean nearestNeighbour) {
+        Object interpolation = nearestNeighbour ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        Image current = source;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        do {
+            /*
+             * Bilinear interpolation only samples the four nearest pixels. Halving the size in each step
+             * ensures every source pixel contributes to the result when shrinking by a large factor.
+             */
+            if (!nearestNeighbour) {
+                w = w > width ? Math.max(width, w / 2) : width;
+                h = h > height ? Math.max(height, h / 2) : height;
+            } else {
+                w = width;
+                h = height;
+            }
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = step;
+        } while (w != width || h != height);
+        return (BufferedImage) current;
+    }
+
+    /*
+     * Starts loading the image if necessary without waiting for it. Images which aren't produced by the
+     * toolkit are always loaded.
+     */
+    private static int prepareImage(final Image image) {
+        Toolkit toolkit = Toolkit.getDefaultToolkit();
+        if (toolkit.prepareImage(image, -1, -1, null)) return ImageObserver.ALLBITS;
+        return toolkit.checkImage(image, -1, -1, null);
+    }
+
+    private static boolean isLoaded(final int status) {
+        return (status & (ImageObserver.ALLBITS | ImageObserver.FRAMEBITS)) != 0;
+    }
+
+    private static boolean isFailed(final int status) {
+        return (status & (ImageObserver.ERROR | ImageObserver.ABORT)) != 0;
+    }
+}
@@ -39,6 +39,7 @@ import com.github.weisj.darklaf.icons.ToggleIcon;
 import com.github.weisj.darklaf.platform.decorations.CustomTitlePane;
 import com.github.weisj.darklaf.platform.windows.JNIDecorationsWindows;
 import com.github.weisj.darklaf.platform.windows.PointerUtil;
+import com.github.weisj.darklaf.util.ImageScaler;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.PropertyUtil;
 import com.github.weisj.darklaf.util.Scale;
@@ -663,8 +664,20 @@ public class WindowsTitlePane extends CustomTitlePane {
                 systemIcon = UIManager.getIcon("Windows.TitlePane.icon");
             }
         } else if (icons.size() == 1) {
-            systemIcon = new ScaledIcon(icons.get(0).getScaledInstance((int) Scale.scaleWidth(ICON_SIZE, gc),
-                    (int) Scale.scaleHeight(ICON_SIZE, gc), Image.SCALE_AREA_AVERAGING), this);
+            Image icon = icons.get(0);
+            int w = (int) Scale.scaleWidth(ICON_SIZE, gc);
+            int h = (int) Scale.scaleHeight(ICON_SIZE, gc);
+            Image scaled = ImageScaler.getScaledImage(icon, w, h);
+            if (scaled == null) {
+                // The image can't be loaded. Use the default icon instead.
+                if (frame) systemIcon = UIManager.getIcon("Windows.TitlePane.icon");
+            } else {
+                if (scaled.getWidth(null) != w || scaled.getHeight(null) != h) {
+                    // The image is still being loaded. Let the toolkit scale it once it is available.
+                    scaled = icon.getScaledInstance(w, h, Image.SCALE_AREA_AVERAGING);
+                }
+                systemIcon = new ScaledIcon(scaled, this);
+            }
         } else {
             systemIcon = new ScaledIcon(SunToolkit.getScaledIconImage(icons, (int) Scale.scaleWidth(ICON_SIZE, gc),
                     (int) Scale.scaleHeight(ICON_SIZE, gc)), this);